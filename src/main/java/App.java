@@ -1,9 +1,11 @@
 import credentials.Connexion;
 import credentials.Ressources;
 import git.GitCommitFromRepo;
+import git.GitCommitFromSearch;
 import git.GitService;
 import gpt.GptService;
 import jira.JiraException;
+import jira.JiraIssueCache;
 import jira.JiraIssueFetcher;
 import jira.JiraService;
 import log.LogFile;
@@ -34,6 +36,7 @@ public class App {
 //        try{
 //            System.out.println("\"=== Issue complète ===\"");
 //            //String issueKey = "NWTDL-517";
+//            fetcher.setIssueCache(JiraIssueCache.forServer(Connexion.URL));
 //            List<JiraService> issueList = fetcher.fetchMultplesIssues(issues);
 //            LogFile logFile = new LogFile();
 //            for (JiraService issue : issueList){
@@ -64,7 +67,8 @@ public class App {
 //        GitCommitFromRepo gitCommitFromRepo = new GitCommitFromRepo(Ressources.NAME_REPO, Ressources.OWNER_REPO);
 //        try {
 //            //gitCommitFromRepo.testConnection();
-//            gitCommitFromRepo.generateChangeLogForDistantRepo(gitCommitFromRepo.fetchCommitsByTicketList(gitCommitFromRepo.fetchAllCommits(), issues), "src/main/java/CHANGELOG_FILE.md");
+//            gitCommitFromRepo.setSearchBackend(new GitCommitFromSearch(Ressources.NAME_REPO, Ressources.OWNER_REPO));
+//            gitCommitFromRepo.generateChangeLogForDistantRepo(gitCommitFromRepo.fetchCommitsForTickets(issues), "src/main/java/CHANGELOG_FILE.md");
 //        } catch (IOException e) {
 //            throw new RuntimeException(e);
 //        }
@@ -0,0 +1,117 @@
+package benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.management.ThreadMXBean;
+import git.CommitPageParser;
+import git.GitCommit;
+import git.GitHubHttpClient;
+import git.GitHubResponse;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class CommitPageParsingBenchmark {
+    private static final String OWNER = "bench";
+    private static final String REPO = "history";
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private interface PageParser {
+        int parse(byte[] body, byte[] gzipBody) throws IOException;
+    }
+
+    /**
+     * Vergleicht Speicherbedarf und Laufzeit pro Commit-Seite zwischen dem bisherigen Weg
+     * (Antworttext als `String`, vollständiger `JSONArray`-Baum) und dem `CommitPageParser`.
+     *
+     * Aufruf: `CommitPageParsingBenchmark [seiten] [iterationen]`
+     *
+     * Schritte:
+     * Lädt die Seiten (je 100 Commits) einmal vom `MockGitHubServer` über den `GitHubHttpClient`.
+     * Wärmt jede Variante auf, damit der JIT-Compiler die Messung nicht verfälscht.
+     * Misst pro Variante die im aktuellen Thread allokierten Byte (`ThreadMXBean`) und die Zeit pro Seite.
+     * Die dritte Variante liest direkt aus dem gzip-Strom, wie es ein Transport ohne Zwischenpuffer täte.
+     */
+    public static void main(String[] args) throws IOException {
+        int pageCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        List<byte[]> bodies = new ArrayList<>();
+        List<byte[]> gzipBodies = new ArrayList<>();
+        try (MockGitHubServer server = new MockGitHubServer(OWNER, REPO, pageCount * 100);
+             GitHubHttpClient client = new GitHubHttpClient(GitHubHttpClient.DEFAULT_MAX_PER_ROUTE,
+                     GitHubHttpClient.DEFAULT_MAX_TOTAL, GitHubHttpClient.DEFAULT_TIMEOUT)) {
+            for (int page = 1; page <= pageCount; page++) {
+                GitHubResponse response = client.get(server.getApiUrl() + OWNER + "/" + REPO
+                        + "/commits?per_page=100&page=" + page, Map.of());
+                bodies.add(response.getBody());
+                gzipBodies.add(gzip(response.getBody()));
+            }
+        }
+        long totalBytes = bodies.stream().mapToLong(body -> body.length).sum();
+        System.out.printf("%d pages, %d KB JSON per page on average%n", pageCount, totalBytes / pageCount / 1024);
+
+        CommitPageParser streaming = new CommitPageParser();
+        measure("org.json (String + JSONArray)", bodies, gzipBodies, iterations, (body, gzipBody) -> parseWithJsonArray(body).size());
+        measure("CommitPageParser (byte[])", bodies, gzipBodies, iterations, (body, gzipBody) -> {
+            List<GitCommit> commits = new ArrayList<>();
+            return streaming.parse(body, commits::add);
+        });
+        measure("CommitPageParser (gzip stream)", bodies, gzipBodies, iterations, (body, gzipBody) -> {
+            List<GitCommit> commits = new ArrayList<>();
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipBody))) {
+                return streaming.parse(in, commits::add);
+            }
+        });
+    }
+
+    private static void measure(String name, List<byte[]> bodies, List<byte[]> gzipBodies, int iterations,
+                                PageParser parser) throws IOException {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int commits = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            int page = i % bodies.size();
+            commits += parser.parse(bodies.get(page), gzipBodies.get(page));
+        }
+
+        long pages = (long) iterations * bodies.size();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (int page = 0; page < bodies.size(); page++) {
+                commits += parser.parse(bodies.get(page), gzipBodies.get(page));
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-32s %8d KB allocated/page %8.1f us/page (%d commits)%n",
+                name, allocated / pages / 1024, nanos / 1e3 / pages, commits);
+    }
+
+    // Der Weg vor dem CommitPageParser
+    private static List<GitCommit> parseWithJsonArray(byte[] body) {
+        List<GitCommit> commits = new ArrayList<>();
+        JSONArray page = new JSONArray(new String(body, StandardCharsets.UTF_8));
+        for (int i = 0; i < page.length(); i++) {
+            JSONObject commit = page.getJSONObject(i);
+            commits.add(new GitCommit(commit.getString("sha"), commit.getJSONObject("commit").getString("message")));
+        }
+        return commits;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import git.GitCommit;
+import git.GitCommitFromGraphQL;
+import git.GitCommitFromRepo;
+import git.GitHubHttpClient;
+import git.GitHubRateLimiter;
+import git.GitHubResponse;
+import git.RepositoryHistory;
+import org.json.JSONArray;
+
+public class GitHubBackendBenchmark {
+    private static final String OWNER = "bench";
+    private static final String REPO = "history";
+
+    /**
+     * Vergleicht die übertragenen Byte der beiden Backends für die vollständige Historie samt Tags:
+     * REST (`/commits` und `/tags`, je 100 pro Seite) gegen GraphQL (`GitCommitFromGraphQL`).
+     *
+     * Aufruf: `GitHubBackendBenchmark [commits] [latenz-ms]`
+     *
+     * Schritte:
+     * Startet den `MockGitHubServer` und pro Backend einen eigenen `GitHubHttpClient` ohne Antwort-Cache,
+     * damit die Zähler getrennt sind.
+     * Lädt mit beiden Backends Historie und Tags und prüft, dass dieselben Commits in derselben Reihenfolge ankommen.
+     * Gibt Anfragen, übertragene (gzip-)Byte und Dauer pro Backend aus.
+     */
+    public static void main(String[] args) throws IOException {
+        int commitCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 20;
+
+        try (MockGitHubServer server = new MockGitHubServer(OWNER, REPO, commitCount);
+             GitHubHttpClient restClient = newClient();
+             GitHubHttpClient graphQLClient = newClient()) {
+            server.setLatencyMillis(latencyMillis);
+            // Ohne Taktung, damit nur Anfragen und Nutzlast gemessen werden
+            GitCommitFromRepo rest = new GitCommitFromRepo(REPO, OWNER, server.getApiUrl(), restClient,
+                    new GitHubRateLimiter(List.of(), GitHubRateLimiter.DEFAULT_BURST, 0));
+            GitCommitFromGraphQL graphQL = new GitCommitFromGraphQL(REPO, OWNER, server.getGraphQLUrl(), graphQLClient,
+                    new GitHubRateLimiter(List.of(), GitHubRateLimiter.DEFAULT_BURST, 0));
+
+            long start = System.nanoTime();
+            List<GitCommit> restCommits = rest.fetchAllCommits();
+            int restTags = fetchAllTags(restClient, server.getApiUrl() + OWNER + "/" + REPO + "/tags?per_page=100");
+            double restSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            RepositoryHistory history = graphQL.fetchHistory();
+            double graphQLSeconds = (System.nanoTime() - start) / 1e9;
+
+            List<GitCommit> graphQLCommits = history.getCommits();
+            if (!restCommits.equals(graphQLCommits) || restTags != history.getTags().size()) {
+                throw new IllegalStateException("Backends disagree: " + restCommits.size() + "/" + restTags
+                        + " vs " + graphQLCommits.size() + "/" + history.getTags().size());
+            }
+            System.out.printf("%d commits, %d tags (latest %s, PRs of newest commit: %s)%n",
+                    graphQLCommits.size(), restTags, history.getTags().latest(false),
+                    graphQLCommits.isEmpty() ? "-" : graphQLCommits.get(0).getPullRequests());
+            report("REST", restClient, restSeconds);
+            report("GraphQL", graphQLClient, graphQLSeconds);
+            System.out.printf("GraphQL transfers %.1f %% of the REST bytes%n",
+                    100.0 * graphQLClient.getTransferredBytes() / restClient.getTransferredBytes());
+        }
+    }
+
+    private static GitHubHttpClient newClient() {
+        return new GitHubHttpClient(GitHubHttpClient.DEFAULT_MAX_PER_ROUTE, GitHubHttpClient.DEFAULT_MAX_TOTAL,
+                GitHubHttpClient.DEFAULT_TIMEOUT);
+    }
+
+    private static int fetchAllTags(GitHubHttpClient client, String url) throws IOException {
+        int count = 0;
+        while (url != null) {
+            GitHubResponse response = client.get(url, Map.of("Accept", "application/vnd.github+json"));
+            count += new JSONArray(response.getBodyAsString()).length();
+            url = nextPage(response.getHeader("Link"));
+        }
+        return count;
+    }
+
+    private static String nextPage(String link) {
+        if (link == null) {
+            return null;
+        }
+        for (String part : link.split(",")) {
+            if (part.contains("rel=\"next\"")) {
+                return part.substring(part.indexOf('<') + 1, part.indexOf('>'));
+            }
+        }
+        return null;
+    }
+
+    private static void report(String backend, GitHubHttpClient client, double seconds) {
+        System.out.printf("%-8s %4d requests %8d KB transferred %6.2f s%n",
+                backend, client.getRequestCount(), client.getTransferredBytes() / 1024, seconds);
+    }
+}
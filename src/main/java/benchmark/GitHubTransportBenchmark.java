@@ -0,0 +1,129 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import git.GitCommit;
+import git.GitCommitFromRepo;
+import git.GitHubHttpClient;
+import git.GitHubRateLimiter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class GitHubTransportBenchmark {
+    private static final String OWNER = "bench";
+    private static final String REPO = "history";
+
+    /**
+     * Vergleicht den bisherigen Transport (eine `HttpURLConnection` pro Seite mit `disconnect()`) mit dem
+     * gepoolten `GitHubHttpClient` gegen einen lokalen `MockGitHubServer`.
+     *
+     * Aufruf: `GitHubTransportBenchmark [commits] [runden] [latenz-ms] [handshake-ms] [kbyte-pro-s]`
+     *
+     * Schritte:
+     * Startet den Mock-Server mit der gewünschten Historie und einem einfachen Netzwerkmodell
+     * (Standard: 20 ms Round-Trip, 60 ms für TCP- und TLS-Handshake neuer Verbindungen, 2 MB/s Bandbreite).
+     * Wärmt beide Varianten mit einem Durchlauf auf.
+     * Lädt die gesamte Historie pro Runde mit beiden Varianten und gibt Seiten pro Sekunde,
+     * Anzahl der Commits und übertragene Byte aus.
+     */
+    public static void main(String[] args) throws IOException {
+        int commitCount = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        long handshakeMillis = args.length > 3 ? Long.parseLong(args[3]) : 60;
+        long kilobytesPerSecond = args.length > 4 ? Long.parseLong(args[4]) : 2048;
+
+        try (MockGitHubServer server = new MockGitHubServer(OWNER, REPO, commitCount);
+             GitHubHttpClient client = new GitHubHttpClient(GitHubHttpClient.DEFAULT_MAX_PER_ROUTE,
+                     GitHubHttpClient.DEFAULT_MAX_TOTAL, GitHubHttpClient.DEFAULT_TIMEOUT)) {
+            server.setLatencyMillis(latencyMillis);
+            server.setHandshakeMillis(handshakeMillis);
+            server.setBandwidth(kilobytesPerSecond * 1024);
+            // Ohne Taktung, damit nur der Transport gemessen wird
+            GitHubRateLimiter unpaced = new GitHubRateLimiter(List.of(), GitHubRateLimiter.DEFAULT_BURST, 0);
+            GitCommitFromRepo pooled = new GitCommitFromRepo(REPO, OWNER, server.getApiUrl(), client, unpaced);
+            String firstPage = server.getApiUrl() + OWNER + "/" + REPO + "/commits";
+
+            // Aufwärmen
+            fetchWithUrlConnection(firstPage);
+            pooled.fetchAllCommits();
+
+            double legacyBest = 0;
+            double pooledBest = 0;
+            for (int round = 1; round <= rounds; round++) {
+                long requestsBefore = server.getRequestCount();
+                int connectionsBefore = server.getConnectionCount();
+                long start = System.nanoTime();
+                int legacyCommits = fetchWithUrlConnection(firstPage);
+                double legacySeconds = (System.nanoTime() - start) / 1e9;
+                long pages = server.getRequestCount() - requestsBefore;
+                double legacyRate = pages / legacySeconds;
+                int legacyConnections = server.getConnectionCount() - connectionsBefore;
+
+                long bytesBefore = client.getTransferredBytes();
+                start = System.nanoTime();
+                int pooledCommits = pooled.fetchAllCommits().size();
+                double pooledSeconds = (System.nanoTime() - start) / 1e9;
+                double pooledRate = pages / pooledSeconds;
+                int pooledConnections = server.getConnectionCount() - connectionsBefore - legacyConnections;
+
+                System.out.printf("Round %d: %d pages, %d/%d commits | HttpURLConnection %.1f pages/s, %d new connections"
+                                + " | pooled %.1f pages/s, %d new connections, %d KB gzip%n",
+                        round, pages, legacyCommits, pooledCommits, legacyRate, legacyConnections,
+                        pooledRate, pooledConnections, (client.getTransferredBytes() - bytesBefore) / 1024);
+                legacyBest = Math.max(legacyBest, legacyRate);
+                pooledBest = Math.max(pooledBest, pooledRate);
+            }
+            System.out.printf("Best: HttpURLConnection %.1f pages/s, pooled %.1f pages/s (x%.2f)%n",
+                    legacyBest, pooledBest, pooledBest / legacyBest);
+        }
+    }
+
+    // Der Transport vor dem Verbindungspool: neue Verbindung pro Seite, danach disconnect()
+    private static int fetchWithUrlConnection(String url) throws IOException {
+        List<GitCommit> commits = new ArrayList<>();
+        while (url != null) {
+            HttpURLConnection conn = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            try {
+                conn.setRequestProperty("Accept", "application/vnd.github+json");
+                if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("HTTP error code: " + conn.getResponseCode());
+                }
+                StringBuilder json = new StringBuilder();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        json.append(line);
+                    }
+                }
+                JSONArray page = new JSONArray(json.toString());
+                for (int i = 0; i < page.length(); i++) {
+                    JSONObject commit = page.getJSONObject(i);
+                    commits.add(new GitCommit(commit.getString("sha"), commit.getJSONObject("commit").getString("message")));
+                }
+                url = nextPage(conn.getHeaderField("Link"));
+            } finally {
+                conn.disconnect();
+            }
+        }
+        return commits.size();
+    }
+
+    private static String nextPage(String link) {
+        if (link == null) {
+            return null;
+        }
+        for (String part : link.split(",")) {
+            if (part.contains("rel=\"next\"")) {
+                return part.substring(part.indexOf('<') + 1, part.indexOf('>'));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jira.JiraFetchResult;
+import jira.JiraIssueFetcher;
+import jira.JiraService;
+
+public class JiraBulkBenchmark {
+    private static final String PROJECT = "NWTDL";
+    private static final int PIPELINES = 4;
+
+    /**
+     * Vergleicht das Laden der Jira-Issues eines Releases: eine Anfrage pro Schlüssel (`fetchIssue`) nacheinander,
+     * dieselben Anfragen gleichzeitig (`fetchIssuesConcurrently`) und die gebündelte Suche (`fetchIssuesBulk`);
+     * zuletzt `PIPELINES` gleichzeitige Aufrufe mit doppelten Schlüsseln an denselben Fetcher.
+     *
+     * Aufruf: `JiraBulkBenchmark [issues] [latenz-ms]`
+     *
+     * Schritte:
+     * Startet den `MockJiraServer` mit der simulierten Latenz.
+     * Lädt dieselben Schlüssel (darunter einige unbekannte) mit allen Varianten und prüft, dass dieselben Issues
+     * ankommen.
+     * Gibt Anfragen und Dauer pro Variante aus, für die gleichzeitige auch die höchste gemessene Parallelität,
+     * für die Pipelines die Anzahl der übernommenen Abrufe.
+     */
+    public static void main(String[] args) throws Exception {
+        int issueCount = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 20;
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 1; i <= issueCount; i++) {
+            keys.add(PROJECT + "-" + i);
+        }
+        keys.add(PROJECT + "-" + (issueCount + 1));
+        keys.add("UNKNOWN-1");
+
+        try (MockJiraServer server = new MockJiraServer(PROJECT, issueCount)) {
+            server.setLatencyMillis(latencyMillis);
+            // Ein neuer Fetcher pro Variante: ein Fetcher merkt sich die geladenen Issues des Laufs
+            List<String> perKey = new ArrayList<>();
+            JiraIssueFetcher fetcher = new JiraIssueFetcher(server.getBaseUrl(), "token");
+            try {
+                long requests = server.getRequestCount();
+                long start = System.nanoTime();
+                for (String key : keys) {
+                    try {
+                        perKey.add(fetcher.fetchIssue(key).toString());
+                    } catch (Exception e) {
+                        // unbekannte Schlüssel, wie in fetchMultplesIssues übersprungen
+                    }
+                }
+                report("GET per key", server.getRequestCount() - requests, System.nanoTime() - start, perKey.size());
+            } finally {
+                fetcher.closeHttp();
+            }
+
+            fetcher = new JiraIssueFetcher(server.getBaseUrl(), "token");
+            try {
+                long requests = server.getRequestCount();
+                long start = System.nanoTime();
+                JiraFetchResult concurrent = fetcher.fetchIssuesConcurrently(keys);
+                report("concurrent", server.getRequestCount() - requests, System.nanoTime() - start, concurrent.getIssues().size());
+                System.out.printf("%-12s %d requests in flight at most, errors for %s%n", "",
+                        server.getMaxConcurrentRequests(), concurrent.getErrors().keySet());
+                if (!perKey.equals(concurrent.getIssues().stream().map(JiraService::toString).toList())) {
+                    throw new IllegalStateException("Concurrent fetch returned different issues.");
+                }
+            } finally {
+                fetcher.closeHttp();
+            }
+
+            fetcher = new JiraIssueFetcher(server.getBaseUrl(), "token");
+            try {
+                long requests = server.getRequestCount();
+                long start = System.nanoTime();
+                List<String> bulk = new ArrayList<>();
+                for (JiraService issue : fetcher.fetchIssuesBulk(keys)) {
+                    bulk.add(issue.toString());
+                }
+                report("bulk JQL", server.getRequestCount() - requests, System.nanoTime() - start, bulk.size());
+                if (!perKey.equals(bulk)) {
+                    throw new IllegalStateException("Bulk fetch returned different issues.");
+                }
+            } finally {
+                fetcher.closeHttp();
+            }
+
+            coalesced(server, keys, perKey);
+        }
+    }
+
+    // Mehrere Pipelines fragen gleichzeitig überlappende Listen (mit Duplikaten) beim selben Fetcher an
+    private static void coalesced(MockJiraServer server, List<String> keys, List<String> perKey) throws Exception {
+        List<String> withDuplicates = new ArrayList<>(keys);
+        withDuplicates.addAll(keys.subList(0, Math.min(keys.size(), 20)));
+        JiraIssueFetcher fetcher = new JiraIssueFetcher(server.getBaseUrl(), "token");
+        try (ExecutorService pipelines = Executors.newVirtualThreadPerTaskExecutor()) {
+            long requests = server.getRequestCount();
+            long start = System.nanoTime();
+            List<Future<List<JiraService>>> results = new ArrayList<>();
+            for (int i = 0; i < PIPELINES; i++) {
+                results.add(i % 2 == 0
+                        ? pipelines.submit(() -> fetcher.fetchIssuesConcurrently(withDuplicates).getIssues())
+                        : pipelines.submit(() -> fetcher.fetchIssuesBulk(withDuplicates)));
+            }
+            for (Future<List<JiraService>> result : results) {
+                List<String> issues = result.get().stream().map(JiraService::toString).toList();
+                if (!perKey.equals(issues.subList(0, perKey.size()))) {
+                    throw new IllegalStateException("Coalesced fetch returned different issues.");
+                }
+            }
+            report(PIPELINES + " pipelines", server.getRequestCount() - requests, System.nanoTime() - start, perKey.size());
+            System.out.printf("%-12s %d lookups served by a shared request%n", "", fetcher.getCoalescedRequestCount());
+        } finally {
+            fetcher.closeHttp();
+        }
+    }
+
+    private static void report(String name, long requests, long nanos, int issues) throws IOException {
+        System.out.printf("%-12s %5d requests %8.2f s %5d issues%n", name, requests, nanos / 1e9, issues);
+    }
+}
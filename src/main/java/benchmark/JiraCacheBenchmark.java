@@ -0,0 +1,87 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jira.JiraIssueCache;
+import jira.JiraIssueFetcher;
+import jira.JiraService;
+
+public class JiraCacheBenchmark {
+    private static final String PROJECT = "NWTDL";
+    private static final int CHANGED = 5;
+
+    /**
+     * Misst den Jira-Cache über mehrere Läufe, wie bei stündlichen Läufen mit jeweils neuem Prozess.
+     *
+     * Aufruf: `JiraCacheBenchmark [issues] [latenz-ms]`
+     *
+     * Schritte:
+     * Startet den `MockJiraServer` und legt den Cache in einem temporären Verzeichnis an.
+     * Lauf 1 füllt den leeren Cache; vor Lauf 2 werden `CHANGED` Issues bearbeitet, Lauf 3 folgt ohne Änderung.
+     * Lauf 4 lädt nach weiteren `CHANGED` Änderungen mit `fetchIssuesConcurrently` statt `fetchIssuesBulk`.
+     * Jeder Lauf öffnet den Cache neu (ohne Frische-Fenster, also mit Abgleich) und benutzt einen neuen Fetcher.
+     * Prüft jeden Lauf gegen einen Abruf ohne Cache und gibt Anfragen, Dauer und die Cache-Zähler aus.
+     */
+    public static void main(String[] args) throws Exception {
+        int issueCount = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 20;
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 1; i <= issueCount; i++) {
+            keys.add(PROJECT + "-" + i);
+        }
+        Path directory = Files.createTempDirectory("jira-cache-benchmark");
+        try (MockJiraServer server = new MockJiraServer(PROJECT, issueCount)) {
+            server.setLatencyMillis(latencyMillis);
+            run("cold", server, directory, keys, false);
+            for (int i = 1; i <= CHANGED; i++) {
+                server.updateIssue(i * (issueCount / CHANGED));
+            }
+            run(CHANGED + " changed", server, directory, keys, false);
+            run("unchanged", server, directory, keys, false);
+            for (int i = 1; i <= CHANGED; i++) {
+                server.updateIssue(i * (issueCount / CHANGED) - 1);
+            }
+            run(CHANGED + " conc.", server, directory, keys, true);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void run(String name, MockJiraServer server, Path directory, List<String> keys, boolean concurrent) throws IOException {
+        JiraIssueCache cache = new JiraIssueCache(directory, JiraIssueCache.DEFAULT_MEMORY_ENTRIES, Duration.ZERO);
+        JiraIssueFetcher fetcher = new JiraIssueFetcher(server.getBaseUrl(), "token");
+        fetcher.setIssueCache(cache);
+        List<String> cached;
+        long requests = server.getRequestCount();
+        long start = System.nanoTime();
+        try {
+            List<JiraService> issues = concurrent ? fetcher.fetchIssuesConcurrently(keys).getIssues() : fetcher.fetchIssuesBulk(keys);
+            cached = issues.stream().map(JiraService::toString).toList();
+        } finally {
+            fetcher.closeHttp();
+        }
+        System.out.printf("%-12s %5d requests %8.2f s %5d issues  %s%n", name, server.getRequestCount() - requests,
+                (System.nanoTime() - start) / 1e9, cached.size(), cache);
+
+        JiraIssueFetcher uncached = new JiraIssueFetcher(server.getBaseUrl(), "token");
+        try {
+            if (!cached.equals(uncached.fetchIssuesBulk(keys).stream().map(JiraService::toString).toList())) {
+                throw new IllegalStateException("Cached fetch returned different issues in run: " + name);
+            }
+        } finally {
+            uncached.closeHttp();
+        }
+    }
+}
@@ -0,0 +1,755 @@
+package benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public final class MockGitHubServer implements Closeable {
+    private static final int DEFAULT_PER_PAGE = 30;
+    private static final int MAX_PER_PAGE = 100;
+    private static final Instant FIRST_COMMIT = Instant.parse("2024-01-01T00:00:00Z");
+    // Alle TAG_INTERVAL Commits ein Release-Tag; jeder zweite ist annotiert
+    private static final int TAG_INTERVAL = 250;
+    private static final int GRAPHQL_PAGE_SIZE = 100;
+    private static final String DEFAULT_BRANCH = "main";
+    // Ohne `per_page` liefert `/compare` bis zu 250 Commits, die Dateiliste höchstens 300 Einträge
+    private static final int COMPARE_DEFAULT_PER_PAGE = 250;
+    private static final int COMPARE_MAX_FILES = 300;
+
+    private final String owner;
+    private final String repo;
+    // Älteste zuerst; die API liefert neueste zuerst
+    // Copy-on-write, damit `addCommits` neben laufenden Anfragen möglich ist
+    private final List<JSONObject> commits = new CopyOnWriteArrayList<>();
+    // Neueste zuerst, wie `/tags`
+    private final List<JSONObject> tags = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> commitIndex = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    // Client-Adressen (IP und Port) bereits gesehener Verbindungen
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private volatile long latencyMillis;
+    private volatile long handshakeMillis;
+    private volatile long bytesPerSecond;
+    private volatile int rateLimit;
+    private volatile long rateLimitWindowSeconds = 3600;
+    private volatile int compareLimit;
+    // Index des Branch-Kopfs nach `resetBranch`; -1 steht für den neuesten Commit
+    private volatile int branchHead = -1;
+    private volatile int searchResultCap = 1000;
+    // Authorization-Header -> verbrauchtes Budget im aktuellen Fenster (wie bei GitHub pro Token)
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+
+    /**
+     * Startet einen lokalen Stand-in für die GitHub-REST-API mit einer synthetischen Historie.
+     *
+     * Schritte:
+     * Erzeugt `commitCount` Commits mit Nutzlast in GitHub-Größe (Autor, Eltern, Dateiliste).
+     * Legt alle 250 Commits ein Release-Tag an (abwechselnd leichtgewichtig und annotiert).
+     * Bedient `/repos/{owner}/{repo}`, `/commits` (mit `page`, `per_page`, `since`, `until` und Link-Header),
+     * `/tags`, `/compare/{base}...{head}`, `/git/refs/tags/{name}`, `/git/tags/{sha}`, `/git/commits/{sha}`,
+     * die Commit-Suche unter `/search/commits` und die Historien-Abfrage von `GitCommitFromGraphQL` unter `/graphql`; komprimiert Antworten mit gzip, wenn der Client es anbietet, und beantwortet
+     * bedingte Anfragen (`If-None-Match`) mit 304.
+     *
+     * @param owner Der Besitzer des simulierten Repositorys.
+     * @param repo Der Name des simulierten Repositorys.
+     * @param commitCount Die Anzahl der Commits in der Historie.
+     * @throws IOException Wenn der Server nicht gestartet werden kann.
+     */
+    public MockGitHubServer(String owner, String repo, int commitCount) throws IOException {
+        this.owner = owner;
+        this.repo = repo;
+        addCommits(commitCount);
+        // Ohne TCP_NODELAY bremsen Nagle und verzögerte ACKs jede Antwort um ~40 ms aus
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/repos/", this::handle);
+        this.server.createContext("/graphql", this::handle);
+        this.server.createContext("/search/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Hängt `count` neue Commits an den Standard-Branch an (wie ein Push), samt der dabei fälligen Release-Tags.
+     */
+    public synchronized void addCommits(int count) {
+        branchHead = -1;
+        int first = commits.size();
+        List<JSONObject> added = new ArrayList<>(count);
+        List<JSONObject> addedTags = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            added.add(commit(i));
+            if ((i + 1) % TAG_INTERVAL == 0) {
+                addedTags.add(0, tag(i));
+            }
+        }
+        for (int i = 0; i < added.size(); i++) {
+            commitIndex.put(added.get(i).getString("sha"), first + i);
+        }
+        commits.addAll(added);
+        tags.addAll(0, addedTags);
+    }
+
+    /**
+     * Setzt den Standard-Branch um `count` Commits zurück (wie `git reset --hard` mit Force-Push). Die entfernten
+     * Commits bleiben wie bei GitHub über ihre SHA erreichbar, z. B. für `/compare`; `addCommits` hebt das auf.
+     */
+    public synchronized void resetBranch(int count) {
+        branchHead = Math.max(0, branchHead() - count);
+    }
+
+    private int branchHead() {
+        int head = branchHead;
+        return head >= 0 ? head : commits.size() - 1;
+    }
+
+    /**
+     * @return Die Basis-URL der Repository-API, passend für `GitCommitFromRepo` (endet auf "/repos/").
+     */
+    public String getApiUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/repos/";
+    }
+
+    /**
+     * @return Die URL des GraphQL-Endpunkts, passend für `GitCommitFromGraphQL`.
+     */
+    public String getGraphQLUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    /**
+     * Simuliert die Netzwerk-Latenz eines entfernten Servers pro Anfrage.
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Simuliert die Kosten eines Verbindungsaufbaus (TCP- und TLS-Handshake), die bei der ersten Anfrage
+     * einer neuen Verbindung zusätzlich anfallen. Verbindungen werden an der Client-Adresse erkannt.
+     */
+    public void setHandshakeMillis(long handshakeMillis) {
+        this.handshakeMillis = handshakeMillis;
+    }
+
+    /**
+     * Simuliert eine begrenzte Bandbreite: jede Antwort wird um ihre Übertragungsdauer verzögert (0 = unbegrenzt).
+     */
+    public void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Aktiviert die Rate-Limit-Header (`X-RateLimit-*`) mit dem angegebenen Budget pro Token und Stunde;
+     * ist es aufgebraucht, antwortet der Server wie GitHub mit 403. 0 deaktiviert das Rate-Limit.
+     */
+    public void setRateLimit(int rateLimit) {
+        setRateLimit(rateLimit, 3600);
+    }
+
+    /**
+     * @param rateLimit Das Budget pro Token und Fenster (0 = kein Rate-Limit).
+     * @param windowSeconds Die Länge eines Fensters; danach steht das volle Budget wieder bereit.
+     */
+    public void setRateLimit(int rateLimit, long windowSeconds) {
+        this.rateLimit = rateLimit;
+        this.rateLimitWindowSeconds = windowSeconds;
+        this.rateWindows.clear();
+    }
+
+    /**
+     * Simuliert die Grenze von `/compare`: Vergleiche mit mehr Commits werden wie ein zu großer Diff
+     * mit 422 abgelehnt (0 = unbegrenzt).
+     */
+    public void setCompareLimit(int compareLimit) {
+        this.compareLimit = compareLimit;
+    }
+
+    /**
+     * Simuliert die Obergrenze der Suche: nur die ersten `searchResultCap` Treffer sind abrufbar
+     * (bei GitHub 1000), `total_count` nennt trotzdem alle.
+     */
+    public void setSearchResultCap(int searchResultCap) {
+        this.searchResultCap = searchResultCap;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return Die Anzahl der Anfragen, die mit 304 (nicht geändert) beantwortet wurden.
+     */
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    /**
+     * @return Die Anzahl der bisher aufgebauten Verbindungen.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private static JSONObject commit(int index) {
+        String sha = sha1("commit-" + index);
+        String date = FIRST_COMMIT.plusSeconds(index * 3600L).toString();
+
+        JSONObject person = new JSONObject()
+                .put("name", "Developer " + (index % 7))
+                .put("email", "dev" + (index % 7) + "@example.com")
+                .put("date", date);
+        JSONObject inner = new JSONObject()
+                .put("author", person)
+                .put("committer", person)
+                .put("message", "[NWTDL-" + (500 + index % 120) + "] feat: change number " + index
+                        + "\n\nLonger description of change " + index + ".")
+                .put("tree", new JSONObject().put("sha", sha1("tree-" + index)))
+                .put("comment_count", 0);
+
+        JSONArray parents = new JSONArray();
+        if (index > 0) {
+            parents.put(new JSONObject().put("sha", sha1("commit-" + (index - 1))));
+        }
+        JSONArray files = new JSONArray();
+        for (int f = 0; f < 3; f++) {
+            files.put(new JSONObject()
+                    .put("filename", "src/main/java/module" + (index % 5) + "/File" + f + ".java")
+                    .put("status", "modified")
+                    .put("additions", index % 13)
+                    .put("deletions", index % 7)
+                    .put("patch", "@@ -1,3 +1,4 @@\n-old line " + index + "\n+new line " + index));
+        }
+        return new JSONObject()
+                .put("sha", sha)
+                .put("node_id", "C_" + sha.substring(0, 20))
+                .put("commit", inner)
+                .put("author", new JSONObject().put("login", "dev" + (index % 7)))
+                .put("parents", parents)
+                .put("files", files);
+    }
+
+    private static JSONObject tag(int commitIndex) {
+        int release = (commitIndex + 1) / TAG_INTERVAL;
+        String sha = sha1("commit-" + commitIndex);
+        JSONObject tag = new JSONObject()
+                .put("name", "v" + release + ".0.0")
+                .put("commit", new JSONObject().put("sha", sha).put("url", "https://api.github.com/commits/" + sha))
+                .put("node_id", "REF_" + release);
+        // Nur für GraphQL: annotierte Tags zeigen auf ein eigenes Tag-Objekt
+        if (release % 2 == 1) {
+            tag.put("tag_object", sha1("tag-" + release));
+        }
+        return tag;
+    }
+
+    private static String sha1(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            long delay = latencyMillis;
+            if (connections.add(exchange.getRemoteAddress())) {
+                delay += handshakeMillis;
+            }
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (rateLimit > 0 && !applyRateLimit(exchange)) {
+                send(exchange, 403, new JSONObject().put("message", "API rate limit exceeded").toString(), null);
+                return;
+            }
+            URI uri = exchange.getRequestURI();
+            String base = "/repos/" + owner + "/" + repo;
+            String path = uri.getPath();
+            Map<String, String> query = parseQuery(uri.getRawQuery());
+
+            if (path.equals("/graphql")) {
+                handleGraphQL(exchange);
+            } else if (path.equals("/search/commits")) {
+                handleSearch(exchange, path, query);
+            } else if (path.equals(base)) {
+                send(exchange, 200, new JSONObject()
+                        .put("full_name", owner + "/" + repo)
+                        .put("default_branch", DEFAULT_BRANCH).toString(), null);
+            } else if (path.equals(base + "/commits")) {
+                handleCommits(exchange, path, query);
+            } else if (path.startsWith(base + "/compare/")) {
+                handleCompare(exchange, path, query, path.substring((base + "/compare/").length()));
+            } else if (path.startsWith(base + "/git/")) {
+                handleGitData(exchange, path.substring((base + "/git/").length()));
+            } else if (path.equals(base + "/tags")) {
+                List<JSONObject> listed = new ArrayList<>();
+                for (JSONObject tag : tags) {
+                    JSONObject rest = new JSONObject(tag.toMap());
+                    rest.remove("tag_object");
+                    String name = tag.getString("name");
+                    rest.put("zipball_url", "https://api.github.com/repos/" + owner + "/" + repo + "/zipball/refs/tags/" + name);
+                    rest.put("tarball_url", "https://api.github.com/repos/" + owner + "/" + repo + "/tarball/refs/tags/" + name);
+                    listed.add(rest);
+                }
+                sendPage(exchange, path, query, listed);
+            } else {
+                send(exchange, 404, new JSONObject().put("message", "Not Found").toString(), null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private boolean applyRateLimit(HttpExchange exchange) {
+        RateWindow window = rateWindow(exchange);
+        long used;
+        synchronized (window) {
+            long now = Instant.now().getEpochSecond();
+            if (now >= window.resetAt) {
+                window.resetAt = now + rateLimitWindowSeconds;
+                window.used = 0;
+            }
+            used = ++window.used;
+        }
+        setRateLimitHeaders(exchange, window, used);
+        return used <= rateLimit;
+    }
+
+    private void refundRateLimit(HttpExchange exchange) {
+        RateWindow window = rateWindow(exchange);
+        long used;
+        synchronized (window) {
+            used = --window.used;
+        }
+        setRateLimitHeaders(exchange, window, used);
+    }
+
+    private RateWindow rateWindow(HttpExchange exchange) {
+        String token = exchange.getRequestHeaders().getFirst("Authorization");
+        return rateWindows.computeIfAbsent(token != null ? token : "", k -> new RateWindow());
+    }
+
+    private void setRateLimitHeaders(HttpExchange exchange, RateWindow window, long used) {
+        long remaining = Math.max(0, rateLimit - used);
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(rateLimit));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(remaining));
+        exchange.getResponseHeaders().set("X-RateLimit-Used", String.valueOf(Math.min(used, rateLimit)));
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(window.resetAt));
+    }
+
+    private static class RateWindow {
+        private long resetAt;
+        private long used;
+    }
+
+    private void handleCommits(HttpExchange exchange, String path, Map<String, String> query)
+            throws IOException, InterruptedException {
+        List<JSONObject> selected = new ArrayList<>();
+        String since = query.get("since");
+        String until = query.get("until");
+        int head = branchHead();
+        if (query.containsKey("sha")) {
+            head = resolve(query.get("sha"));
+            if (head < 0) {
+                send(exchange, 404, new JSONObject().put("message", "No commit found for SHA: " + query.get("sha")).toString(), null);
+                return;
+            }
+        }
+        for (int i = head; i >= 0; i--) {
+            JSONObject commit = commits.get(i);
+            String date = commit.getJSONObject("commit").getJSONObject("author").getString("date");
+            if ((since == null || date.compareTo(since) >= 0) && (until == null || date.compareTo(until) <= 0)) {
+                selected.add(commit);
+            }
+        }
+
+        sendPage(exchange, path, query, selected);
+    }
+
+    private void sendPage(HttpExchange exchange, String path, Map<String, String> query, List<JSONObject> selected)
+            throws IOException, InterruptedException {
+        int perPage = Math.min(MAX_PER_PAGE, Integer.parseInt(query.getOrDefault("per_page", String.valueOf(DEFAULT_PER_PAGE))));
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int lastPage = Math.max(1, (selected.size() + perPage - 1) / perPage);
+
+        JSONArray body = new JSONArray();
+        for (int i = (page - 1) * perPage; i < Math.min(selected.size(), page * perPage); i++) {
+            body.put(selected.get(i));
+        }
+
+        String link = null;
+        if (page < lastPage) {
+            link = "<" + pageUrl(path, query, page + 1) + ">; rel=\"next\", <" + pageUrl(path, query, lastPage) + ">; rel=\"last\"";
+        }
+        send(exchange, 200, body.toString(), link);
+    }
+
+    /**
+     * Beantwortet `/search/commits?q=repo:{owner}/{repo} "A" OR "B" ...` wie GitHub: neueste zuerst, `total_count`
+     * mit allen Treffern, abrufbar sind aber nur die ersten `searchResultCap` (danach 422).
+     * Ein Begriff trifft, wenn er in der Nachricht vorkommt (ohne Groß-/Kleinschreibung, wie die unscharfe Suche).
+     */
+    private void handleSearch(HttpExchange exchange, String path, Map<String, String> query)
+            throws IOException, InterruptedException {
+        String q = URLDecoder.decode(query.getOrDefault("q", ""), StandardCharsets.UTF_8);
+        List<String> terms = new ArrayList<>();
+        boolean inRepository = false;
+        for (String part : q.split(" ")) {
+            if (part.startsWith("repo:")) {
+                inRepository = part.equals("repo:" + owner + "/" + repo);
+            } else if (!part.isEmpty() && !part.equals("OR")) {
+                terms.add(part.replace("\"", "").toLowerCase());
+            }
+        }
+        if (!inRepository || terms.isEmpty()) {
+            send(exchange, 422, new JSONObject().put("message", "Validation Failed").toString(), null);
+            return;
+        }
+
+        int perPage = Math.min(MAX_PER_PAGE, Integer.parseInt(query.getOrDefault("per_page", String.valueOf(DEFAULT_PER_PAGE))));
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        List<JSONObject> matches = new ArrayList<>();
+        for (int i = commits.size() - 1; i >= 0; i--) {
+            String message = commits.get(i).getJSONObject("commit").getString("message").toLowerCase();
+            for (String term : terms) {
+                if (message.contains(term)) {
+                    matches.add(commits.get(i));
+                    break;
+                }
+            }
+        }
+        int available = Math.min(matches.size(), searchResultCap);
+        if ((page - 1) * perPage >= available && page > 1) {
+            send(exchange, 422, new JSONObject().put("message", "Only the first " + searchResultCap
+                    + " search results are available").toString(), null);
+            return;
+        }
+        JSONArray items = new JSONArray();
+        for (int i = (page - 1) * perPage; i < Math.min(available, page * perPage); i++) {
+            JSONObject item = new JSONObject(matches.get(i).toMap());
+            item.remove("files");
+            item.put("repository", new JSONObject().put("full_name", owner + "/" + repo)
+                    .put("html_url", "https://github.com/" + owner + "/" + repo).put("private", true));
+            item.put("score", 1.0);
+            items.put(item);
+        }
+        int lastPage = Math.max(1, (available + perPage - 1) / perPage);
+        String link = null;
+        if (page < lastPage) {
+            link = "<" + pageUrl(path, query, page + 1) + ">; rel=\"next\", <" + pageUrl(path, query, lastPage) + ">; rel=\"last\"";
+        }
+        send(exchange, 200, new JSONObject()
+                .put("total_count", matches.size())
+                .put("incomplete_results", false)
+                .put("items", items).toString(), link);
+    }
+
+    // Wie GitHub: älteste zuerst, Dateiliste nur auf der ersten Seite; die Historie ist linear, die
+    // Merge-Base ist also der ältere der beiden Commits
+    private void handleCompare(HttpExchange exchange, String path, Map<String, String> query, String range)
+            throws IOException, InterruptedException {
+        int separator = range.indexOf("...");
+        int base = separator > 0 ? resolve(range.substring(0, separator)) : -1;
+        int head = separator > 0 ? resolve(range.substring(separator + 3)) : -1;
+        if (base < 0 || head < 0) {
+            send(exchange, 404, new JSONObject().put("message", "Not Found").toString(), null);
+            return;
+        }
+        int total = Math.max(0, head - base);
+        if (compareLimit > 0 && total > compareLimit) {
+            send(exchange, 422, new JSONObject().put("message", "Sorry, this diff is taking too long to generate.").toString(), null);
+            return;
+        }
+
+        int perPage = Integer.parseInt(query.getOrDefault("per_page", String.valueOf(COMPARE_DEFAULT_PER_PAGE)));
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int lastPage = Math.max(1, (total + perPage - 1) / perPage);
+        JSONArray pageCommits = new JSONArray();
+        for (int i = base + 1 + (page - 1) * perPage; i <= Math.min(head, base + page * perPage); i++) {
+            JSONObject commit = new JSONObject(commits.get(i).toMap());
+            commit.remove("files");
+            pageCommits.put(commit);
+        }
+        JSONArray files = new JSONArray();
+        if (page == 1) {
+            for (int i = head; i > base && files.length() < COMPARE_MAX_FILES; i--) {
+                for (Object file : commits.get(i).getJSONArray("files")) {
+                    if (files.length() < COMPARE_MAX_FILES) {
+                        files.put(file);
+                    }
+                }
+            }
+        }
+        JSONObject body = new JSONObject()
+                .put("status", head > base ? "ahead" : head == base ? "identical" : "behind")
+                .put("ahead_by", total)
+                .put("behind_by", Math.max(0, base - head))
+                .put("total_commits", total)
+                .put("base_commit", commits.get(base))
+                .put("merge_base_commit", commits.get(Math.min(base, head)))
+                .put("commits", pageCommits)
+                .put("files", files);
+        String link = null;
+        if (page < lastPage) {
+            link = "<" + pageUrl(path, query, page + 1) + ">; rel=\"next\", <" + pageUrl(path, query, lastPage) + ">; rel=\"last\"";
+        }
+        send(exchange, 200, body.toString(), link);
+    }
+
+    private void handleGitData(HttpExchange exchange, String path) throws IOException, InterruptedException {
+        if (path.startsWith("refs/tags/")) {
+            String name = path.substring("refs/tags/".length());
+            for (JSONObject tag : tags) {
+                if (tag.getString("name").equals(name)) {
+                    JSONObject object = tag.has("tag_object")
+                            ? new JSONObject().put("type", "tag").put("sha", tag.getString("tag_object"))
+                            : new JSONObject().put("type", "commit").put("sha", tag.getJSONObject("commit").getString("sha"));
+                    send(exchange, 200, new JSONObject().put("ref", "refs/tags/" + name).put("object", object).toString(), null);
+                    return;
+                }
+            }
+        } else if (path.startsWith("tags/")) {
+            String sha = path.substring("tags/".length());
+            for (JSONObject tag : tags) {
+                if (sha.equals(tag.optString("tag_object"))) {
+                    send(exchange, 200, new JSONObject()
+                            .put("sha", sha)
+                            .put("tag", tag.getString("name"))
+                            .put("object", new JSONObject().put("type", "commit").put("sha", tag.getJSONObject("commit").getString("sha")))
+                            .toString(), null);
+                    return;
+                }
+            }
+        } else if (path.startsWith("commits/")) {
+            Integer index = commitIndex.get(path.substring("commits/".length()));
+            if (index != null) {
+                JSONObject commit = commits.get(index);
+                JSONObject inner = commit.getJSONObject("commit");
+                send(exchange, 200, new JSONObject()
+                        .put("sha", commit.getString("sha"))
+                        .put("author", inner.getJSONObject("author"))
+                        .put("committer", inner.getJSONObject("committer"))
+                        .put("message", inner.getString("message"))
+                        .toString(), null);
+                return;
+            }
+        }
+        send(exchange, 404, new JSONObject().put("message", "Not Found").toString(), null);
+    }
+
+    // Tag-Name, Branch oder SHA -> Position in der Historie (-1 = unbekannt)
+    private int resolve(String ref) {
+        if (ref.equals(DEFAULT_BRANCH) || ref.equals("HEAD")) {
+            return branchHead();
+        }
+        for (JSONObject tag : tags) {
+            if (tag.getString("name").equals(ref)) {
+                return commitIndex.get(tag.getJSONObject("commit").getString("sha"));
+            }
+        }
+        return commitIndex.getOrDefault(ref, -1);
+    }
+
+    /**
+     * Beantwortet die Abfrage von `GitCommitFromGraphQL`. Der Server ist kein allgemeiner GraphQL-Server:
+     * Er prüft nur, dass es die erwartete Abfrage ist, und wertet deren Variablen (Cursor und `@include`-Schalter)
+     * aus; die Antwort enthält genau die abgefragten Felder.
+     */
+    private void handleGraphQL(HttpExchange exchange) throws IOException, InterruptedException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 404, new JSONObject().put("message", "Not Found").toString(), null);
+            return;
+        }
+        JSONObject request;
+        try (InputStream in = exchange.getRequestBody()) {
+            request = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        String queryText = request.optString("query");
+        JSONObject variables = request.optJSONObject("variables", new JSONObject());
+        if (!queryText.contains("history(first: " + GRAPHQL_PAGE_SIZE) || !queryText.contains("refs(refPrefix: \"refs/tags/\"")) {
+            sendGraphQLError(exchange, "PARSE_ERROR", "Unsupported query for this stand-in");
+            return;
+        }
+        if (!owner.equals(variables.optString("owner")) || !repo.equals(variables.optString("name"))) {
+            send(exchange, 200, new JSONObject()
+                    .put("data", new JSONObject().put("repository", JSONObject.NULL))
+                    .put("errors", new JSONArray().put(new JSONObject()
+                            .put("type", "NOT_FOUND")
+                            .put("message", "Could not resolve to a Repository with the name '"
+                                    + variables.optString("owner") + "/" + variables.optString("name") + "'.")))
+                    .toString(), null);
+            return;
+        }
+
+        JSONObject repository = new JSONObject();
+        if (variables.optBoolean("withHistory")) {
+            int offset = decodeCursor(variables.opt("after"));
+            JSONArray nodes = new JSONArray();
+            int end = Math.min(commits.size(), offset + GRAPHQL_PAGE_SIZE);
+            for (int i = offset; i < end; i++) {
+                int index = commits.size() - 1 - i;
+                JSONObject inner = commits.get(index).getJSONObject("commit");
+                nodes.put(new JSONObject()
+                        .put("oid", commits.get(index).getString("sha"))
+                        .put("message", inner.getString("message"))
+                        .put("committedDate", inner.getJSONObject("committer").getString("date"))
+                        .put("associatedPullRequests", new JSONObject().put("nodes", new JSONArray()
+                                .put(new JSONObject().put("number", 1000 + index / 2)))));
+            }
+            JSONObject history = new JSONObject()
+                    .put("pageInfo", pageInfo(end < commits.size(), end))
+                    .put("nodes", nodes);
+            repository.put("defaultBranchRef", new JSONObject()
+                    .put("target", new JSONObject().put("history", history)));
+        }
+        if (variables.optBoolean("withTags")) {
+            int offset = decodeCursor(variables.opt("tagsAfter"));
+            JSONArray nodes = new JSONArray();
+            int end = Math.min(tags.size(), offset + GRAPHQL_PAGE_SIZE);
+            for (int i = offset; i < end; i++) {
+                JSONObject tag = tags.get(i);
+                String commitSha = tag.getJSONObject("commit").getString("sha");
+                JSONObject target = tag.has("tag_object")
+                        ? new JSONObject().put("__typename", "Tag").put("oid", tag.getString("tag_object"))
+                                .put("target", new JSONObject().put("oid", commitSha))
+                        : new JSONObject().put("__typename", "Commit").put("oid", commitSha);
+                nodes.put(new JSONObject().put("name", tag.getString("name")).put("target", target));
+            }
+            repository.put("refs", new JSONObject()
+                    .put("pageInfo", pageInfo(end < tags.size(), end))
+                    .put("nodes", nodes));
+        }
+        send(exchange, 200, new JSONObject().put("data", new JSONObject().put("repository", repository)).toString(), null);
+    }
+
+    private void sendGraphQLError(HttpExchange exchange, String type, String message)
+            throws IOException, InterruptedException {
+        send(exchange, 200, new JSONObject().put("errors", new JSONArray()
+                .put(new JSONObject().put("type", type).put("message", message))).toString(), null);
+    }
+
+    // Cursor wie bei GitHub undurchsichtig (Base64), hier über die Position in der Liste
+    private static JSONObject pageInfo(boolean hasNextPage, int end) {
+        String cursor = Base64.getEncoder().encodeToString(("cursor:" + end).getBytes(StandardCharsets.UTF_8));
+        return new JSONObject().put("hasNextPage", hasNextPage).put("endCursor", cursor);
+    }
+
+    private static int decodeCursor(Object cursor) {
+        if (!(cursor instanceof String value)) {
+            return 0;
+        }
+        String decoded = new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+        return Integer.parseInt(decoded.substring("cursor:".length()));
+    }
+
+    private String pageUrl(String path, Map<String, String> query, int page) {
+        StringBuilder url = new StringBuilder("http://127.0.0.1:" + server.getAddress().getPort() + path + "?");
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            if (!parameter.getKey().equals("page")) {
+                url.append(parameter.getKey()).append('=').append(parameter.getValue()).append('&');
+            }
+        }
+        return url.append("page=").append(page).toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                query.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+            }
+        }
+        return query;
+    }
+
+    private void send(HttpExchange exchange, int status, String json, String link)
+            throws IOException, InterruptedException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        if (status == 200) {
+            // Wie GitHub: starker ETag über den Inhalt; ein passendes If-None-Match ergibt 304 ohne Text,
+            // das nicht gegen das Rate-Limit zählt
+            String etag = "\"" + sha1(json) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                if (rateLimit > 0) {
+                    refundRateLimit(exchange);
+                }
+                if (link != null) {
+                    exchange.getResponseHeaders().set("Link", link);
+                }
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Date", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+        if (link != null) {
+            exchange.getResponseHeaders().set("Link", link);
+        }
+        if (bytesPerSecond > 0) {
+            Thread.sleep(body.length * 1000L / bytesPerSecond);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
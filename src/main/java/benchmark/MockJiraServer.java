@@ -0,0 +1,303 @@
+package benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class MockJiraServer implements Closeable {
+    private static final Instant FIRST_ISSUE = Instant.parse("2024-01-01T09:00:00Z");
+    private static final int DEFAULT_MAX_RESULTS = 50;
+    private static final String[] STATUSES = {"Open", "In Progress", "Review", "Done"};
+    private static final String[] TYPES = {"Story", "Bug", "Task"};
+    private static final String[] PRIORITIES = {"Low", "Medium", "High"};
+    private static final Pattern UPDATED_SINCE = Pattern.compile("\\s*AND\\s+updated\\s*>=?\\s*\"([^\"]+)\"\\s*", Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm").withZone(ZoneOffset.UTC);
+
+    private final String project;
+    private final int issueCount;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong searchRequests = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long latencyMillis;
+    private volatile int maxResultsCap = 100;
+    // Issue-Nummer -> Anzahl der Bearbeitungen und Zeitpunkt der letzten (siehe `updateIssue`)
+    private final Map<Integer, Integer> revisions = new ConcurrentHashMap<>();
+    private final Map<Integer, Instant> updatedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Startet einen lokalen Stand-in für die Jira-REST-API mit `issueCount` synthetischen Issues
+     * (`{project}-1` bis `{project}-{issueCount}`), jedes mit zwei bis vier Kommentaren.
+     *
+     * Schritte:
+     * Bedient `/rest/api/latest/issue/{key}` (404 für unbekannte Schlüssel) und `/rest/api/latest/search`
+     * mit JQL der Form `key in ("A-1","A-2",...)`, `startAt` und `maxResults` (höchstens `maxResultsCap` pro Seite).
+     * Unbekannte Schlüssel in der JQL ergeben wie bei Jira 400, mit `validateQuery=warn` nur eine Warnung.
+     * Ein angehängtes `AND updated >= "yyyy/MM/dd HH:mm"` (UTC) filtert nach dem Änderungszeitpunkt;
+     * `fields=updated` liefert nur dieses Feld.
+     *
+     * @param project Der Projektschlüssel (z. B. "NWTDL").
+     * @param issueCount Die Anzahl der Issues.
+     * @throws IOException Wenn der Server nicht gestartet werden kann.
+     */
+    public MockJiraServer(String project, int issueCount) throws IOException {
+        this.project = project;
+        this.issueCount = issueCount;
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/rest/api/latest/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return Die Basis-URL, passend für `JiraIssueFetcher` (endet auf "/").
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Simuliert die Netzwerk-Latenz eines entfernten Servers pro Anfrage.
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @param maxResultsCap Wie viele Issues eine Suche höchstens pro Seite liefert (bei Jira Cloud 100).
+     */
+    public void setMaxResultsCap(int maxResultsCap) {
+        this.maxResultsCap = maxResultsCap;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return Die Anzahl der Anfragen an `/search`.
+     */
+    public long getSearchRequestCount() {
+        return searchRequests.get();
+    }
+
+    /**
+     * Bearbeitet ein Issue: neuer Titel, ein zusätzlicher Kommentar und `updated` auf jetzt.
+     *
+     * @param number Die Nummer des Issues (z. B. 12 für "NWTDL-12").
+     */
+    public void updateIssue(int number) {
+        revisions.merge(number, 1, Integer::sum);
+        updatedAt.put(number, Instant.now());
+    }
+
+    /**
+     * @return Wie viele Anfragen bisher höchstens gleichzeitig bearbeitet wurden.
+     */
+    public int getMaxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath();
+            Map<String, String> query = parseQuery(uri.getRawQuery());
+            if (path.startsWith("/rest/api/latest/issue/")) {
+                int number = number(path.substring("/rest/api/latest/issue/".length()));
+                if (number < 0) {
+                    send(exchange, 404, new JSONObject().put("errorMessages", new JSONArray()
+                            .put("Issue does not exist or you do not have permission to see it.")).put("errors", new JSONObject()));
+                    return;
+                }
+                send(exchange, 200, issue(number));
+            } else if (path.equals("/rest/api/latest/search")) {
+                searchRequests.incrementAndGet();
+                handleSearch(exchange, query);
+            } else {
+                send(exchange, 404, new JSONObject().put("errorMessages", new JSONArray().put("Not found")));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String jql = query.getOrDefault("jql", "");
+        int open = jql.indexOf("key in (");
+        int close = open >= 0 ? jql.indexOf(')', open) : -1;
+        Instant updatedSince = null;
+        if (close >= 0 && !jql.substring(close + 1).isBlank()) {
+            Matcher matcher = UPDATED_SINCE.matcher(jql.substring(close + 1));
+            if (matcher.matches()) {
+                updatedSince = JQL_DATE.parse(matcher.group(1), Instant::from);
+            } else {
+                close = -1;
+            }
+        }
+        if (open < 0 || close < 0) {
+            send(exchange, 400, new JSONObject().put("errorMessages", new JSONArray().put("Unsupported JQL for this stand-in: " + jql)));
+            return;
+        }
+        List<Integer> numbers = new ArrayList<>();
+        JSONArray warnings = new JSONArray();
+        for (String key : jql.substring(open + "key in (".length(), close).split(",")) {
+            String trimmed = key.trim().replace("\"", "");
+            int number = number(trimmed);
+            if (number < 0) {
+                String message = "An issue with key '" + trimmed + "' does not exist for field 'key'.";
+                if (!"warn".equals(query.get("validateQuery"))) {
+                    send(exchange, 400, new JSONObject().put("errorMessages", new JSONArray().put(message)));
+                    return;
+                }
+                warnings.put(message);
+            } else if (!numbers.contains(number) && (updatedSince == null || !updated(number).isBefore(updatedSince))) {
+                numbers.add(number);
+            }
+        }
+        // Wie Jira ohne ORDER BY: neueste zuerst
+        numbers.sort((a, b) -> Integer.compare(b, a));
+
+        int startAt = Integer.parseInt(query.getOrDefault("startAt", "0"));
+        int maxResults = Math.min(maxResultsCap, Integer.parseInt(query.getOrDefault("maxResults", String.valueOf(DEFAULT_MAX_RESULTS))));
+        JSONArray issues = new JSONArray();
+        boolean onlyUpdated = "updated".equals(query.get("fields"));
+        for (int i = startAt; i < Math.min(numbers.size(), startAt + maxResults); i++) {
+            JSONObject issue = issue(numbers.get(i));
+            if (onlyUpdated) {
+                JSONObject fields = issue.getJSONObject("fields");
+                issue.put("fields", new JSONObject().put("updated", fields.get("updated")));
+            }
+            issues.put(issue);
+        }
+        JSONObject body = new JSONObject()
+                .put("startAt", startAt)
+                .put("maxResults", maxResults)
+                .put("total", numbers.size())
+                .put("issues", issues);
+        if (!warnings.isEmpty()) {
+            body.put("warningMessages", warnings);
+        }
+        send(exchange, 200, body);
+    }
+
+    // "NWTDL-12" -> 12, -1 für unbekannte Schlüssel
+    private int number(String key) {
+        String prefix = project + "-";
+        if (!key.toUpperCase(Locale.ROOT).startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            int number = Integer.parseInt(key.substring(prefix.length()));
+            return number >= 1 && number <= issueCount ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Instant updated(int number) {
+        return updatedAt.getOrDefault(number, FIRST_ISSUE.plusSeconds(number * 3600L + 86_400));
+    }
+
+    private JSONObject issue(int number) {
+        String created = FIRST_ISSUE.plusSeconds(number * 3600L).toString().replace("Z", ".000+0000");
+        String updated = timestamp(updated(number));
+        int revision = revisions.getOrDefault(number, 0);
+        JSONArray comments = new JSONArray();
+        for (int c = 0; c < 2 + number % 3 + revision; c++) {
+            comments.put(new JSONObject()
+                    .put("id", String.valueOf(number * 10 + c))
+                    .put("author", new JSONObject().put("displayName", "Reviewer " + (c % 4)))
+                    .put("body", "Comment " + c + " on " + project + "-" + number + ": please check the description.")
+                    .put("created", created)
+                    .put("updated", updated));
+        }
+        JSONObject fields = new JSONObject()
+                .put("summary", "Synthetic issue " + number + (revision > 0 ? " (rev " + revision + ")" : ""))
+                .put("priority", new JSONObject().put("name", PRIORITIES[number % PRIORITIES.length]))
+                .put("issuetype", new JSONObject().put("name", TYPES[number % TYPES.length]))
+                .put("status", new JSONObject().put("name", STATUSES[number % STATUSES.length]))
+                .put("created", created)
+                .put("updated", updated)
+                .put("assignee", new JSONObject().put("displayName", "Developer " + (number % 7)))
+                .put("reporter", new JSONObject().put("displayName", "Product Owner " + (number % 3)))
+                .put("comment", new JSONObject()
+                        .put("comments", comments)
+                        .put("startAt", 0)
+                        .put("maxResults", comments.length())
+                        .put("total", comments.length()));
+        return new JSONObject()
+                .put("id", String.valueOf(10_000 + number))
+                .put("key", project + "-" + number)
+                .put("fields", fields);
+    }
+
+    // Wie Jira: Millisekunden und Offset ohne Doppelpunkt, z. B. "2024-01-02T10:00:00.000+0000"
+    private static String timestamp(Instant instant) {
+        return DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ").withZone(ZoneOffset.UTC).format(instant);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                query.put(parameter.substring(0, equals), URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import git.GitCommit;
+import git.TicketIndex;
+
+public class TicketIndexBenchmark {
+    private static final String PROJECT = "NWTDL";
+
+    /**
+     * Vergleicht die Ticket-Filterung über `String.contains` pro Ticket (bisheriger Weg, O(Tickets × Commits))
+     * mit dem `TicketIndex` (ein Durchlauf über alle Nachrichten, danach Nachschlagen pro Ticket).
+     *
+     * Aufruf: `TicketIndexBenchmark [commits] [tickets]`
+     *
+     * Schritte:
+     * Erzeugt synthetische Commits; jede dritte Nachricht schreibt die Ticketnummer ohne Klammern (`NWTDL-571: ...`),
+     * manche erwähnen ein zweites Ticket im Text.
+     * Misst beide Varianten für dieselbe Ticketliste und gibt Dauer und Anzahl der Treffer aus.
+     * Die bisherige Variante findet nur die Schreibweise in Klammern und daher weniger Treffer.
+     */
+    public static void main(String[] args) {
+        int commitCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int ticketCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        List<GitCommit> commits = new ArrayList<>(commitCount);
+        for (int i = 0; i < commitCount; i++) {
+            String ticket = PROJECT + "-" + (i % (ticketCount * 2));
+            String subject = i % 3 == 0 ? ticket + ": fix change " + i : "[" + ticket + "] feat: change " + i;
+            String body = i % 10 == 0 ? "\n\nFollow-up of " + PROJECT + "-" + (i % 97) + ", see UTF-8 handling." : "\n\nDetails of change " + i + ".";
+            commits.add(new GitCommit(Integer.toHexString(i), subject + body));
+        }
+        List<String> tickets = new ArrayList<>(ticketCount);
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.add(PROJECT + "-" + i);
+        }
+
+        long start = System.nanoTime();
+        int containsMatches = 0;
+        for (String ticket : tickets) {
+            String formattedTicket = "[" + ticket + "]";
+            for (GitCommit commit : commits) {
+                if (commit.getMessage().contains(formattedTicket)) {
+                    containsMatches++;
+                }
+            }
+        }
+        double containsSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        TicketIndex index = TicketIndex.of(commits);
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+        int indexMatches = 0;
+        for (String ticket : tickets) {
+            indexMatches += index.get(ticket).size();
+        }
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d commits, %d tickets%n", commitCount, ticketCount);
+        System.out.printf("%-26s %8.3f s %7d matches%n", "String.contains per ticket", containsSeconds, containsMatches);
+        System.out.printf("%-26s %8.3f s %7d matches (index build %.3f s, %d distinct keys)%n", "TicketIndex",
+                indexSeconds, indexMatches, buildSeconds, index.getTickets().size());
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import git.GitHubHttpClient;
+import git.GitHubResponse;
+import git.GitHubWebhookListener;
+
+public class WebhookReplay {
+
+    /**
+     * Spielt aufgezeichnete Webhooks (siehe `GitHubWebhookListener.setRecordDirectory`) erneut gegen einen
+     * Listener ab, z. B. einen lokal gestarteten, um ohne GitHub zu testen.
+     *
+     * Aufruf: `WebhookReplay <listener-url> <secret> <verzeichnis>`
+     *
+     * Schritte:
+     * Liest alle Dateien `{nr}-{event}-{delivery}.json` des Verzeichnisses in der Reihenfolge ihrer Nummer.
+     * Signiert jeden Text wie GitHub (`X-Hub-Signature-256`) und sendet ihn mit `X-GitHub-Event` und
+     * `X-GitHub-Delivery` als POST.
+     * Gibt den Antwortstatus pro Datei aus.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: WebhookReplay <listener-url> <secret> <directory>");
+            System.exit(2);
+        }
+        try (GitHubHttpClient client = new GitHubHttpClient(GitHubHttpClient.DEFAULT_MAX_PER_ROUTE,
+                GitHubHttpClient.DEFAULT_MAX_TOTAL, GitHubHttpClient.DEFAULT_TIMEOUT)) {
+            int sent = replay(client, args[0], args[1], Paths.get(args[2]));
+            System.out.println("Replayed " + sent + " webhooks.");
+        }
+    }
+
+    /**
+     * @param client Der HTTP-Client.
+     * @param url Die URL des Listeners.
+     * @param secret Das Webhook-Secret, mit dem signiert wird.
+     * @param directory Das Verzeichnis mit den Aufzeichnungen.
+     * @return Die Anzahl der gesendeten Webhooks.
+     * @throws IOException Wenn eine Datei nicht gelesen oder ein Webhook nicht gesendet werden kann.
+     */
+    public static int replay(GitHubHttpClient client, String url, String secret, Path directory) throws IOException {
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(directory)) {
+            recordings = files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().toList();
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        for (Path recording : recordings) {
+            String name = recording.getFileName().toString();
+            // {nr}-{event}-{delivery}.json; die Zustellungs-ID (GUID) enthält selbst Bindestriche
+            String[] parts = name.substring(0, name.length() - ".json".length()).split("-", 3);
+            if (parts.length < 3) {
+                throw new IOException("Unexpected recording name: " + name);
+            }
+            byte[] body = Files.readAllBytes(recording);
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put("X-GitHub-Event", parts[1]);
+            headers.put("X-GitHub-Delivery", parts[2]);
+            headers.put("X-Hub-Signature-256", GitHubWebhookListener.sign(key, body));
+            headers.put("User-Agent", "GitHub-Hookshot/replay");
+            GitHubResponse response = client.post(url, headers, body);
+            System.out.printf("%-60s -> %d%n", name, response.getCode());
+        }
+        return recordings.size();
+    }
+}
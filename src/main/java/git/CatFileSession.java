@@ -0,0 +1,131 @@
+package git;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CatFileSession implements Closeable {
+    private final Process process;
+    private final OutputStream requests;
+    private final InputStream responses;
+    private long lastUsed;
+
+    /**
+     * Startet einen langlebigen `git cat-file --batch`-Prozess im angegebenen Repository.
+     *
+     * @param runner Der Runner für das Arbeitsverzeichnis des Repositorys.
+     * @throws IOException Wenn der Prozess nicht gestartet werden kann.
+     */
+    public CatFileSession(ProcessRunner runner) throws IOException {
+        this.process = runner.startInteractive(List.of("git", "cat-file", "--batch"));
+        this.requests = new BufferedOutputStream(process.getOutputStream());
+        this.responses = new BufferedInputStream(process.getInputStream());
+        this.lastUsed = System.nanoTime();
+    }
+
+    /**
+     * Liest ein einzelnes Objekt über die laufende Session.
+     *
+     * @param revision Eine Revision oder Objekt-ID (z. B. "HEAD", "v1.0.0^{commit}").
+     * @return Das Objekt oder `null`, wenn Git es nicht findet.
+     * @throws IOException Wenn die Session abgebrochen ist.
+     */
+    public GitObject read(String revision) throws IOException {
+        return readAll(List.of(revision)).get(0);
+    }
+
+    /**
+     * Liest viele Objekte in einem Durchgang (Pipelining).
+     *
+     * Schritte:
+     * Schreibt alle Anfragen in einem eigenen (virtuellen) Thread in die Standardeingabe von `cat-file`.
+     * Liest gleichzeitig die Antworten ("<id> <typ> <größe>" + Inhalt) in Anfragereihenfolge.
+     * Durch das parallele Schreiben und Lesen kann keine der beiden Pipes volllaufen und den Prozess blockieren.
+     *
+     * @param revisions Die angefragten Revisionen oder Objekt-IDs.
+     * @return Die Objekte in Anfragereihenfolge; `null` für Objekte, die nicht existieren.
+     * @throws IOException Wenn die Session abgebrochen ist oder eine Antwort nicht gelesen werden kann.
+     */
+    public synchronized List<GitObject> readAll(List<String> revisions) throws IOException {
+        AtomicReference<IOException> writeError = new AtomicReference<>();
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try {
+                for (String revision : revisions) {
+                    requests.write((revision + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+                requests.flush();
+            } catch (IOException e) {
+                writeError.set(e);
+            }
+        });
+
+        List<GitObject> objects = new ArrayList<>(revisions.size());
+        try {
+            for (int i = 0; i < revisions.size(); i++) {
+                String header = readLine();
+                if (header == null) {
+                    throw new IOException("git cat-file session terminated unexpectedly");
+                }
+                String[] parts = header.split(" ");
+                if (parts.length != 3) {
+                    // "<rev> missing" bzw. "<rev> ambiguous"
+                    objects.add(null);
+                    continue;
+                }
+                int size = Integer.parseInt(parts[2]);
+                byte[] data = responses.readNBytes(size);
+                if (data.length != size || responses.read() != '\n') {
+                    throw new IOException("Truncated response from git cat-file for " + parts[0]);
+                }
+                objects.add(new GitObject(GitObject.typeFromName(parts[1]), data));
+            }
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("git cat-file request was interrupted", e);
+        }
+        if (writeError.get() != null) {
+            throw writeError.get();
+        }
+        lastUsed = System.nanoTime();
+        return objects;
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = responses.read()) != -1) {
+            if (b == '\n') {
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    @Override
+    public void close() {
+        try {
+            requests.close();
+        } catch (IOException e) {
+            // Prozess ist bereits beendet
+        }
+        process.destroy();
+    }
+}
@@ -0,0 +1,34 @@
+package git;
+
+public class CommitComparisonPage {
+    private final int totalCommits;
+    private final String status;
+    private final String mergeBaseSha;
+
+    public CommitComparisonPage(int totalCommits, String status, String mergeBaseSha) {
+        this.totalCommits = totalCommits;
+        this.status = status;
+        this.mergeBaseSha = mergeBaseSha;
+    }
+
+    /**
+     * @return Die Gesamtzahl der Commits im Vergleich (`total_commits`) oder -1, wenn das Feld fehlt.
+     */
+    public int getTotalCommits() {
+        return totalCommits;
+    }
+
+    /**
+     * @return "ahead", "behind", "identical" oder "diverged"; `null`, wenn das Feld fehlt.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Die SHA von `merge_base_commit`; bei "behind" ist das der Stand von `head` selbst.
+     */
+    public String getMergeBaseSha() {
+        return mergeBaseSha;
+    }
+}
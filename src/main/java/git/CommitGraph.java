@@ -0,0 +1,243 @@
+package git;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CommitGraph {
+    private static final int SIGNATURE = 0x43475048; // "CGPH"
+    private static final int CHUNK_OID_FANOUT = 0x4f494446; // "OIDF"
+    private static final int CHUNK_OID_LOOKUP = 0x4f49444c; // "OIDL"
+    private static final int CHUNK_COMMIT_DATA = 0x43444154; // "CDAT"
+    private static final int CHUNK_EXTRA_EDGES = 0x45444745; // "EDGE"
+    private static final int PARENT_NONE = 0x70000000;
+    private static final int EXTRA_EDGES_NEEDED = 0x80000000;
+    private static final int LAST_EDGE = 0x80000000;
+    private static final int COMMIT_DATA_SIZE = 36; // Tree-ID (20) + 2 Eltern (8) + Generation/Zeit (8)
+
+    // Bei Split-Graphen: Basis-Layer zuerst; Positionen sind über alle Layer fortlaufend
+    private final List<Layer> layers;
+    private final int size;
+
+    private CommitGraph(List<Layer> layers) {
+        this.layers = layers;
+        Layer top = layers.get(layers.size() - 1);
+        this.size = top.base + top.count;
+    }
+
+    /**
+     * Öffnet den Commit-Graph eines Repositorys, falls vorhanden.
+     *
+     * Schritte:
+     * Prüft zuerst `objects/info/commit-graph` (einzelne Datei).
+     * Andernfalls wird die Split-Kette `objects/info/commit-graphs/commit-graph-chain` gelesen
+     * und jede `graph-<hash>.graph`-Datei als Layer geladen (Basis zuerst).
+     * Fehlt der Graph oder ist er nicht lesbar, wird `null` zurückgegeben, damit der Aufrufer
+     * auf das Lesen der Commit-Objekte zurückfällt.
+     *
+     * @param objectsDirectory Das `objects`-Verzeichnis des Repositorys.
+     * @return Der geladene Commit-Graph oder `null`, wenn keiner verfügbar ist.
+     */
+    public static CommitGraph open(Path objectsDirectory) {
+        Path info = objectsDirectory.resolve("info");
+        try {
+            Path single = info.resolve("commit-graph");
+            if (Files.isRegularFile(single)) {
+                return new CommitGraph(List.of(new Layer(single, 0)));
+            }
+
+            Path chainDirectory = info.resolve("commit-graphs");
+            Path chain = chainDirectory.resolve("commit-graph-chain");
+            if (Files.isRegularFile(chain)) {
+                List<Layer> layers = new ArrayList<>();
+                int base = 0;
+                for (String hash : Files.readAllLines(chain, StandardCharsets.US_ASCII)) {
+                    if (hash.trim().isEmpty()) {
+                        continue;
+                    }
+                    Layer layer = new Layer(chainDirectory.resolve("graph-" + hash.trim() + ".graph"), base);
+                    layers.add(layer);
+                    base += layer.count;
+                }
+                if (!layers.isEmpty()) {
+                    return new CommitGraph(Collections.unmodifiableList(layers));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Commit-graph not usable, reading commit objects instead: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Sucht die globale Position eines Commits im Graph (oberster Layer zuerst).
+     *
+     * @param id Die binäre Commit-ID.
+     * @return Die Position oder -1, wenn der Commit nicht im Graph enthalten ist.
+     */
+    public int findPosition(byte[] id) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Layer layer = layers.get(i);
+            int local = layer.find(id);
+            if (local >= 0) {
+                return layer.base + local;
+            }
+        }
+        return -1;
+    }
+
+    public String idAt(int position) {
+        Layer layer = layerFor(position);
+        byte[] id = new byte[20];
+        layer.buffer.get(layer.oidLookup + (position - layer.base) * 20, id);
+        return GitObject.toHex(id);
+    }
+
+    /**
+     * Liefert die Generationsnummer (topologisches Level) eines Commits.
+     * Jeder Commit hat eine höhere Generation als alle seine Eltern.
+     */
+    public int generation(int position) {
+        Layer layer = layerFor(position);
+        return layer.buffer.getInt(layer.commitData(position) + 28) >>> 2;
+    }
+
+    public long commitTime(int position) {
+        Layer layer = layerFor(position);
+        int offset = layer.commitData(position);
+        long high = layer.buffer.getInt(offset + 28) & 0x3L;
+        long low = layer.buffer.getInt(offset + 32) & 0xffffffffL;
+        return (high << 32) | low;
+    }
+
+    /**
+     * Liefert die Eltern eines Commits als globale Positionen (inkl. Octopus-Merges über die EDGE-Tabelle).
+     *
+     * @param position Die globale Position des Commits.
+     * @return Die Positionen der Eltern in Reihenfolge.
+     */
+    public List<Integer> parents(int position) {
+        Layer layer = layerFor(position);
+        int offset = layer.commitData(position);
+        int first = layer.buffer.getInt(offset + 20);
+        int second = layer.buffer.getInt(offset + 24);
+
+        List<Integer> parents = new ArrayList<>(2);
+        if (first != PARENT_NONE) {
+            parents.add(first);
+        }
+        if (second == PARENT_NONE) {
+            return parents;
+        }
+        if ((second & EXTRA_EDGES_NEEDED) == 0) {
+            parents.add(second);
+            return parents;
+        }
+
+        int edge = layer.extraEdges + (second & 0x7fffffff) * 4;
+        while (true) {
+            int value = layer.buffer.getInt(edge);
+            parents.add(value & 0x7fffffff);
+            if ((value & LAST_EDGE) != 0) {
+                break;
+            }
+            edge += 4;
+        }
+        return parents;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Layer layerFor(int position) {
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Layer layer = layers.get(i);
+            if (position >= layer.base) {
+                return layer;
+            }
+        }
+        throw new IllegalArgumentException("Invalid commit-graph position: " + position);
+    }
+
+    private static class Layer {
+        private final MappedByteBuffer buffer;
+        private final int base;
+        private final int count;
+        private int oidFanout = -1;
+        private int oidLookup = -1;
+        private int commitData = -1;
+        private int extraEdges = -1;
+
+        private Layer(Path path, int base) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            this.base = base;
+
+            if (buffer.getInt(0) != SIGNATURE || buffer.get(4) != 1) {
+                throw new IOException("Unsupported commit-graph format: " + path);
+            }
+            if (buffer.get(5) != 1) {
+                throw new IOException("Commit-graph uses an unsupported hash: " + path);
+            }
+
+            int chunkCount = buffer.get(6) & 0xff;
+            for (int i = 0; i < chunkCount; i++) {
+                int entry = 8 + i * 12;
+                int chunkId = buffer.getInt(entry);
+                int chunkOffset = (int) buffer.getLong(entry + 4);
+                if (chunkId == CHUNK_OID_FANOUT) oidFanout = chunkOffset;
+                else if (chunkId == CHUNK_OID_LOOKUP) oidLookup = chunkOffset;
+                else if (chunkId == CHUNK_COMMIT_DATA) commitData = chunkOffset;
+                else if (chunkId == CHUNK_EXTRA_EDGES) extraEdges = chunkOffset;
+            }
+            if (oidFanout < 0 || oidLookup < 0 || commitData < 0) {
+                throw new IOException("Commit-graph is missing required chunks: " + path);
+            }
+            this.count = buffer.getInt(oidFanout + 255 * 4);
+        }
+
+        private int find(byte[] id) {
+            int first = id[0] & 0xff;
+            int low = first == 0 ? 0 : buffer.getInt(oidFanout + (first - 1) * 4);
+            int high = buffer.getInt(oidFanout + first * 4);
+            ByteBuffer view = buffer.duplicate();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(view, oidLookup + mid * 20, id);
+                if (cmp == 0) {
+                    return mid;
+                } else if (cmp < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return -1;
+        }
+
+        private int commitData(int position) {
+            return commitData + (position - base) * COMMIT_DATA_SIZE;
+        }
+
+        private static int compare(ByteBuffer view, int offset, byte[] id) {
+            for (int i = 0; i < 20; i++) {
+                int a = view.get(offset + i) & 0xff;
+                int b = id[i] & 0xff;
+                if (a != b) {
+                    return a - b;
+                }
+            }
+            return 0;
+        }
+    }
+}
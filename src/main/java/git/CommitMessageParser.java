@@ -110,6 +110,21 @@ public class CommitMessageParser {
                 loweString.matches("^\\s*$");
     }
 
+    /**
+     * Klassifiziert einen einzelnen Commit anhand seiner Betreffzeile; geeignet als Consumer
+     * für gestreamte Commits mit vollständiger Nachricht.
+     *
+     * @param commit Der Commit (Nachricht ggf. mit Body)
+     * @return Der LogEntry oder `null`, wenn der Commit ignoriert werden soll
+     */
+    public LogEntry parseCommit(GitCommit commit){
+        String subject = commit.getSubject();
+        if (shouldIgnoreCommit(subject)){
+            return null;
+        }
+        return parseCommitMessage(subject);
+    }
+
     /**
      * Parst eine Liste von Commits und kategorisiert sie in logische Einträge, die nicht ignoriert werden sollen.
      *
@@ -0,0 +1,181 @@
+package git;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CommitObject {
+    // Entspricht dem Format von `git log --format=%aI` (z. B. 2025-08-01T10:15:30+02:00)
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx");
+
+    private final String id;
+    private final String tree;
+    private final List<String> parents;
+    private final String author;
+    private final long authorTime;
+    private final String authorZone;
+    private final long commitTime;
+    private final String message;
+
+    public CommitObject(String id, String tree, List<String> parents, String author,
+                        long authorTime, String authorZone, long commitTime, String message) {
+        this.id = id;
+        this.tree = tree;
+        this.parents = parents;
+        this.author = author;
+        this.authorTime = authorTime;
+        this.authorZone = authorZone;
+        this.commitTime = commitTime;
+        this.message = message;
+    }
+
+    /**
+     * Parst den Rohinhalt eines Commit-Objekts.
+     *
+     * Schritte:
+     * Liest die Header-Zeilen (`tree`, `parent`, `author`, `committer`) bis zur ersten Leerzeile.
+     * Überspringt Fortsetzungszeilen mehrzeiliger Header (z. B. `gpgsig`).
+     * Übernimmt alles nach der Leerzeile als Commit-Nachricht.
+     *
+     * @param id Die ID des Commits.
+     * @param object Das gelesene Objekt (muss vom Typ Commit sein).
+     * @return Der geparste Commit.
+     * @throws IllegalArgumentException Wenn das Objekt kein Commit ist.
+     */
+    public static CommitObject parse(String id, GitObject object) {
+        if (object.getType() != GitObject.COMMIT) {
+            throw new IllegalArgumentException("Object " + id + " is not a commit.");
+        }
+
+        String text = object.getText();
+        String tree = null;
+        List<String> parents = new ArrayList<>(2);
+        String author = "";
+        long authorTime = 0;
+        String authorZone = "+0000";
+        long commitTime = 0;
+
+        int pos = 0;
+        while (pos < text.length()) {
+            int end = text.indexOf('\n', pos);
+            if (end < 0) {
+                end = text.length();
+            }
+            String line = text.substring(pos, end);
+            pos = end + 1;
+
+            if (line.isEmpty()) {
+                break;
+            }
+            if (line.startsWith("tree ")) {
+                tree = line.substring(5);
+            } else if (line.startsWith("parent ")) {
+                parents.add(line.substring(7));
+            } else if (line.startsWith("author ")) {
+                author = identityName(line.substring(7));
+                authorTime = identityTime(line.substring(7));
+                authorZone = identityZone(line.substring(7));
+            } else if (line.startsWith("committer ")) {
+                commitTime = identityTime(line.substring(10));
+            }
+        }
+
+        String message = pos < text.length() ? text.substring(pos) : "";
+        return new CommitObject(id, tree, Collections.unmodifiableList(parents), author, authorTime, authorZone, commitTime, message);
+    }
+
+    // "Name <mail> 1700000000 +0100" -> "Name <mail>"
+    private static String identityName(String identity) {
+        int close = identity.lastIndexOf('>');
+        return close >= 0 ? identity.substring(0, close + 1) : identity;
+    }
+
+    // "Name <mail> 1700000000 +0100" -> 1700000000
+    private static long identityTime(String identity) {
+        int close = identity.lastIndexOf('>');
+        String[] parts = identity.substring(close + 1).trim().split(" ");
+        try {
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // "Name <mail> 1700000000 +0100" -> "+0100"
+    private static String identityZone(String identity) {
+        int close = identity.lastIndexOf('>');
+        String[] parts = identity.substring(close + 1).trim().split(" ");
+        return parts.length > 1 ? parts[1] : "+0000";
+    }
+
+    /**
+     * Liefert das Autorendatum im ISO-8601-Format mit der Zeitzone des Autors (wie `%aI`).
+     *
+     * @return Das Autorendatum, z. B. "2025-08-01T10:15:30+02:00".
+     */
+    public String getAuthorDate() {
+        ZoneOffset offset;
+        try {
+            offset = ZoneOffset.of(authorZone);
+        } catch (RuntimeException e) {
+            offset = ZoneOffset.UTC;
+        }
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(authorTime), offset).format(ISO_DATE);
+    }
+
+    /**
+     * Liefert die Betreffzeile der Nachricht, wie `git log --oneline` sie anzeigt
+     * (erster Absatz, Zeilen mit Leerzeichen verbunden).
+     *
+     * @return Die Betreffzeile des Commits.
+     */
+    public String getSubject() {
+        StringBuilder subject = new StringBuilder();
+        for (String line : message.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                if (subject.length() > 0) break;
+                continue;
+            }
+            if (subject.length() > 0) subject.append(' ');
+            subject.append(trimmed);
+        }
+        return subject.toString();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTree() {
+        return tree;
+    }
+
+    public List<String> getParents() {
+        return parents;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public long getAuthorTime() {
+        return authorTime;
+    }
+
+    public String getAuthorZone() {
+        return authorZone;
+    }
+
+    public long getCommitTime() {
+        return commitTime;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,331 @@
+package git;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CommitPageParser {
+    // Thread-sicher und teuer in der Erzeugung (Symboltabellen für Feldnamen), daher einmal pro Parser
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Liest eine Seite der GitHub-Commit-Liste (`/repos/{owner}/{repo}/commits`) als Token-Strom.
+     *
+     * Schritte:
+     * Erwartet ein JSON-Array aus Commit-Objekten.
+     * Liest pro Commit nur `sha` und `commit.message`; alle anderen Felder (Autor, Committer, Dateien,
+     * Eltern, URLs, Verifikation ...) werden mit `skipChildren` übersprungen, ohne Objekte anzulegen.
+     * Übergibt jeden Commit an `commitConsumer`, sobald sein Objekt geschlossen ist.
+     *
+     * @param body Der (entpackte) Antworttext.
+     * @param commitConsumer Erhält die Commits in der Reihenfolge der Seite.
+     * @return Die Anzahl der gelesenen Commits.
+     * @throws IOException Wenn der Text kein gültiges Commit-Array ist.
+     */
+    public int parse(byte[] body, Consumer<GitCommit> commitConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return parse(parser, commitConsumer, null);
+        }
+    }
+
+    /**
+     * Wie {@link #parse(byte[], Consumer)}, liest aber alles, was ein `CommitObject` braucht
+     * (Tree, Eltern, Autor mit Datum, Commit-Datum, Nachricht), z. B. für den `CommitStore`.
+     *
+     * @param body Der (entpackte) Antworttext.
+     * @param objectConsumer Erhält die Commits in der Reihenfolge der Seite.
+     * @return Die Anzahl der gelesenen Commits.
+     * @throws IOException Wenn der Text kein gültiges Commit-Array ist.
+     */
+    public int parseObjects(byte[] body, Consumer<CommitObject> objectConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return parse(parser, null, objectConsumer);
+        }
+    }
+
+    /**
+     * Wie {@link #parse(byte[], Consumer)}, liest aber direkt aus einem Strom: Commits werden übergeben,
+     * während der Rest der Seite noch gelesen wird.
+     *
+     * @param in Der Antworttext als Strom (wird nicht geschlossen).
+     * @param commitConsumer Erhält die Commits in der Reihenfolge der Seite.
+     * @return Die Anzahl der gelesenen Commits.
+     * @throws IOException Wenn der Strom nicht gelesen werden kann oder kein gültiges Commit-Array enthält.
+     */
+    public int parse(InputStream in, Consumer<GitCommit> commitConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return parse(parser, commitConsumer, null);
+        }
+    }
+
+    /**
+     * @param body Der (entpackte) Antworttext.
+     * @return Die Commits der Seite als Liste.
+     * @throws IOException Wenn der Text kein gültiges Commit-Array ist.
+     */
+    public List<GitCommit> parse(byte[] body) throws IOException {
+        List<GitCommit> commits = new ArrayList<>();
+        parse(body, commits::add);
+        return commits;
+    }
+
+    /**
+     * Liest eine Seite eines Vergleichs (`/repos/{owner}/{repo}/compare/{base}...{head}`).
+     *
+     * Schritte:
+     * Erwartet ein JSON-Objekt; liest daraus `total_commits` und das Array `commits` (wie bei `parse`).
+     * Die Dateiliste (`files`, auf der ersten Seite oft der größte Teil der Antwort) und alle übrigen Felder
+     * werden übersprungen.
+     *
+     * @param body Der (entpackte) Antworttext.
+     * @param commitConsumer Erhält die Commits der Seite (beim Vergleich älteste zuerst).
+     * @return Die Gesamtzahl der Commits im Vergleich (`total_commits`) oder -1, wenn das Feld fehlt.
+     * @throws IOException Wenn der Text kein gültiger Vergleich ist.
+     */
+    public int parseComparison(byte[] body, Consumer<GitCommit> commitConsumer) throws IOException {
+        return parseComparison(body, commitConsumer, null).getTotalCommits();
+    }
+
+    /**
+     * Wie {@link #parseComparison(byte[], Consumer)}, aber mit vollständigen `CommitObject`s.
+     */
+    public int parseComparisonObjects(byte[] body, Consumer<CommitObject> objectConsumer) throws IOException {
+        return parseComparison(body, null, objectConsumer).getTotalCommits();
+    }
+
+    /**
+     * Wie {@link #parseComparisonObjects(byte[], Consumer)}, liefert aber zusätzlich `status` und die SHA von
+     * `merge_base_commit`, z. B. um zu erkennen, dass der Branch auf einen älteren Commit zurückgesetzt wurde.
+     *
+     * @param body Der (entpackte) Antworttext.
+     * @param objectConsumer Erhält die Commits der Seite (älteste zuerst).
+     * @return Gesamtzahl, Status und Merge-Base des Vergleichs.
+     * @throws IOException Wenn der Text kein gültiger Vergleich ist.
+     */
+    public CommitComparisonPage parseComparisonPage(byte[] body, Consumer<CommitObject> objectConsumer) throws IOException {
+        return parseComparison(body, null, objectConsumer);
+    }
+
+    /**
+     * Liest eine Seite der Commit-Suche (`/search/commits`).
+     *
+     * Schritte:
+     * Erwartet ein JSON-Objekt; liest daraus `total_count`, `incomplete_results` und das Array `items`
+     * (Commits wie bei `parse`, das eingebettete `repository` und `score` werden übersprungen).
+     *
+     * @param body Der (entpackte) Antworttext.
+     * @param commitConsumer Erhält die Treffer der Seite.
+     * @return Gesamtzahl der Treffer und ob die Suche vollständig war.
+     * @throws IOException Wenn der Text kein gültiges Suchergebnis ist.
+     */
+    public CommitSearchPage parseSearch(byte[] body, Consumer<GitCommit> commitConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON search result object, got " + parser.currentToken());
+            }
+            int totalCount = -1;
+            boolean incompleteResults = false;
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("total_count".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    totalCount = parser.getIntValue();
+                } else if ("incomplete_results".equals(field) && value.isBoolean()) {
+                    incompleteResults = parser.getBooleanValue();
+                } else if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    count = parseCommits(parser, commitConsumer, null);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new CommitSearchPage(totalCount, incompleteResults, count);
+        }
+    }
+
+    private CommitComparisonPage parseComparison(byte[] body, Consumer<GitCommit> commitConsumer,
+                                                 Consumer<CommitObject> objectConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON comparison object, got " + parser.currentToken());
+            }
+            int totalCommits = -1;
+            String status = null;
+            String mergeBaseSha = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("total_commits".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    totalCommits = parser.getIntValue();
+                } else if ("status".equals(field) && value == JsonToken.VALUE_STRING) {
+                    status = parser.getText();
+                } else if ("merge_base_commit".equals(field) && value == JsonToken.START_OBJECT) {
+                    mergeBaseSha = readSha(parser);
+                } else if ("commits".equals(field) && value == JsonToken.START_ARRAY) {
+                    parseCommits(parser, commitConsumer, objectConsumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new CommitComparisonPage(totalCommits, status, mergeBaseSha);
+        }
+    }
+
+    private int parse(JsonParser parser, Consumer<GitCommit> commitConsumer, Consumer<CommitObject> objectConsumer)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of commits, got " + parser.currentToken());
+        }
+        return parseCommits(parser, commitConsumer, objectConsumer);
+    }
+
+    // Steht auf START_ARRAY und endet auf dessen END_ARRAY; genau einer der beiden Consumer ist gesetzt
+    private static int parseCommits(JsonParser parser, Consumer<GitCommit> commitConsumer,
+                                    Consumer<CommitObject> objectConsumer) throws IOException {
+        boolean detailed = objectConsumer != null;
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            String sha = null;
+            CommitFields fields = null;
+            List<String> parents = detailed ? new ArrayList<>(2) : null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("sha".equals(field) && value == JsonToken.VALUE_STRING) {
+                    sha = parser.getText();
+                } else if ("commit".equals(field) && value == JsonToken.START_OBJECT) {
+                    fields = readCommit(parser, detailed);
+                } else if (detailed && "parents".equals(field) && value == JsonToken.START_ARRAY) {
+                    readParents(parser, parents);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (sha == null || fields == null || fields.message == null) {
+                throw new IOException("Commit without sha or commit.message at " + parser.currentLocation());
+            }
+            if (detailed) {
+                objectConsumer.accept(new CommitObject(sha, fields.tree, Collections.unmodifiableList(parents),
+                        fields.author, fields.authorTime, fields.authorZone, fields.commitTime, fields.message));
+            } else {
+                commitConsumer.accept(new GitCommit(sha, fields.message));
+            }
+            count++;
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Expected a commit object, got " + token + " at " + parser.currentLocation());
+        }
+        return count;
+    }
+
+    // Steht auf START_OBJECT von "commit" und endet auf dessen END_OBJECT
+    private static CommitFields readCommit(JsonParser parser, boolean detailed) throws IOException {
+        CommitFields fields = new CommitFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                fields.message = parser.getText();
+            } else if (detailed && "author".equals(field) && value == JsonToken.START_OBJECT) {
+                String[] identity = readIdentity(parser);
+                fields.author = identity[0] + " <" + identity[1] + ">";
+                fields.authorTime = epochSecond(identity[2]);
+                fields.authorZone = zone(identity[2]);
+            } else if (detailed && "committer".equals(field) && value == JsonToken.START_OBJECT) {
+                fields.commitTime = epochSecond(readIdentity(parser)[2]);
+            } else if (detailed && "tree".equals(field) && value == JsonToken.START_OBJECT) {
+                fields.tree = readSha(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return fields;
+    }
+
+    // {"name": ..., "email": ..., "date": ...} -> [name, email, date]
+    private static String[] readIdentity(JsonParser parser) throws IOException {
+        String[] identity = {"", "", null};
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_STRING && "name".equals(field)) {
+                identity[0] = parser.getText();
+            } else if (value == JsonToken.VALUE_STRING && "email".equals(field)) {
+                identity[1] = parser.getText();
+            } else if (value == JsonToken.VALUE_STRING && "date".equals(field)) {
+                identity[2] = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return identity;
+    }
+
+    // [{"sha": ..., "url": ...}, ...]
+    private static void readParents(JsonParser parser, List<String> parents) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String sha = readSha(parser);
+            if (sha != null) {
+                parents.add(sha);
+            }
+        }
+    }
+
+    // Steht auf START_OBJECT und liefert dessen Feld "sha"
+    private static String readSha(JsonParser parser) throws IOException {
+        String sha = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("sha".equals(field) && value == JsonToken.VALUE_STRING) {
+                sha = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return sha;
+    }
+
+    private static long epochSecond(String date) {
+        if (date == null) {
+            return 0;
+        }
+        try {
+            return OffsetDateTime.parse(date).toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    // "2025-08-01T10:15:30+02:00" -> "+0200" (wie im Commit-Objekt)
+    private static String zone(String date) {
+        if (date == null) {
+            return "+0000";
+        }
+        try {
+            return OffsetDateTime.parse(date).getOffset().getId().replace("Z", "+00:00").replace(":", "");
+        } catch (DateTimeParseException e) {
+            return "+0000";
+        }
+    }
+
+    private static class CommitFields {
+        private String message;
+        private String tree;
+        private String author = "";
+        private long authorTime;
+        private String authorZone = "+0000";
+        private long commitTime;
+    }
+}
@@ -0,0 +1,34 @@
+package git;
+
+public class CommitSearchPage {
+    private final int totalCount;
+    private final boolean incompleteResults;
+    private final int count;
+
+    public CommitSearchPage(int totalCount, boolean incompleteResults, int count) {
+        this.totalCount = totalCount;
+        this.incompleteResults = incompleteResults;
+        this.count = count;
+    }
+
+    /**
+     * @return Die Gesamtzahl der Treffer (`total_count`), auch über die abrufbaren 1000 hinaus; -1, wenn das Feld fehlt.
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Ob GitHub die Suche vorzeitig abgebrochen hat (`incomplete_results`), die Treffer also unvollständig sind.
+     */
+    public boolean isIncompleteResults() {
+        return incompleteResults;
+    }
+
+    /**
+     * @return Die Anzahl der Treffer auf dieser Seite.
+     */
+    public int getCount() {
+        return count;
+    }
+}
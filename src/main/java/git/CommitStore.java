@@ -0,0 +1,431 @@
+package git;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+public class CommitStore implements Closeable {
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "changelog-automate", "commits");
+
+    // "CMST" + Formatversion
+    private static final int MAGIC = 0x434d5354;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte COMMIT_RECORD = 'C';
+    private static final byte HEAD_RECORD = 'H';
+    private static final byte[] NO_ID = new byte[20];
+
+    private final Path file;
+    private final FileChannel channel;
+    // Anhängereihenfolge; bei jeder Synchronisierung älteste zuerst
+    private final List<CommitObject> commits = new ArrayList<>();
+    // SHA -> Position in `commits`
+    private final Map<String, Integer> shaIndex = new HashMap<>();
+    // Positionen aufsteigend nach Commit-Datum; wird nach dem Anhängen beim nächsten Zugriff neu sortiert
+    private int[] dateIndex = new int[0];
+    private boolean dateIndexStale;
+    private String head;
+
+    private CommitStore(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Öffnet den Speicher eines GitHub-Repositorys unter `DEFAULT_DIRECTORY` (eine Datei pro Repository).
+     *
+     * @param owner Der Besitzer des Repositorys.
+     * @param repo Der Name des Repositorys.
+     * @return Der geöffnete Speicher.
+     * @throws IOException Wenn die Datei nicht angelegt oder gelesen werden kann.
+     */
+    public static CommitStore forRepository(String owner, String repo) throws IOException {
+        return open(DEFAULT_DIRECTORY.resolve(owner).resolve(repo + ".commits"));
+    }
+
+    /**
+     * Öffnet (oder legt an) einen Commit-Speicher.
+     *
+     * Datei-Format (binär, nur Anhängen): Magic, Version, danach Einträge aus Länge, Inhalt und CRC32.
+     * Ein Eintrag ist entweder ein Commit (ID, Tree, Eltern, Autor, Zeiten, Nachricht) oder der neue
+     * Stand des Branches (HEAD) nach einer Synchronisierung.
+     *
+     * Schritte:
+     * Liest alle Einträge und baut den SHA-Index und den Datums-Index im Speicher auf.
+     * Ein unvollständiger oder beschädigter Eintrag am Ende (abgebrochener Schreibvorgang) wird abgeschnitten;
+     * der HEAD davor bleibt gültig, die Commits danach werden bei der nächsten Synchronisierung erneut geholt.
+     *
+     * @param file Die Datei des Speichers.
+     * @return Der geöffnete Speicher.
+     * @throws IOException Wenn die Datei nicht angelegt oder gelesen werden kann oder ein fremdes Format hat.
+     */
+    public static CommitStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        CommitStore store = new CommitStore(file, channel);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private void load() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            writeHeader();
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a commit store (or unknown version): " + file);
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) (channel.size() - HEADER_SIZE));
+        while (data.hasRemaining() && channel.read(data, HEADER_SIZE + data.position()) >= 0) {
+            // liest bis zum Ende der Datei
+        }
+        data.flip();
+        long validEnd = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int length = data.getInt(data.position());
+            if (length <= 0 || data.remaining() < 4 + length + 4) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            data.position(data.position() + 4);
+            data.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if (data.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            apply(payload);
+            validEnd += 4 + length + 4;
+        }
+        if (validEnd < channel.size()) {
+            System.out.println("Truncating incomplete tail of commit store " + file + " ("
+                    + (channel.size() - validEnd) + " bytes)");
+            channel.truncate(validEnd);
+        }
+        dateIndexStale = true;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+    }
+
+    private void apply(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        if (type == HEAD_RECORD) {
+            head = readId(in);
+            return;
+        }
+        if (type != COMMIT_RECORD) {
+            throw new IOException("Unknown record type " + type + " in " + file);
+        }
+        String id = readId(in);
+        String tree = readId(in);
+        int parentCount = in.readUnsignedByte();
+        List<String> parents = new ArrayList<>(parentCount);
+        for (int i = 0; i < parentCount; i++) {
+            parents.add(readId(in));
+        }
+        String author = readString(in);
+        long authorTime = in.readLong();
+        String authorZone = readString(in);
+        long commitTime = in.readLong();
+        String message = readString(in);
+        add(new CommitObject(id, tree.equals(GitObject.toHex(NO_ID)) ? null : tree,
+                Collections.unmodifiableList(parents), author, authorTime, authorZone, commitTime, message));
+    }
+
+    private void add(CommitObject commit) {
+        if (shaIndex.putIfAbsent(commit.getId(), commits.size()) == null) {
+            commits.add(commit);
+        }
+    }
+
+    /**
+     * Hängt die Commits einer Synchronisierung an und setzt danach den neuen HEAD.
+     *
+     * Schritte:
+     * Überspringt Commits, die bereits im Speicher liegen.
+     * Schreibt die Commits und zuletzt den HEAD-Eintrag in einem Schreibvorgang ans Ende der Datei und
+     * erzwingt das Schreiben auf die Platte; erst dann werden die Indizes aktualisiert.
+     *
+     * @param newCommits Die neuen Commits, älteste zuerst.
+     * @param newHead Der Commit, auf den der Branch nach dieser Synchronisierung zeigt.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    public synchronized void append(List<CommitObject> newCommits, String newHead) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        List<CommitObject> added = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (CommitObject commit : newCommits) {
+            if (!shaIndex.containsKey(commit.getId()) && seen.add(commit.getId())) {
+                writeRecord(records, commitRecord(commit));
+                added.add(commit);
+            }
+        }
+        if (added.isEmpty() && newHead.equals(head)) {
+            return;
+        }
+        writeRecord(records, headRecord(newHead));
+
+        ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+        long position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        channel.force(false);
+
+        for (CommitObject commit : added) {
+            add(commit);
+        }
+        head = newHead;
+        dateIndexStale = true;
+    }
+
+    /**
+     * Leert den Speicher (z. B. wenn der gespeicherte HEAD nach einem Force-Push nicht mehr existiert).
+     *
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public synchronized void reset() throws IOException {
+        writeHeader();
+        commits.clear();
+        shaIndex.clear();
+        dateIndex = new int[0];
+        dateIndexStale = false;
+        head = null;
+    }
+
+    private static byte[] commitRecord(CommitObject commit) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + commit.getMessage().length());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(COMMIT_RECORD);
+        writeId(out, commit.getId());
+        writeId(out, commit.getTree());
+        out.writeByte(commit.getParents().size());
+        for (String parent : commit.getParents()) {
+            writeId(out, parent);
+        }
+        writeString(out, commit.getAuthor());
+        out.writeLong(commit.getAuthorTime());
+        writeString(out, commit.getAuthorZone());
+        out.writeLong(commit.getCommitTime());
+        writeString(out, commit.getMessage());
+        return bytes.toByteArray();
+    }
+
+    private static byte[] headRecord(String head) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(21);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(HEAD_RECORD);
+        writeId(out, head);
+        return bytes.toByteArray();
+    }
+
+    private static void writeRecord(ByteArrayOutputStream records, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        DataOutputStream out = new DataOutputStream(records);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        out.write(id != null ? GitObject.fromHex(id) : NO_ID);
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        byte[] id = new byte[20];
+        in.readFully(id);
+        return GitObject.toHex(id);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new EOFException("Negative string length");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Der Commit, auf den der Branch bei der letzten Synchronisierung zeigte, oder `null`, wenn der
+     *         Speicher leer ist.
+     */
+    public synchronized String getHead() {
+        return head;
+    }
+
+    public synchronized boolean contains(String id) {
+        return shaIndex.containsKey(id);
+    }
+
+    /**
+     * @param id Die vollständige ID des Commits.
+     * @return Der Commit oder `null`, wenn er nicht im Speicher liegt.
+     */
+    public synchronized CommitObject get(String id) {
+        Integer position = shaIndex.get(id);
+        return position != null ? commits.get(position) : null;
+    }
+
+    public synchronized int size() {
+        return commits.size();
+    }
+
+    /**
+     * @return Alle Commits, zuletzt angehängte zuerst (wie die Liste der GitHub-API).
+     */
+    public synchronized List<GitCommit> log() {
+        List<GitCommit> log = new ArrayList<>(commits.size());
+        for (int i = commits.size() - 1; i >= 0; i--) {
+            log.add(toGitCommit(commits.get(i)));
+        }
+        return log;
+    }
+
+    /**
+     * Liefert die Commits, die von `include` aus erreichbar sind, aber nicht von `exclude` (wie
+     * `git log exclude..include`), nur aus dem Speicher.
+     *
+     * Schritte:
+     * Markiert alle Vorfahren von `exclude` (inklusive) über die gespeicherten Eltern.
+     * Läuft von `include` aus über die Eltern und sammelt alle nicht markierten Commits.
+     * Sortiert das Ergebnis wie `log()` (zuletzt angehängte zuerst).
+     *
+     * @param exclude Der ältere Commit (nicht enthalten) oder `null` für alle Vorfahren von `include`.
+     * @param include Der neuere Commit (enthalten).
+     * @return Die Commits des Bereichs; leer, wenn `include` nicht im Speicher liegt.
+     */
+    public synchronized List<GitCommit> range(String exclude, String include) {
+        Set<Integer> excluded = exclude != null ? ancestors(List.of(exclude), Set.of()) : Set.of();
+        Set<Integer> included = ancestors(List.of(include), excluded);
+
+        Integer[] positions = included.toArray(new Integer[0]);
+        Arrays.sort(positions, Comparator.reverseOrder());
+        List<GitCommit> range = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            range.add(toGitCommit(commits.get(position)));
+        }
+        return range;
+    }
+
+    private Set<Integer> ancestors(Collection<String> starts, Set<Integer> stop) {
+        Set<Integer> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(starts);
+        while (!pending.isEmpty()) {
+            Integer position = shaIndex.get(pending.pop());
+            if (position == null || stop.contains(position) || !visited.add(position)) {
+                continue;
+            }
+            pending.addAll(commits.get(position).getParents());
+        }
+        return visited;
+    }
+
+    /**
+     * Liefert die Commits, deren Commit-Datum im angegebenen Zeitraum liegt (über den Datums-Index).
+     *
+     * @param from Der Beginn (inklusive) oder `null` für unbegrenzt.
+     * @param to Das Ende (inklusive) oder `null` für unbegrenzt.
+     * @return Die Commits, neueste zuerst.
+     */
+    public synchronized List<GitCommit> between(Instant from, Instant to) {
+        int[] index = dateIndex();
+        int start = from != null ? lowerBound(index, from.getEpochSecond()) : 0;
+        int end = to != null ? lowerBound(index, to.getEpochSecond() + 1) : index.length;
+        List<GitCommit> result = new ArrayList<>(Math.max(0, end - start));
+        for (int i = end - 1; i >= start; i--) {
+            result.add(toGitCommit(commits.get(index[i])));
+        }
+        return result;
+    }
+
+    private int[] dateIndex() {
+        if (dateIndexStale) {
+            dateIndex = IntStream.range(0, commits.size())
+                    .boxed()
+                    .sorted(Comparator.comparingLong((Integer i) -> commits.get(i).getCommitTime()).thenComparing(i -> i))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            dateIndexStale = false;
+        }
+        return dateIndex;
+    }
+
+    // Erste Position im Index mit Commit-Datum >= time
+    private int lowerBound(int[] index, long time) {
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (commits.get(index[middle]).getCommitTime() < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static GitCommit toGitCommit(CommitObject commit) {
+        return new GitCommit(commit.getId(), commit.getMessage(), commit.getAuthor(), commit.getAuthorDate());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,16 +1,35 @@
 package git;
 
+import java.util.List;
 import java.util.Objects;
 
 public class GitCommit {
     private String hash;
     private String message;
+    private String author;
+    private String date;
+    private List<Integer> pullRequests = List.of();
 
     public GitCommit(String hash, String message) {
         this.hash = hash;
         this.message = message;
     }
 
+    public GitCommit(String hash, String message, String author, String date) {
+        this.hash = hash;
+        this.message = message;
+        this.author = author;
+        this.date = date;
+    }
+
+    /**
+     * @param pullRequests Die Nummern der Pull-Requests, zu denen der Commit gehört (z. B. aus der GraphQL-API).
+     */
+    public GitCommit(String hash, String message, String author, String date, List<Integer> pullRequests) {
+        this(hash, message, author, date);
+        this.pullRequests = List.copyOf(pullRequests);
+    }
+
     public String getHash() {
         return hash;
     }
@@ -19,6 +38,32 @@ public class GitCommit {
         return message;
     }
 
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * @return Die Nummern der zugehörigen Pull-Requests; leer, wenn die Quelle sie nicht liefert.
+     */
+    public List<Integer> getPullRequests() {
+        return pullRequests;
+    }
+
+    /**
+     * Liefert die erste Zeile der Commit-Nachricht (bei vollständigen Nachrichten mit Body).
+     *
+     * @return Die Betreffzeile ohne führende/abschließende Leerzeichen.
+     */
+    public String getSubject() {
+        if (message == null) return "";
+        int newLine = message.indexOf('\n');
+        return (newLine >= 0 ? message.substring(0, newLine) : message).trim();
+    }
+
     @Override
     public String toString() {
         return hash + " " + message;
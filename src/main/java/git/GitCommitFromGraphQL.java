@@ -0,0 +1,245 @@
+package git;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import credentials.Connexion;
+
+public class GitCommitFromGraphQL {
+    private static final String DEFAULT_GRAPHQL_URL = "https://api.github.com/graphql";
+    // Wie viele Pull-Request-Nummern pro Commit abgefragt werden (meist genau einer)
+    private static final int PULL_REQUESTS_PER_COMMIT = 5;
+    private static final int MAX_RATE_LIMIT_ATTEMPTS = 5;
+    // Historie und Tags in einer Abfrage; über die Schalter werden Verbindungen, die bereits vollständig
+    // geladen sind, in späteren Abfragen weggelassen
+    private static final String HISTORY_QUERY = """
+            query($owner: String!, $name: String!, $after: String, $tagsAfter: String,
+                  $withHistory: Boolean!, $withTags: Boolean!) {
+              repository(owner: $owner, name: $name) {
+                defaultBranchRef @include(if: $withHistory) {
+                  target {
+                    ... on Commit {
+                      history(first: 100, after: $after) {
+                        pageInfo { hasNextPage endCursor }
+                        nodes {
+                          oid
+                          message
+                          committedDate
+                          associatedPullRequests(first: %d) { nodes { number } }
+                        }
+                      }
+                    }
+                  }
+                }
+                refs(refPrefix: "refs/tags/", first: 100, after: $tagsAfter) @include(if: $withTags) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes {
+                    name
+                    target {
+                      __typename
+                      oid
+                      ... on Tag { target { oid } }
+                    }
+                  }
+                }
+              }
+            }
+            """.formatted(PULL_REQUESTS_PER_COMMIT);
+
+    private final String OWNER;
+    private final String REPO;
+    private final String graphqlUrl;
+    private final GitHubHttpClient httpClient;
+    private final GitHubRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public GitCommitFromGraphQL(String REPO, String OWNER){
+        this(REPO, OWNER, DEFAULT_GRAPHQL_URL, GitHubHttpClient.shared(),
+                GitHubRateLimiter.shared(Connexion.AUTH_FOR_REPO, "graphql"));
+    }
+
+    /**
+     * @param REPO Der Name des Repositorys.
+     * @param OWNER Der Besitzer des Repositorys.
+     * @param graphqlUrl Der GraphQL-Endpunkt (z. B. "https://api.github.com/graphql" oder ein lokaler Testserver).
+     * @param httpClient Der (gemeinsame) HTTP-Client mit Verbindungspool.
+     * @param rateLimiter Der Scheduler für das GraphQL-Budget (getrennt vom REST-Budget).
+     */
+    public GitCommitFromGraphQL(String REPO, String OWNER, String graphqlUrl, GitHubHttpClient httpClient, GitHubRateLimiter rateLimiter){
+        this.OWNER = OWNER;
+        this.REPO = REPO;
+        this.graphqlUrl = graphqlUrl;
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Holt die Historie des Standard-Branches und alle Tags über die GraphQL-API.
+     *
+     * Schritte:
+     * Fragt pro Anfrage 100 Commits über `history(first: 100, after: ...)` ab, mit nur den benötigten Feldern
+     * (oid, message, committedDate und die Nummern der zugehörigen Pull-Requests).
+     * Dieselbe Anfrage lädt bis zu 100 Tags samt Ziel; annotierte Tags werden dabei auf ihren Commit geschält.
+     * Folgt beiden Cursorn, bis Historie und Tags vollständig sind; eine fertige Verbindung wird per `@include`
+     * aus den folgenden Anfragen weggelassen.
+     *
+     * @return Die Commits (neueste zuerst) und der Tag-Index.
+     * @throws IOException Wenn eine Anfrage fehlschlägt oder die API Fehler meldet.
+     */
+    public RepositoryHistory fetchHistory() throws IOException {
+        List<GitCommit> commits = new ArrayList<>();
+        List<TagIndex.Tag> tags = new ArrayList<>();
+        String after = null;
+        String tagsAfter = null;
+        boolean withHistory = true;
+        boolean withTags = true;
+
+        while (withHistory || withTags){
+            JsonNode repository = query(after, tagsAfter, withHistory, withTags).path("repository");
+            if (repository.isMissingNode() || repository.isNull()){
+                throw new IOException("Repository " + OWNER + "/" + REPO + " not found.");
+            }
+
+            if (withHistory){
+                JsonNode history = repository.path("defaultBranchRef").path("target").path("history");
+                for (JsonNode node : history.path("nodes")){
+                    commits.add(toCommit(node));
+                }
+                withHistory = history.path("pageInfo").path("hasNextPage").asBoolean(false);
+                after = history.path("pageInfo").path("endCursor").asText(null);
+            }
+            if (withTags){
+                JsonNode refs = repository.path("refs");
+                for (JsonNode node : refs.path("nodes")){
+                    tags.add(toTag(node));
+                }
+                withTags = refs.path("pageInfo").path("hasNextPage").asBoolean(false);
+                tagsAfter = refs.path("pageInfo").path("endCursor").asText(null);
+            }
+        }
+        return new RepositoryHistory(commits, TagIndex.of(tags));
+    }
+
+    /**
+     * @return Alle Commits des Standard-Branches (neueste zuerst).
+     * @throws IOException Wenn eine Anfrage fehlschlägt oder die API Fehler meldet.
+     */
+    public List<GitCommit> fetchAllCommits() throws IOException {
+        return fetchHistory().getCommits();
+    }
+
+    private static GitCommit toCommit(JsonNode node) {
+        List<Integer> pullRequests = new ArrayList<>();
+        for (JsonNode pullRequest : node.path("associatedPullRequests").path("nodes")){
+            pullRequests.add(pullRequest.path("number").asInt());
+        }
+        return new GitCommit(node.path("oid").asText(), node.path("message").asText(), null,
+                node.path("committedDate").asText(null), pullRequests);
+    }
+
+    private static TagIndex.Tag toTag(JsonNode node) {
+        JsonNode target = node.path("target");
+        boolean annotated = "Tag".equals(target.path("__typename").asText());
+        String commitId = annotated ? target.path("target").path("oid").asText() : target.path("oid").asText();
+        return new TagIndex.Tag(node.path("name").asText(), commitId, annotated);
+    }
+
+    /**
+     * Sendet die Abfrage mit den aktuellen Cursorn an den GraphQL-Endpunkt.
+     *
+     * Schritte:
+     * Holt beim Rate-Limit-Scheduler ein Token und sendet die Abfrage als POST.
+     * Wird die Anfrage wegen des Rate-Limits abgelehnt (HTTP 403/429 oder ein Fehler vom Typ `RATE_LIMITED`),
+     * wird sie nach der Sperre wiederholt, höchstens `MAX_RATE_LIMIT_ATTEMPTS`-mal.
+     * Meldet GraphQL-Fehler (`errors`) als Ausnahme.
+     *
+     * @return Der Inhalt von `data`.
+     * @throws IOException Wenn die Anfrage fehlschlägt, der Status nicht 200 ist oder die API Fehler meldet.
+     */
+    private JsonNode query(String after, String tagsAfter, boolean withHistory, boolean withTags) throws IOException {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("query", HISTORY_QUERY);
+        ObjectNode variables = request.putObject("variables");
+        variables.put("owner", OWNER);
+        variables.put("name", REPO);
+        variables.put("after", after);
+        variables.put("tagsAfter", tagsAfter);
+        variables.put("withHistory", withHistory);
+        variables.put("withTags", withTags);
+        byte[] body = objectMapper.writeValueAsBytes(request);
+
+        for (int attempt = 1; ; attempt++){
+            GitHubRateLimiter.TokenBudget token = acquireToken();
+            GitHubResponse response;
+            try{
+                response = httpClient.post(graphqlUrl, requestHeaders(token), body);
+            }catch (IOException e){
+                rateLimiter.release(token);
+                throw e;
+            }
+            boolean retry = rateLimiter.update(token, response);
+            if (response.getCode() != 200){
+                if (retry && attempt < MAX_RATE_LIMIT_ATTEMPTS){
+                    continue;
+                }
+                throw new IOException("HTTP error code: " + response.getCode() + " - " + response.getReasonPhrase());
+            }
+
+            JsonNode result = objectMapper.readTree(response.getBody());
+            JsonNode errors = result.path("errors");
+            if (errors.isArray() && !errors.isEmpty()){
+                if (isRateLimited(errors) && attempt < MAX_RATE_LIMIT_ATTEMPTS){
+                    continue;
+                }
+                List<String> messages = new ArrayList<>();
+                for (JsonNode error : errors){
+                    messages.add(error.path("message").asText());
+                }
+                throw new IOException("GraphQL error: " + String.join("; ", messages));
+            }
+            return result.path("data");
+        }
+    }
+
+    // Bei aufgebrauchtem Budget antwortet GraphQL mit 200 und X-RateLimit-Remaining: 0; der Scheduler
+    // sperrt das Token dann bis zum Reset
+    private static boolean isRateLimited(JsonNode errors) {
+        for (JsonNode error : errors){
+            if ("RATE_LIMITED".equals(error.path("type").asText())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GitHubRateLimiter.TokenBudget acquireToken() throws IOException {
+        try{
+            return rateLimiter.acquire();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the GitHub rate limit.", e);
+        }
+    }
+
+    private Map<String, String> requestHeaders(GitHubRateLimiter.TokenBudget token) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (token.getToken() != null){
+            headers.put("Authorization", "Bearer " + token.getToken());
+        }
+        headers.put("User-Agent", "baurel.tanekam@medien-systempartner");
+        return headers;
+    }
+
+    /**
+     * @return Der Rate-Limit-Scheduler für das GraphQL-Budget.
+     */
+    public GitHubRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+}
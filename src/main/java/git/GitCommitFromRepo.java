@@ -1,36 +1,279 @@
 package git;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import credentials.Connexion;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 public class GitCommitFromRepo {
-    private static final String API_URL = "https://api.github.com/repos/";
+    private static final String DEFAULT_API_URL = "https://api.github.com/repos/";
+    private static final int DEFAULT_PREFETCH_WINDOW = 4;
+    // Unterhalb dieses Restbudgets (X-RateLimit-Remaining) wird das Prefetch-Fenster halbiert
+    private static final int LOW_RATE_LIMIT_BUDGET = 100;
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("([?&])page=(\\d+)");
+    // Wie oft eine Anfrage nach einer Ablehnung wegen Rate-Limit höchstens wiederholt wird
+    private static final int MAX_RATE_LIMIT_ATTEMPTS = 5;
+    // Antworten von `/compare`, wenn der Vergleich zu groß ist oder zu lange dauert
+    private static final Set<Integer> COMPARE_LIMIT_STATUS = Set.of(422, 500, 502, 503, 504);
     private final String OWNER;
     private final String REPO;
-    private final String authToken = Connexion.AUTH_FOR_REPO;
+    private final String apiUrl;
+    private final GitHubHttpClient httpClient;
+    private final GitHubRateLimiter rateLimiter;
+    private final CommitPageParser commitPageParser = new CommitPageParser();
+    private int prefetchWindow = DEFAULT_PREFETCH_WINDOW;
+    private GitCommitFromGraphQL graphQLBackend;
+    // Zuletzt über GraphQL geladene Historie; ihr Tag-Index beantwortet Tag-Abfragen ohne weitere REST-Anfragen
+    private RepositoryHistory graphQLHistory;
+    private String defaultBranch;
+    private CommitStore commitStore;
+    private GitCommitFromSearch searchBackend;
 
 
     public GitCommitFromRepo(String REPO, String OWNER){
+        this(REPO, OWNER, DEFAULT_API_URL, GitHubHttpClient.shared(), GitHubRateLimiter.shared(Connexion.AUTH_FOR_REPO));
+    }
+
+    /**
+     * @param REPO Der Name des Repositorys.
+     * @param OWNER Der Besitzer des Repositorys.
+     * @param apiUrl Die Basis-URL der Repository-API (z. B. "https://api.github.com/repos/" oder ein lokaler Testserver).
+     * @param authToken Das Token (oder mehrere, durch Kommas getrennt) für den Authorization-Header oder `null`
+     *                  für anonyme Anfragen.
+     * @param httpClient Der (gemeinsame) HTTP-Client mit Verbindungspool.
+     */
+    public GitCommitFromRepo(String REPO, String OWNER, String apiUrl, String authToken, GitHubHttpClient httpClient){
+        this(REPO, OWNER, apiUrl, httpClient, new GitHubRateLimiter(GitHubRateLimiter.parseTokens(authToken)));
+    }
+
+    /**
+     * @param REPO Der Name des Repositorys.
+     * @param OWNER Der Besitzer des Repositorys.
+     * @param apiUrl Die Basis-URL der Repository-API.
+     * @param httpClient Der (gemeinsame) HTTP-Client mit Verbindungspool.
+     * @param rateLimiter Der Scheduler, der die Tokens verwaltet und Anfragen nach deren Budget taktet.
+     */
+    public GitCommitFromRepo(String REPO, String OWNER, String apiUrl, GitHubHttpClient httpClient, GitHubRateLimiter rateLimiter){
         this.OWNER = OWNER;
         this.REPO = REPO;
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return Der Rate-Limit-Scheduler (z. B. für `getMetrics()`).
+     */
+    public GitHubRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @param prefetchWindow Wie viele Seiten einer Commit-Liste höchstens gleichzeitig geladen werden (1 = nacheinander).
+     */
+    public void setPrefetchWindow(int prefetchWindow) {
+        if (prefetchWindow < 1) {
+            throw new IllegalArgumentException("The prefetch window must be at least 1.");
+        }
+        this.prefetchWindow = prefetchWindow;
+    }
+
+    /**
+     * Lädt die vollständige Historie über die GraphQL-API statt über `/commits` (nur die benötigten Felder,
+     * Tags in derselben Abfrage). Nach `fetchAllCommits` lösen `getTagInfo` und `getCommitShaForTag` Tags über
+     * den mitgeladenen Tag-Index auf.
+     *
+     * @param graphQLBackend Der GraphQL-Client oder `null`, um wieder die REST-API zu verwenden.
+     */
+    public void setGraphQLBackend(GitCommitFromGraphQL graphQLBackend) {
+        this.graphQLBackend = graphQLBackend;
+        this.graphQLHistory = null;
+    }
+
+    /**
+     * Sucht die Commits zu Tickets in `fetchCommitsForTickets` über die Commit-Suche von GitHub,
+     * statt die gesamte Historie zu laden.
+     *
+     * @param searchBackend Der Such-Client oder `null`, um immer die gesamte Historie zu filtern.
+     */
+    public void setSearchBackend(GitCommitFromSearch searchBackend) {
+        this.searchBackend = searchBackend;
+    }
+
+    /**
+     * Spiegelt die Historie des Standard-Branches in einen lokalen Speicher. Danach holen `fetchAllCommits`,
+     * `getCommitsBeforeTag` und die Commits seit dem letzten Tag nur noch die neuen Commits von der API
+     * (`syncCommitStore`) und beantworten die Abfrage aus dem Speicher.
+     *
+     * @param commitStore Der Speicher (z. B. `CommitStore.forRepository(owner, repo)`) oder `null`.
+     */
+    public void setCommitStore(CommitStore commitStore) {
+        this.commitStore = commitStore;
+    }
+
+    /**
+     * Bringt den lokalen Commit-Speicher auf den Stand des Standard-Branches.
+     *
+     * Schritte:
+     * Ist der Speicher leer, wird die gesamte Historie geladen (Seiten parallel über `fetchCommitPages`).
+     * Sonst werden über `/compare/{gespeicherter HEAD}...{Branch}` genau die neuen Commits geholt.
+     * Liefert der Vergleich keine Commits, bestimmt `status` den neuen HEAD: bei "behind" (Branch auf einen
+     * gespeicherten Vorgänger zurückgesetzt) ist es `merge_base_commit`, bei "identical" bleibt er.
+     * Ist der Vergleich nicht möglich (zu groß oder der gespeicherte HEAD existiert nicht mehr), wird die
+     * Commit-Liste neueste zuerst gelesen, bis ein bereits gespeicherter Commit erscheint; der erste gelistete
+     * Commit ist der neue HEAD, auch wenn er schon gespeichert ist. Wird keiner gefunden, wurde die Historie
+     * umgeschrieben (Force-Push): der Speicher wird geleert und neu gefüllt.
+     * Hängt die neuen Commits (älteste zuerst) mit dem neuen HEAD an; ändert sich nur der HEAD, wird nur er
+     * vermerkt, damit die Historie ab dem Speicher nie Commits enthält, die nicht mehr auf dem Branch liegen.
+     *
+     * @throws IOException Wenn eine Anfrage fehlschlägt oder der Speicher nicht geschrieben werden kann.
+     */
+    public void syncCommitStore() throws IOException {
+        if (commitStore == null){
+            throw new IllegalStateException("No commit store set.");
+        }
+        String branch = getDefaultBranch();
+        String storedHead = commitStore.getHead();
+
+        if (storedHead != null){
+            CommitComparisonPage[] comparison = {null};
+            List<CommitObject> newer = compareRange(storedHead, branch, (body, objectConsumer) -> {
+                CommitComparisonPage page = commitPageParser.parseComparisonPage(body, objectConsumer);
+                if (comparison[0] == null){
+                    comparison[0] = page;
+                }
+                return page.getTotalCommits();
+            });
+            String tip = null;
+            if (newer != null && !newer.isEmpty()){
+                tip = rangeHead(newer);
+            }else if (newer != null && comparison[0] != null){
+                String status = comparison[0].getStatus();
+                tip = "behind".equals(status) ? comparison[0].getMergeBaseSha() : "identical".equals(status) ? storedHead : null;
+            }
+            if (tip != null){
+                if (!tip.equals(storedHead)){
+                    System.out.println("Branch " + branch + " moved from " + storedHead + " to " + tip + ".");
+                }
+                commitStore.append(newer, tip);
+                System.out.println("Commit store synced: " + newer.size() + " new commits, " + commitStore.size() + " total.");
+                return;
+            }
+        }
+
+        String url = apiUrl + OWNER + "/" + REPO + "/commits?sha=" + branch + "&per_page=100";
+        List<CommitObject> listed = new ArrayList<>();
+        String tip = null;
+        if (storedHead == null){
+            fetchCommitPages(fetch(url), commitPageParser::parseObjects, listed::add);
+        }else {
+            boolean reachedStore = false;
+            while (url != null && !reachedStore){
+                GitHubResponse response = fetch(url);
+                List<CommitObject> page = new ArrayList<>();
+                commitPageParser.parseObjects(response.getBody(), page::add);
+                for (CommitObject commit : page){
+                    if (tip == null){
+                        tip = commit.getId();
+                    }
+                    if (commitStore.contains(commit.getId())){
+                        reachedStore = true;
+                        break;
+                    }
+                    listed.add(commit);
+                }
+                url = parseNextPage(response.getHeader("Link"));
+            }
+            if (!reachedStore){
+                System.out.println("Stored head " + storedHead + " is no longer in the history, rebuilding the commit store.");
+                commitStore.reset();
+            }
+        }
+        if (!listed.isEmpty()){
+            tip = listed.get(0).getId();
+        }
+        if (tip != null){
+            Collections.reverse(listed);
+            commitStore.append(listed, tip);
+        }
+        System.out.println("Commit store synced: " + listed.size() + " new commits, " + commitStore.size() + " total.");
+    }
+
+    /**
+     * Übernimmt einen Push auf den Standard-Branch (z. B. aus einem Webhook) in den Commit-Speicher.
+     *
+     * Schritte:
+     * Ist `after` bereits der gespeicherte HEAD (z. B. ein erneut zugestellter Webhook), ist nichts zu tun. Ist
+     * `after` gespeichert, aber nicht der HEAD, wurde der Branch auf einen älteren Commit zurückgesetzt: nur der HEAD
+     * wird neu vermerkt.
+     * Sonst wird der Speicher mit `syncCommitStore` nachgezogen; für einen gewöhnlichen Push ist das ein einziger
+     * `/compare`-Aufruf vom gespeicherten HEAD aus. Die Commits des Payloads selbst genügen nicht, weil GitHub
+     * darin keine Eltern-SHAs mitschickt.
+     *
+     * @param after Der neue Stand des Branches laut Push.
+     * @return Die Anzahl der neu gespeicherten Commits.
+     * @throws IOException Wenn eine Anfrage fehlschlägt oder der Speicher nicht geschrieben werden kann.
+     */
+    public int applyPush(String after) throws IOException {
+        if (commitStore == null){
+            throw new IllegalStateException("No commit store set.");
+        }
+        if (after != null && commitStore.contains(after)){
+            if (!after.equals(commitStore.getHead())){
+                commitStore.append(List.of(), after);
+            }
+            return 0;
+        }
+        int sizeBefore = commitStore.size();
+        syncCommitStore();
+        return commitStore.size() - sizeBefore;
+    }
+
+    /**
+     * @return Der gesetzte Commit-Speicher oder `null`.
+     */
+    public CommitStore getCommitStore() {
+        return commitStore;
+    }
+
+    // Der einzige Commit eines Bereichs base...head, der kein Elternteil eines anderen Commits im Bereich ist
+    private static String rangeHead(List<CommitObject> range) {
+        Set<String> parents = new HashSet<>();
+        for (CommitObject commit : range){
+            parents.addAll(commit.getParents());
+        }
+        for (int i = range.size() - 1; i >= 0; i--){
+            if (!parents.contains(range.get(i).getId())){
+                return range.get(i).getId();
+            }
+        }
+        return range.get(range.size() - 1).getId();
     }
 
     /**
      * Holt alle Commits aus einem GitHub-Repository mit Hilfe der API.
      *
      * Schritte:
-     * Ruft die Commits von der API ab, beginnend mit der ersten Seite.
-     * Iteriert über die Ergebnisse von paginierten Antworten.
+     * Ist ein Commit-Speicher gesetzt, wird er synchronisiert und die Historie aus ihm gelesen.
+     * Ist ein GraphQL-Backend gesetzt, wird die Historie samt Tags darüber geladen und für Tag-Abfragen gemerkt.
+     * Ruft die Commits von der API ab, beginnend mit der ersten Seite (100 Commits pro Seite).
+     * Lädt die übrigen Seiten parallel über `fetchCommitPages` und verarbeitet sie in Seitenreihenfolge.
      * Fügt die Commit-SHA und Nachrichten zu einer Liste von `GitCommit` hinzu.
      * Gibt die endgültige Liste aller Commits zurück.
      *
@@ -38,23 +281,19 @@ public class GitCommitFromRepo {
      * @throws IOException Wenn ein Fehler bei der API-Anfrage oder beim Parsen der Antwort auftritt.
      */
     public List<GitCommit> fetchAllCommits() throws IOException{
+        if (commitStore != null){
+            syncCommitStore();
+            return commitStore.range(null, commitStore.getHead());
+        }
+        if (graphQLBackend != null){
+            graphQLHistory = graphQLBackend.fetchHistory();
+            return graphQLHistory.getCommits();
+        }
         List<GitCommit> commits = new ArrayList<>();
-        String url = API_URL + OWNER + "/" + REPO + "/commits";
+        String url = apiUrl + OWNER + "/" + REPO + "/commits?per_page=100";
         System.out.println(url);
 
-        while(url != null){
-            PaginatedResponse response = fetchCommitsFromUrl(url);
-            JSONArray commitArray = response.getData();
-
-            for (int i = 0; i < commitArray.length(); i++) {
-                JSONObject commitObj = commitArray.getJSONObject(i);
-                String sha = commitObj.getString("sha");
-                String message = commitObj.getJSONObject("commit").getString("message");
-
-                commits.add(new GitCommit(sha, message));
-            }
-            url = response.getNextUrl();
-        }
+        fetchCommitPages(url, commits::add);
         return commits;
     }
 
@@ -76,18 +315,17 @@ public class GitCommitFromRepo {
         }
 
         List<GitCommit> commits = new ArrayList<>();
-        String url = API_URL +  OWNER + "/" + REPO + "/commits?per_page=100";
+        String url = apiUrl +  OWNER + "/" + REPO + "/commits?per_page=100";
         int commitCount = 0;
 
         while (url != null && commitCount < limit){
             PaginatedResponse response = fetchCommitsFromUrl(url);
-            JSONArray commitArray = response.getData();
 
-            for (int i = 0; i < commitArray.length() && commitCount < limit; i++) {
-                JSONObject commitObj = commitArray.getJSONObject(i);
-                String sha = commitObj.getString("sha");
-                String message = commitObj.getJSONObject("commit").getString("message");
-                commits.add(new GitCommit(sha, message));
+            for (GitCommit commit : response.getData()) {
+                if (commitCount >= limit) {
+                    break;
+                }
+                commits.add(commit);
                 commitCount++;
             }
             url = (commitCount < limit) ? response.getNextUrl() : null;
@@ -100,9 +338,11 @@ public class GitCommitFromRepo {
      * Filtert Commits basierend auf einer Ticketnummer (z. B. "[PROJ-123]") aus einer gegebenen Liste von Commits.
      *
      * Schritte:
-     * Formatiert die Ticketnummer in eckigen Klammern (`[PROJ-123]`), falls nicht bereits vorhanden.
-     * Iteriert durch die Liste der Commits und fügt diejenigen zur Ergebnisliste hinzu, die die Ticketnummer enthalten.
+     * Baut mit `TicketIndex` den Index der gegebenen Commits auf.
+     * Die Ticketnummer wird mit oder ohne eckige Klammern erkannt, in der Nachricht ebenso (`[PROJ-123]`,
+     * `PROJ-123: ...`); "PROJ-1234" passt dabei nicht auf "PROJ-123".
      * Gibt die gefilterte Liste der Commits zurück.
+     * Für mehrere Tickets `fetchCommitsByTicketList` verwenden, die den Index nur einmal aufbaut.
      *
      * @param commits Die Liste von Commits, die gefiltert werden soll.
      * @param ticketNummer Die Ticketnummer, nach der gefiltert werden soll.
@@ -112,14 +352,13 @@ public class GitCommitFromRepo {
         if (ticketNummer == null || ticketNummer.trim().isEmpty()){
             throw new IllegalArgumentException("Ticket number cannot be null or empty.");
         }
+        return fetchCommitsByTicket(TicketIndex.of(commits), ticketNummer);
+    }
 
-        String formattedTicket = ticketNummer.startsWith("[") && ticketNummer.endsWith("]") ? ticketNummer
-                : "["+ ticketNummer + "]";
-        List<GitCommit> filteredCommits = new ArrayList<>();
-        for (GitCommit commit : commits){
-            if (commit.getMessage().contains(formattedTicket)) filteredCommits.add(commit);
-        }
-        System.out.println("Filtered " + filteredCommits.size() + " commits containing ticket: " + formattedTicket);
+    private List<GitCommit> fetchCommitsByTicket(TicketIndex ticketIndex, String ticketNummer){
+        List<GitCommit> filteredCommits = new ArrayList<>(ticketIndex.get(ticketNummer));
+        System.out.println("Filtered " + filteredCommits.size() + " commits containing ticket: "
+                + TicketIndex.normalize(ticketNummer));
         return filteredCommits;
     }
 
@@ -127,9 +366,10 @@ public class GitCommitFromRepo {
      * Filtert Commits basierend auf einer Liste von Ticketnummern.
      *
      * Schritte:
-     * Iteriert durch die Liste der Ticketnummern.
-     * Verwendet `fetchCommitsByTicket`, um Commits zu filtern, die zur jeweiligen Ticketnummer passen.
-     * Kombiniert die gefilterten Commits zur Ergebnisliste.
+     * Baut den Index Ticketnummer -> Commits (`TicketIndex`) in einem einzigen Durchlauf über alle Nachrichten auf,
+     * statt die Commits für jedes Ticket erneut zu durchsuchen.
+     * Iteriert durch die Liste der Ticketnummern und schlägt jede im Index nach.
+     * Kombiniert die gefilterten Commits zur Ergebnisliste (gruppiert nach Ticket, in der Reihenfolge der Liste).
      * Gibt die gefilterten Commits zurück.
      *
      * @param commits Die Liste der Commits, die gefiltert werden sollen.
@@ -141,10 +381,11 @@ public class GitCommitFromRepo {
             System.out.println("empty or null ticket list provided.");
             return new ArrayList<>();
         }
+        TicketIndex ticketIndex = TicketIndex.of(commits);
         List<GitCommit> filteredCommits = new ArrayList<>();
         for (String ticket : ticketsList) {
             if (ticket != null && !ticket.trim().isEmpty()){
-                List<GitCommit> commitsByTicket = fetchCommitsByTicket(commits, ticket);
+                List<GitCommit> commitsByTicket = fetchCommitsByTicket(ticketIndex, ticket);
 
                 filteredCommits.addAll(commitsByTicket);
             }
@@ -152,13 +393,63 @@ public class GitCommitFromRepo {
         return filteredCommits;
     }
 
+    /**
+     * Holt die Commits zu einer Liste von Tickets.
+     *
+     * Schritte:
+     * Entfernt doppelte Tickets (nach `TicketIndex.normalize`), damit kein Commit mehrfach im Ergebnis steht,
+     * unabhängig davon, welcher Weg danach genommen wird.
+     * Ohne Such-Backend oder mit Commit-Speicher (dann ist die Historie ohnehin lokal) wird die gesamte Historie
+     * mit `fetchAllCommits` geladen und mit `fetchCommitsByTicketList` gefiltert.
+     * Sonst wird jedes Ticket über `GitCommitFromSearch` gesucht, mehrere pro Anfrage.
+     * Nur wenn eine Suche an die Trefferobergrenze stößt, wird die gesamte Historie geladen (einmal) und die
+     * betroffenen Tickets werden daraus bestimmt.
+     * Kombiniert die Commits zur Ergebnisliste, gruppiert nach Ticket in der Reihenfolge der Liste.
+     *
+     * @param ticketsList Die Ticketnummern, mit oder ohne eckige Klammern.
+     * @return Die Commits der Tickets.
+     * @throws IOException Wenn eine Anfrage fehlschlägt.
+     */
+    public List<GitCommit> fetchCommitsForTickets(List<String> ticketsList) throws IOException {
+        if (ticketsList == null || ticketsList.isEmpty()){
+            System.out.println("empty or null ticket list provided.");
+            return new ArrayList<>();
+        }
+        List<String> tickets = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String ticket : ticketsList){
+            if (ticket != null && !ticket.trim().isEmpty() && seen.add(TicketIndex.normalize(ticket))){
+                tickets.add(ticket);
+            }
+        }
+        if (searchBackend == null || commitStore != null){
+            return fetchCommitsByTicketList(fetchAllCommits(), tickets);
+        }
+        TicketSearchResult searchResult = searchBackend.searchTickets(tickets);
+        TicketIndex historyIndex = null;
+        if (!searchResult.getCappedTickets().isEmpty()){
+            System.out.println("Falling back to the full history for " + searchResult.getCappedTickets());
+            historyIndex = TicketIndex.of(fetchAllCommits());
+        }
+
+        List<GitCommit> filteredCommits = new ArrayList<>();
+        for (String ticket : tickets){
+            List<GitCommit> commitsByTicket = searchResult.isCapped(ticket) ? historyIndex.get(ticket) : searchResult.get(ticket);
+            System.out.println("Filtered " + commitsByTicket.size() + " commits containing ticket: " + TicketIndex.normalize(ticket));
+            filteredCommits.addAll(commitsByTicket);
+        }
+        return filteredCommits;
+    }
+
     /**
      * Holt alle Commits, die vor einem bestimmten Tag im Repository enthalten sind.
      *
      * Schritte:
-     * Ruft mit Hilfe der Methode `getTagInfo` die SHA und das Datum des Tags ab.
-     * Holt alle Commits bis zu dem Datum mit der Methode `fetchCommitsUntilDate`.
-     * Filtert die Commits, um alle nach dem Tag zu entfernen.
+     * Ruft mit Hilfe der Methode `getTagInfo` den Commit des Tags ab.
+     * Liegt er im Commit-Speicher, werden seine Vorfahren lokal bestimmt (nach einer Synchronisierung).
+     * Sonst holt die Methode über `/commits?sha=` genau die Commits, die vom Tag aus erreichbar sind (statt über das Datum,
+     * das bei verzweigter Historie oder verschobenen Datumsangaben zu viele oder zu wenige Commits liefert).
+     * Entfernt den Commit des Tags selbst.
      * Gibt die gefilterten Commits zurück.
      *
      * @param tagName Der Name des Tags, vor dem die Commits abgerufen werden sollen.
@@ -175,14 +466,20 @@ public class GitCommitFromRepo {
         if(tagInfo == null){
             throw new IOException("Tag " + tagName + "is not found");
         }
-        List<GitCommit> allCommits = fetchCommitsUntilDate(tagInfo.getDate());
-
-        //Filtered Tag until the date of tag
         List<GitCommit> commitsBeforetag = new ArrayList<>();
-        for (GitCommit commit : allCommits){
-            if (!commit.getHash().startsWith(tagInfo.getSha().substring(0, 7))){
-                commitsBeforetag.add(commit);
-            }
+        if (commitStore != null){
+            syncCommitStore();
+        }
+        if (commitStore != null && commitStore.contains(tagInfo.getSha())){
+            commitsBeforetag.addAll(commitStore.range(null, tagInfo.getSha()));
+            commitsBeforetag.removeIf(commit -> commit.getHash().equals(tagInfo.getSha()));
+        }else {
+            String url = apiUrl + OWNER + "/" + REPO + "/commits?sha=" + tagInfo.getSha() + "&per_page=100";
+            fetchCommitPages(url, commit -> {
+                if (!commit.getHash().equals(tagInfo.getSha())){
+                    commitsBeforetag.add(commit);
+                }
+            });
         }
         System.out.println("Number of commits before the tag: "+ commitsBeforetag.size());
         return commitsBeforetag;
@@ -192,7 +489,10 @@ public class GitCommitFromRepo {
      * Holt Informationen zu einem Git-Tag (wie die SHA und das Erstellungsdatum).
      *
      * Schritte:
-     * Fragt den Tag-Referenz-Endpunkt ab, um die SHA des Tags zu erhalten.
+     * Liegt eine über GraphQL geladene Historie vor und enthält sie Tag und Commit, werden SHA und Datum daraus
+     * genommen.
+     * Fragt sonst den Tag-Referenz-Endpunkt ab, um die SHA des Tags zu erhalten.
+     * Bei annotierten Tags zeigt die Referenz auf ein Tag-Objekt; dessen Ziel ist der Commit.
      * Fragt die Commit-Details für die SHA ab, um das Erstellungsdatum des Tags zu erhalten.
      * Gibt die Taginformationen als `TagInfo`-Objekt zurück.
      *
@@ -200,14 +500,28 @@ public class GitCommitFromRepo {
      * @return Ein `TagInfo`-Objekt mit SHA und Datum des Tags oder `null`, wenn nicht gefunden.
      */
     private TagInfo getTagInfo(String tagName) {
-        String tagRefUrl = API_URL + OWNER + "/" + REPO + "/git/refs/tags/" + tagName;
+        RepositoryHistory history = graphQLHistory;
+        TagIndex.Tag tag = history != null ? history.getTags().get(tagName) : null;
+        if (tag != null){
+            for (GitCommit commit : history.getCommits()){
+                if (commit.getHash().equals(tag.getCommitId())){
+                    return new TagInfo(tag.getCommitId(), commit.getDate());
+                }
+            }
+        }
+        String tagRefUrl = apiUrl + OWNER + "/" + REPO + "/git/refs/tags/" + tagName;
 
         try{
             JSONObject tagRef = fetchJsonObjectFromUrl(tagRefUrl);
-            String sha = tagRef.getJSONObject("object").getString("sha");
+            JSONObject target = tagRef.getJSONObject("object");
+            if ("tag".equals(target.optString("type"))){
+                target = fetchJsonObjectFromUrl(apiUrl + OWNER + "/" + REPO + "/git/tags/" + target.getString("sha"))
+                        .getJSONObject("object");
+            }
+            String sha = target.getString("sha");
 
             //get the date
-            String commitUrl = API_URL + OWNER + "/" + REPO + "/git/commits/" + sha;
+            String commitUrl = apiUrl + OWNER + "/" + REPO + "/git/commits/" + sha;
             JSONObject commitDetails = fetchJsonObjectFromUrl(commitUrl);
             String date = commitDetails.getJSONObject("author").getString("date");
 
@@ -342,7 +656,7 @@ public class GitCommitFromRepo {
      */
     private String getLastTag(){
         try{
-            String url = API_URL + OWNER + "/" + REPO + "/tags";
+            String url = apiUrl + OWNER + "/" + REPO + "/tags";
             JSONArray tags = fetchJsonArrayFromUrl(url);
 
             if (tags.length() > 0){
@@ -358,38 +672,59 @@ public class GitCommitFromRepo {
      * Holt alle Commits, die seit einem bestimmten Tag gemacht wurden.
      *
      * Schritte:
+     * Ist ein Commit-Speicher gesetzt und enthält er den Commit des Tags, wird der Bereich nach einer
+     * Synchronisierung lokal bestimmt.
+     * Vergleicht sonst den Tag mit dem Standard-Branch über `/compare` (genau die Commits, die seit dem Tag
+     * hinzugekommen sind).
+     * Nur wenn der Vergleich die Grenzen der API überschreitet, werden wie bisher alle Commits ab dem Datum
+     * des Tags geholt und der Commit des Tags herausgefiltert (`getCommitsSinceTagByDate`).
+     *
+     * @param tagName Der Name des Tags, seit dem Commits geholt werden sollen.
+     * @return Eine Liste von `GitCommit`, die seit diesem Tag erstellt wurden (neueste zuerst).
+     * @throws IOException Wenn ein Fehler bei der API-Anfrage oder der Verarbeitung auftritt.
+     */
+    private List<GitCommit> getCommitsSincetag(String tagName) throws IOException {
+        if (commitStore != null){
+            syncCommitStore();
+            TagInfo tagInfo = getTagInfo(tagName);
+            if (tagInfo != null && commitStore.contains(tagInfo.getSha())){
+                return commitStore.range(tagInfo.getSha(), commitStore.getHead());
+            }
+        }
+        List<GitCommit> commits = compareRange(tagName, getDefaultBranch(), commitPageParser::parseComparison);
+        if (commits == null){
+            return getCommitsSinceTagByDate(tagName);
+        }
+        Collections.reverse(commits);
+        return commits;
+    }
+
+    /**
+     * Holt alle Commits ab dem Datum eines Tags (Näherung, wenn `/compare` nicht verwendet werden kann).
+     *
+     * Schritte:
      * Ruft Informationen zum gegebenen Tag ab (SHA und Datum).
-     * Holt alle Commits ab dem Datum des Tags über die GitHub-API.
-     * Filtert die Commits basierend darauf, ob sie den SHA des Tags enthalten.
+     * Holt alle Commits ab dem Datum des Tags über die GitHub-API (Seiten parallel über `fetchCommitPages`).
+     * Filtert den Commit des Tags heraus.
      * Gibt die Liste der gefilterten Commits zurück.
      *
      * @param tagName Der Name des Tags, seit dem Commits geholt werden sollen.
-     * @return Eine Liste von `GitCommit`, die seit diesem Tag erstellt wurden.
+     * @return Eine Liste von `GitCommit`, die seit dem Datum des Tags erstellt wurden.
      * @throws IOException Wenn ein Fehler bei der API-Anfrage oder der Verarbeitung auftritt.
      */
-    private List<GitCommit> getCommitsSincetag(String tagName) throws IOException {
+    private List<GitCommit> getCommitsSinceTagByDate(String tagName) throws IOException {
         TagInfo tagInfo = getTagInfo(tagName);
         if (tagInfo == null){
             throw  new IOException("Tag "+ tagName + " not found.");
         }
         List<GitCommit> commits = new ArrayList<>();
-        String url = API_URL + OWNER + "/" + REPO + "/commits?since=" + tagInfo.getDate() + "&per_page=100";
-
-        while (url!=null){
-            PaginatedResponse response = fetchCommitsFromUrl(url);
-            JSONArray commitArray = response.getData();
-
-            for (int i = 0; i < commitArray.length(); i++) {
-                JSONObject commitObj = commitArray.getJSONObject(i);
-                String sha = commitObj.getString("sha");
+        String url = apiUrl + OWNER + "/" + REPO + "/commits?since=" + tagInfo.getDate() + "&per_page=100";
 
-                if (!sha.startsWith(tagInfo.getSha().substring(0, 7))){
-                    String message = commitObj.getJSONObject("commit").getString("message");
-                    commits.add(new GitCommit(sha, message));
-                }
+        fetchCommitPages(url, commit -> {
+            if (!commit.getHash().equals(tagInfo.getSha())){
+                commits.add(commit);
             }
-            url = response.getNextUrl();
-        }
+        });
         return commits;
     }
 
@@ -405,43 +740,83 @@ public class GitCommitFromRepo {
     }
 
     /**
-     * Holt alle Commits bis zu einem bestimmten Datum (über die GitHub-API).
+     * Holt genau die Commits zwischen zwei Refs (Tags, Branches oder SHAs) über `/compare/{base}...{head}`.
+     *
+     * @param baseRef Der ältere Ref (nicht enthalten).
+     * @param headRef Der neuere Ref (enthalten).
+     * @return Die Commits, die von `headRef`, aber nicht von `baseRef` aus erreichbar sind (neueste zuerst).
+     * @throws IOException Wenn eine Anfrage fehlschlägt, ein Ref unbekannt ist oder der Vergleich die Grenzen
+     *                     der API überschreitet.
+     */
+    public List<GitCommit> getCommitsBetween(String baseRef, String headRef) throws IOException {
+        List<GitCommit> commits = compareRange(baseRef, headRef, commitPageParser::parseComparison);
+        if (commits == null){
+            throw new IOException("Comparison " + baseRef + "..." + headRef + " is not possible through the GitHub API.");
+        }
+        Collections.reverse(commits);
+        return commits;
+    }
+
+    /**
+     * Lädt einen Vergleich zweier Refs seitenweise.
      *
      * Schritte:
-     * Baut die Anfrage-URL mit dem Parameter `until` auf (Datum).
-     * Ruft alle Commits in Seiten von maximal 100 Commits gleichzeitig ab.
-     * Fügt die Commits in die Liste ein.
-     * Gibt die vollständige Liste der Commits zurück.
+     * Fragt `/compare/{base}...{head}` mit 100 Commits pro Seite ab; die Seiten 2 bis N werden wie bei
+     * `fetchCommitPages` parallel geladen. Die Dateiliste der ersten Seite wird beim Parsen übersprungen.
+     * Antwortet GitHub mit einem Fehler, der auf einen zu großen Vergleich hinweist (422 oder 5xx), oder liefern
+     * alle Seiten zusammen weniger als `total_commits`, gilt der Vergleich als zu groß.
+     * Ist einer der Refs unbekannt (404), ist der Vergleich ebenfalls nicht möglich.
      *
-     * @param untilDate Das Datum, bis zu dem die Commits geholt werden sollen (im ISO8601-Format).
-     * @return Eine Liste von `GitCommit`, die bis zu diesem Datum erstellt wurden.
-     * @throws IOException Wenn ein Fehler bei der API-Verarbeitung auftritt.
+     * @param pageParser Liest die Commits einer Seite und liefert `total_commits`.
+     * @return Die Commits in der Reihenfolge der API (älteste zuerst) oder `null`, wenn der Vergleich nicht
+     *         möglich ist und der Aufrufer auf die Commit-Liste ausweichen muss.
+     * @throws IOException Wenn eine Anfrage aus anderen Gründen fehlschlägt.
      */
-    private List<GitCommit> fetchCommitsUntilDate(String untilDate) throws IOException {
-        List<GitCommit> commits = new ArrayList<>();
-        String url = API_URL + OWNER + "/" + REPO + "/commits?until=" + untilDate + "&per_page=100";
-        while(url!=null){
-            PaginatedResponse response = fetchCommitsFromUrl(url);
-            JSONArray commitArray = response.getData();
+    private <T> List<T> compareRange(String baseRef, String headRef, PageParser<T> pageParser) throws IOException {
+        String url = apiUrl + OWNER + "/" + REPO + "/compare/" + baseRef + "..." + headRef + "?per_page=100";
+        GitHubResponse firstResponse = fetchResponse(url);
+        if (COMPARE_LIMIT_STATUS.contains(firstResponse.getCode())){
+            System.out.println("Comparison " + baseRef + "..." + headRef + " exceeds the API limits (HTTP "
+                    + firstResponse.getCode() + "), falling back to the commit listing.");
+            return null;
+        }
+        if (firstResponse.getCode() == 404){
+            System.out.println("Comparison " + baseRef + "..." + headRef + " not found, falling back to the commit listing.");
+            return null;
+        }
 
-            for (int i = 0; i < commitArray.length(); i++) {
-                JSONObject commitObj = commitArray.getJSONObject(i);
-                String sha = commitObj.getString("sha");
-                String message = commitObj.getJSONObject("commit").getString("message");
+        List<T> commits = new ArrayList<>();
+        int[] totalCommits = {-1};
+        PageParser<T> countingParser = (body, commitConsumer) -> {
+            int total = pageParser.parse(body, commitConsumer);
+            totalCommits[0] = Math.max(totalCommits[0], total);
+            return total;
+        };
+        fetchCommitPages(checkStatus(firstResponse), countingParser, commits::add);
+
+        if (totalCommits[0] > commits.size()){
+            System.out.println("Comparison " + baseRef + "..." + headRef + " was truncated (" + commits.size()
+                    + " of " + totalCommits[0] + " commits), falling back to the commit listing.");
+            return null;
+        }
+        return commits;
+    }
 
-                commits.add(new GitCommit(sha, message));
-            }
-            url = response.getNextUrl();
+    /**
+     * @return Der Standard-Branch des Repositorys (einmal über `/repos/{owner}/{repo}` ermittelt).
+     */
+    private String getDefaultBranch() throws IOException {
+        if (defaultBranch == null){
+            defaultBranch = fetchJsonObjectFromUrl(apiUrl + OWNER + "/" + REPO).getString("default_branch");
         }
-        return  commits;
+        return defaultBranch;
     }
 
     /**
      * Holt und parst ein JSON-Objekt über eine URL von der GitHub-API.
      *
      * Schritte:
-     * Baut eine HTTP-Verbindung zur angegebenen URL auf.
-     * Führt die Anfrage aus und prüft den Antwortstatus.
+     * Führt die Anfrage über eine Verbindung aus dem gemeinsamen Pool aus und prüft den Antwortstatus.
      * Liest den Antworttext und konvertiert ihn in ein JSON-Objekt.
      * Gibt das JSON-Objekt zurück.
      *
@@ -450,43 +825,15 @@ public class GitCommitFromRepo {
      * @throws IOException Wenn ein Fehler bei der Anfrage oder beim Parsen auftritt.
      */
     private JSONObject fetchJsonObjectFromUrl(String url) throws IOException {
-        HttpURLConnection conn = null;
-        BufferedReader reader = null;
-
-        try{
-            conn = (HttpURLConnection) new URL(url).openConnection();
-            setUpConnection(conn);
-            int responseCode = conn.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK){
-                throw new IOException("HTTP error code: " + responseCode + " - " + conn.getResponseMessage());
-            }
-
-            reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            StringBuilder jsonStr = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null){
-                jsonStr.append(line);
-            }
-            return new JSONObject(jsonStr.toString());
-        }finally {
-            if (reader != null){
-                try{
-                    reader.close();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-            if (conn!=null){
-                conn.disconnect();
-            }
-        }
+        return new JSONObject(fetch(url).getBodyAsString());
     }
 
     /**
      * Holt die SHA eines bestimmten Tags im Repository.
      *
      * Schritte:
-     * Ruft die Liste der Tags vom Repository ab.
+     * Liegt eine über GraphQL geladene Historie vor, wird der Tag in ihrem Tag-Index gesucht.
+     * Ruft sonst die Liste der Tags vom Repository ab.
      * Durchsucht die Tags nach dem gegebenen Tag-Namen.
      * Gibt die SHA des Tags zurück, wenn dieser gefunden wird.
      * Wirft eine Ausnahme, wenn der gegebene Tag nicht gefunden wird.
@@ -496,7 +843,12 @@ public class GitCommitFromRepo {
      * @throws IOException Wenn ein Fehler bei der Anfrage auftritt.
      */
     public String getCommitShaForTag(String tag) throws IOException {
-        String url = API_URL + OWNER + "/" + REPO + "/tags";
+        RepositoryHistory history = graphQLHistory;
+        TagIndex.Tag indexed = history != null ? history.getTags().get(tag) : null;
+        if (indexed != null){
+            return indexed.getCommitId();
+        }
+        String url = apiUrl + OWNER + "/" + REPO + "/tags";
         JSONArray tags = fetchJsonArrayFromUrl(url);
 
         for(int i = 0; i < tags.length(); i++){
@@ -588,8 +940,7 @@ public class GitCommitFromRepo {
      * Holt und parst ein JSON-Array über eine URL von der GitHub-API.
      *
      * Schritte:
-     * Baut eine HTTP-Verbindung zur angegebenen URL auf.
-     * Führt die Anfrage aus und prüft den Antwortstatus.
+     * Führt die Anfrage über eine Verbindung aus dem gemeinsamen Pool aus und prüft den Antwortstatus.
      * Liest den Antworttext und konvertiert ihn in ein JSON-Array.
      * Gibt das JSON-Array zurück.
      *
@@ -598,60 +949,87 @@ public class GitCommitFromRepo {
      * @throws IOException Wenn ein Fehler bei der Anfrage oder beim Parsen auftritt.
      */
     private JSONArray fetchJsonArrayFromUrl(String url) throws IOException {
-        HttpURLConnection conn = null;
-        BufferedReader reader = null;
-
-        try{
-            conn = (HttpURLConnection) new URL(url).openConnection();
-            setUpConnection(conn);
-
-            int responseCode = conn.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK){
-                throw  new IOException("HTTP error code: " + responseCode + " - " + conn.getResponseMessage());
-            }
-            reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            StringBuilder jsonStr = new StringBuilder();
-            String line;
-            while((line = reader.readLine()) != null){
-                jsonStr.append(line);
-            }
-            return new JSONArray(jsonStr.toString());
-        }finally {
-            if (reader != null){
-                try{
-                    reader.close();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-            if (conn != null) conn.disconnect();
-        }
+        return new JSONArray(fetch(url).getBodyAsString());
     }
 
     /**
-     * Konfiguriert die HTTP-Verbindung für die GitHub-API.
+     * Stellt die Header für Anfragen an die GitHub-API zusammen.
      *
      * Schritte:
      * Fügt den Bearer-Token-Header für die Authentifizierung hinzu.
      * Fügt zusätzliche Header wie "User-Agent" und "Accept"-Typ hinzu.
      *
-     * @param conn Die HTTP-Verbindung, die konfiguriert werden soll.
+     * @param token Das vom Scheduler gewählte Token.
+     * @return Die Header für die Anfrage.
      */
-    private void setUpConnection(HttpURLConnection conn) {
-        if (authToken != null && !authToken.isEmpty()){
-            conn.setRequestProperty("Authorization", "Bearer " + authToken);
+    private Map<String, String> requestHeaders(GitHubRateLimiter.TokenBudget token) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (token.getToken() != null){
+            headers.put("Authorization", "Bearer " + token.getToken());
+        }
+        headers.put("Accept", "application/vnd.github+json");
+        //headers.put("X-GitHub-Api-Version", "2022-11-28");
+        headers.put("User-Agent", "baurel.tanekam@medien-systempartner");
+        return headers;
+    }
+
+    /**
+     * Führt eine GET-Anfrage an die GitHub-API über den gemeinsamen Verbindungspool aus.
+     *
+     * Schritte:
+     * Holt beim Rate-Limit-Scheduler ein Token (wartet, falls alle Budgets erschöpft oder gesperrt sind).
+     * Sendet die Anfrage mit den Standard-Headern; die Verbindung bleibt danach für weitere Seiten offen.
+     * Wurde die Anfrage wegen des Rate-Limits abgelehnt, wird sie nach der Sperre wiederholt (ggf. mit einem
+     * anderen Token), höchstens `MAX_RATE_LIMIT_ATTEMPTS`-mal.
+     * Prüft den Antwortstatus.
+     *
+     * @param url Die URL der Anfrage.
+     * @return Die Antwort mit Status 200.
+     * @throws IOException Wenn die Anfrage fehlschlägt oder der Status nicht 200 ist.
+     */
+    private GitHubResponse fetch(String url) throws IOException {
+        return checkStatus(fetchResponse(url));
+    }
+
+    // Wie `fetch`, aber ohne Statusprüfung, damit der Aufrufer auf bestimmte Fehlerstatus reagieren kann
+    private GitHubResponse fetchResponse(String url) throws IOException {
+        for (int attempt = 1; ; attempt++){
+            GitHubRateLimiter.TokenBudget token = acquireToken();
+            GitHubResponse response;
+            try{
+                response = httpClient.get(url, requestHeaders(token));
+            }catch (IOException e){
+                rateLimiter.release(token);
+                throw e;
+            }
+            if (!rateLimiter.update(token, response) || attempt == MAX_RATE_LIMIT_ATTEMPTS){
+                return response;
+            }
+        }
+    }
+
+    private GitHubRateLimiter.TokenBudget acquireToken() throws IOException {
+        try{
+            return rateLimiter.acquire();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the GitHub rate limit.", e);
+        }
+    }
+
+    private GitHubResponse checkStatus(GitHubResponse response) throws IOException {
+        if (response.getCode() != 200){
+            throw new IOException("HTTP error code: " + response.getCode() + " - " + response.getReasonPhrase());
         }
-        conn.setRequestProperty("Accept", "application/vnd.github+json");
-        //conn.setRequestProperty("X-GitHub-Api-Version", "2022-11-28");
-        conn.setRequestProperty("User-Agent", "baurel.tanekam@medien-systempartner");
+        return response;
     }
 
     /**
      * Holt paginierte Commits von einer gegebenen GitHub-API-URL.
      *
      * Schritte:
-     * Baut die HTTP-Verbindung zur gegebenen URL auf.
-     * Holt die Antwort und liest ihre Inhalte in ein JSON-Array ein.
+     * Führt die Anfrage über eine Verbindung aus dem gemeinsamen Pool aus.
+     * Liest die Commits mit dem `CommitPageParser` aus dem Antworttext (nur SHA und Nachricht).
      * Parst den "Link"-Header für die nächste Seite (falls vorhanden).
      * Gibt ein `PaginatedResponse`-Objekt zurück, das die Commits und die URL der nächsten Seite enthält.
      *
@@ -660,38 +1038,126 @@ public class GitCommitFromRepo {
      * @throws IOException Wenn ein Fehler bei der Anfrage oder der Verarbeitung auftritt.
      */
     private PaginatedResponse fetchCommitsFromUrl(String url) throws IOException {
-        HttpURLConnection conn = null;
-        BufferedReader reader = null;
+        return toPage(fetch(url));
+    }
 
-        try{
-            conn= (HttpURLConnection) new URL(url).openConnection();
-            setUpConnection(conn);
+    private PaginatedResponse toPage(GitHubResponse response) throws IOException {
+        List<GitCommit> data = commitPageParser.parse(response.getBody());
+        String link = response.getHeader("Link");
 
-            int responseCode = conn.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK){
-                throw new IOException("HTTP error code: " + responseCode + " - " + conn.getResponseMessage());
-            }
-            reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            StringBuilder jsonStr = new StringBuilder();
-            String line;
-            while((line = reader.readLine()) != null) jsonStr.append(line);
+        return new PaginatedResponse(data, parseNextPage(link), parseLink(link, "last"));
+    }
 
-            JSONArray data = new JSONArray(jsonStr.toString());
-            String nextUrl = parseNextPage(conn.getHeaderField("Link"));
+    /**
+     * Lädt alle Seiten einer Commit-Liste und übergibt sie in Seitenreihenfolge.
+     *
+     * Schritte:
+     * Lädt die erste Seite und liest aus dem Link-Header die Nummer der letzten Seite (`rel="last"`).
+     * Fehlt sie, werden die Seiten wie bisher nacheinander über `rel="next"` geladen.
+     * Andernfalls werden die Seiten 2 bis N parallel angefragt, höchstens `prefetchWindow` gleichzeitig.
+     * Die Antworten werden in Seitenreihenfolge abgeholt; sobald eine Seite verarbeitet ist, rückt die nächste nach.
+     * Zeigt `X-RateLimit-Remaining`, dass das Budget knapp wird, wird das Fenster halbiert (bis auf 1).
+     * Jede Anfrage holt ihr Token beim Rate-Limit-Scheduler; eine wegen des Rate-Limits abgelehnte Seite wird
+     * über `fetch` wiederholt.
+     * Schlägt eine Seite fehl, werden die noch laufenden Anfragen abgebrochen.
+     *
+     * @param url Die URL der ersten Seite.
+     * @param commitConsumer Erhält jeden Commit, in Seitenreihenfolge.
+     * @throws IOException Wenn eine Seite nicht geladen oder gelesen werden kann.
+     */
+    private void fetchCommitPages(String url, Consumer<GitCommit> commitConsumer) throws IOException {
+        fetchCommitPages(fetch(url), commitPageParser::parse, commitConsumer);
+    }
 
-            return new PaginatedResponse(data, nextUrl);
-        }finally {
-            if (reader != null){
+    /**
+     * @param firstResponse Die bereits geladene erste Seite (Status 200).
+     * @param pageParser Liest die Commits aus dem Text einer Seite (Liste oder Vergleich, knapp oder vollständig).
+     * @param commitConsumer Erhält jeden Commit, in Seitenreihenfolge.
+     * @throws IOException Wenn eine Seite nicht geladen oder gelesen werden kann.
+     */
+    private <T> void fetchCommitPages(GitHubResponse firstResponse, PageParser<T> pageParser, Consumer<T> commitConsumer)
+            throws IOException {
+        pageParser.parse(firstResponse.getBody(), commitConsumer);
+
+        String firstLink = firstResponse.getHeader("Link");
+        String firstNextUrl = parseNextPage(firstLink);
+        String lastUrl = parseLink(firstLink, "last");
+        int lastPage = lastUrl != null ? pageNumber(lastUrl) : -1;
+        if (lastPage < 2 || firstNextUrl == null || pageNumber(firstNextUrl) != 2){
+            String nextUrl = firstNextUrl;
+            while (nextUrl != null){
+                GitHubResponse response = fetch(nextUrl);
+                pageParser.parse(response.getBody(), commitConsumer);
+                nextUrl = parseNextPage(response.getHeader("Link"));
+            }
+            return;
+        }
+
+        int window = adjustWindow(prefetchWindow, firstResponse);
+        Deque<CompletableFuture<GitHubResponse>> inFlight = new ArrayDeque<>();
+        Deque<GitHubRateLimiter.TokenBudget> inFlightTokens = new ArrayDeque<>();
+        int nextPage = 2;
+        try{
+            for (int page = 2; page <= lastPage; page++){
+                while (nextPage <= lastPage && inFlight.size() < window){
+                    GitHubRateLimiter.TokenBudget token = acquireToken();
+                    inFlightTokens.add(token);
+                    inFlight.add(httpClient.getAsync(pageUrl(lastUrl, nextPage++), requestHeaders(token)));
+                }
+                String pageUrl = pageUrl(lastUrl, page);
+                GitHubRateLimiter.TokenBudget token = inFlightTokens.poll();
+                GitHubResponse response;
                 try{
-                    reader.close();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    response = httpClient.await(inFlight.poll(), pageUrl);
+                }catch (IOException e){
+                    rateLimiter.release(token);
+                    throw e;
                 }
+                response = rateLimiter.update(token, response) ? fetch(pageUrl) : checkStatus(response);
+                pageParser.parse(response.getBody(), commitConsumer);
+                window = adjustWindow(window, response);
+            }
+        }finally {
+            for (CompletableFuture<GitHubResponse> pending : inFlight){
+                pending.cancel(true);
             }
-            if (conn != null) conn.disconnect();
+            for (GitHubRateLimiter.TokenBudget pending : inFlightTokens){
+                rateLimiter.release(pending);
+            }
+        }
+    }
 
+    private interface PageParser<T> {
+        int parse(byte[] body, Consumer<T> commitConsumer) throws IOException;
+    }
+
+    private int adjustWindow(int window, GitHubResponse response) {
+        String remaining = response.getHeader("X-RateLimit-Remaining");
+        if (remaining == null || window == 1){
+            return window;
+        }
+        try{
+            int budget = Integer.parseInt(remaining.trim());
+            if (budget < LOW_RATE_LIMIT_BUDGET){
+                int smaller = Math.max(1, window / 2);
+                System.out.println("Rate limit budget low (" + budget + " left), prefetch window " + window + " -> " + smaller);
+                return smaller;
+            }
+        }catch (NumberFormatException e){
+            System.out.println("Invalid X-RateLimit-Remaining header: " + remaining);
+        }
+        return window;
+    }
+
+    // ".../commits?per_page=100&page=7" -> 7
+    private static int pageNumber(String url) {
+        Matcher matcher = PAGE_PARAMETER.matcher(url);
+        return matcher.find() ? Integer.parseInt(matcher.group(2)) : -1;
+    }
+
+    private static String pageUrl(String lastUrl, int page) {
+        return PAGE_PARAMETER.matcher(lastUrl).replaceFirst("$1page=" + page);
     }
-}
 
     /**
      * Extrahiert die URL der nächsten Seite aus einem "Link"-HTTP-Header.
@@ -705,13 +1171,24 @@ public class GitCommitFromRepo {
      * @return Die URL der nächsten Seite oder `null`, falls keine vorhanden.
      */
     private String parseNextPage(String link) {
+        return parseLink(link, "next");
+    }
+
+    /**
+     * Extrahiert die URL mit der angegebenen Beziehung (z. B. "next" oder "last") aus einem "Link"-HTTP-Header.
+     *
+     * @param link Der Link-Header als String.
+     * @param rel Die gesuchte Beziehung.
+     * @return Die URL oder `null`, falls keine vorhanden.
+     */
+    static String parseLink(String link, String rel) {
         if (link == null){
             return null;
         }
         String[] parts = link.split(",");
         for (String part : parts){
             part = part.trim();
-            if (part.contains("rel=\"next")){
+            if (part.contains("rel=\"" + rel + "\"")){
                 int start = part.indexOf("<") + 1;
                 int end = part.indexOf(">");
                 if (start > 0 && end > start){
@@ -736,42 +1213,45 @@ public class GitCommitFromRepo {
         System.out.println("Try Connection to GitHub-API ...");
         System.out.println("Repository: " + OWNER + "/" + REPO);
 
-        String testUrl = API_URL + OWNER + "/" + REPO;
+        String testUrl = apiUrl + OWNER + "/" + REPO;
         System.out.println(testUrl);
-        HttpURLConnection conn = null;
+        GitHubRateLimiter.TokenBudget token = acquireToken();
+        GitHubResponse response;
         try{
-            conn = (HttpURLConnection) new URL(testUrl).openConnection();
-            setUpConnection(conn);
-
-            int responseCode = conn.getResponseCode();
-            System.out.println("ResponseCode: " + responseCode);
-
-            switch (responseCode){
-                case 200:
-                    System.err.println("Successfully Connection.");
-                    break;
-                case 401:
-                    System.err.println("Invalid API Key.");
-                    break;
-                case 403:
-                    System.err.println("Forbidden Access.");
-                    System.err.println("Verify your rights.");
-                    break;
-                case 404:
-                    System.err.println("Repository not found.");
-                    System.err.println("Owner's name: " + OWNER);
-                    System.err.println("Repository's name: " + REPO);
-                    break;
-                case 500:
-                    System.err.println("Please try again later.");
-                    break;
-                case 429:
-                    System.err.println("Rate limit exceded. Please try again later."); break;
-                default:
-                    throw new IOException();
-            }
-        }finally {
-            if (conn!=null) conn.disconnect();
+            response = httpClient.get(testUrl, requestHeaders(token));
+        }catch (IOException e){
+            rateLimiter.release(token);
+            throw e;
+        }
+        rateLimiter.update(token, response);
+        int responseCode = response.getCode();
+        System.out.println("ResponseCode: " + responseCode + " (" + response.getProtocol() + ")");
+
+        switch (responseCode){
+            case 200:
+                System.err.println("Successfully Connection.");
+                break;
+            case 401:
+                System.err.println("Invalid API Key.");
+                break;
+            case 403:
+                System.err.println("Forbidden Access.");
+                System.err.println("Verify your rights.");
+                break;
+            case 404:
+                System.err.println("Repository not found.");
+                System.err.println("Owner's name: " + OWNER);
+                System.err.println("Repository's name: " + REPO);
+                break;
+            case 500:
+                System.err.println("Please try again later.");
+                break;
+            case 429:
+                System.err.println("Rate limit exceded. Please try again later.");
+                System.err.println(rateLimiter);
+                break;
+            default:
+                throw new IOException();
         }
     }
 
@@ -0,0 +1,197 @@
+package git;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import credentials.Connexion;
+
+public class GitCommitFromSearch {
+    private static final String DEFAULT_SEARCH_URL = "https://api.github.com/search/commits";
+    // GitHub liefert pro Suche höchstens die ersten 1000 Treffer
+    public static final int RESULT_CAP = 1000;
+    // Eine Suche darf höchstens fünf Operatoren (AND/OR/NOT) enthalten, also sechs mit OR verknüpfte Tickets
+    private static final int TICKETS_PER_QUERY = 6;
+    private static final int MAX_RATE_LIMIT_ATTEMPTS = 5;
+
+    private final String OWNER;
+    private final String REPO;
+    private final String searchUrl;
+    private final GitHubHttpClient httpClient;
+    private final GitHubRateLimiter rateLimiter;
+    private final CommitPageParser commitPageParser = new CommitPageParser();
+
+    public GitCommitFromSearch(String REPO, String OWNER){
+        this(REPO, OWNER, DEFAULT_SEARCH_URL, GitHubHttpClient.shared(),
+                GitHubRateLimiter.shared(Connexion.AUTH_FOR_REPO, "search"));
+    }
+
+    /**
+     * @param REPO Der Name des Repositorys.
+     * @param OWNER Der Besitzer des Repositorys.
+     * @param searchUrl Der Endpunkt der Commit-Suche (z. B. "https://api.github.com/search/commits" oder ein lokaler Testserver).
+     * @param httpClient Der (gemeinsame) HTTP-Client mit Verbindungspool.
+     * @param rateLimiter Der Scheduler für das Such-Budget (getrennt vom REST-Budget, bei GitHub 30 Anfragen pro Minute).
+     */
+    public GitCommitFromSearch(String REPO, String OWNER, String searchUrl, GitHubHttpClient httpClient, GitHubRateLimiter rateLimiter){
+        this.OWNER = OWNER;
+        this.REPO = REPO;
+        this.searchUrl = searchUrl;
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Sucht die Commits zu einer Liste von Tickets über die Commit-Suche von GitHub, statt die gesamte Historie zu laden.
+     *
+     * Schritte:
+     * Normalisiert die Ticketnummern und entfernt doppelte, damit kein Ticket zweimal gesucht wird.
+     * Fasst bis zu `TICKETS_PER_QUERY` Tickets mit `OR` zu einer Suche zusammen
+     * (`repo:{owner}/{repo} "NWTDL-571" OR "NWTDL-573" ...`, neueste zuerst) und lädt alle Seiten nacheinander.
+     * Meldet GitHub mehr als `RESULT_CAP` Treffer oder eine unvollständige Suche, werden die übrigen Seiten nicht
+     * geladen und die Tickets der Suche in zwei Hälften erneut gesucht, bis ein einzelnes Ticket übrig bleibt; erst
+     * ein Ticket, dessen eigene Suche über der Grenze liegt, gilt als abgeschnitten. Ebenso, wenn alle Seiten
+     * zusammen weniger als `total_count` Treffer liefern.
+     * Entfernt Commits, die von mehreren Suchen gefunden wurden, und ordnet die Treffer über den `TicketIndex` zu:
+     * die Suche ist unscharf (z. B. findet "NWTDL-571" auch "NWTDL 571"), der Index prüft die genaue Ticketnummer.
+     *
+     * @param tickets Die Ticketnummern, mit oder ohne eckige Klammern.
+     * @return Die Commits pro Ticket und die Tickets, für die die Suche nicht ausgereicht hat.
+     * @throws IOException Wenn eine Anfrage fehlschlägt.
+     */
+    public TicketSearchResult searchTickets(List<String> tickets) throws IOException {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String ticket : tickets){
+            if (ticket != null && !ticket.trim().isEmpty()){
+                keys.add(TicketIndex.normalize(ticket));
+            }
+        }
+
+        Map<String, GitCommit> found = new LinkedHashMap<>();
+        Set<String> capped = new HashSet<>();
+        List<String> batch = new ArrayList<>(TICKETS_PER_QUERY);
+        int requests = 0;
+        for (String key : keys){
+            batch.add(key);
+            if (batch.size() == TICKETS_PER_QUERY){
+                requests += search(batch, found, capped);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()){
+            requests += search(batch, found, capped);
+        }
+        System.out.println("Searched " + keys.size() + " tickets in " + requests + " requests: " + found.size()
+                + " commits" + (capped.isEmpty() ? "" : ", " + capped.size() + " tickets over the search limit"));
+        return new TicketSearchResult(TicketIndex.of(new ArrayList<>(found.values())), capped);
+    }
+
+    // Eine Suche für bis zu TICKETS_PER_QUERY Tickets, bei Überschreitung der Grenze halbiert; liefert die Anzahl der Anfragen
+    private int search(List<String> keys, Map<String, GitCommit> found, Set<String> capped) throws IOException {
+        String url = searchUrl + "?q=" + URLEncoder.encode(query(keys), StandardCharsets.UTF_8)
+                + "&sort=committer-date&order=desc&per_page=100";
+        List<GitCommit> results = new ArrayList<>();
+        int requests = 0;
+        while (url != null){
+            GitHubResponse response = fetch(url);
+            requests++;
+            CommitSearchPage page = commitPageParser.parseSearch(response.getBody(), results::add);
+            if (page.isIncompleteResults() || page.getTotalCount() > RESULT_CAP){
+                System.out.println("Commit search for " + keys + " is over the search limit (" + page.getTotalCount()
+                        + " results" + (page.isIncompleteResults() ? ", incomplete" : "") + ").");
+                return requests + split(keys, found, capped);
+            }
+            url = GitCommitFromRepo.parseLink(response.getHeader("Link"), "next");
+            if (url == null && results.size() < page.getTotalCount()){
+                System.out.println("Commit search for " + keys + " returned only " + results.size() + " of "
+                        + page.getTotalCount() + " results.");
+                return requests + split(keys, found, capped);
+            }
+        }
+        for (GitCommit commit : results){
+            found.putIfAbsent(commit.getHash(), commit);
+        }
+        return requests;
+    }
+
+    // Sucht die beiden Hälften einzeln; ein einzelnes Ticket lässt sich nicht weiter teilen und gilt als abgeschnitten
+    private int split(List<String> keys, Map<String, GitCommit> found, Set<String> capped) throws IOException {
+        if (keys.size() == 1){
+            capped.addAll(keys);
+            return 0;
+        }
+        int middle = keys.size() / 2;
+        return search(new ArrayList<>(keys.subList(0, middle)), found, capped)
+                + search(new ArrayList<>(keys.subList(middle, keys.size())), found, capped);
+    }
+
+    private String query(List<String> keys) {
+        StringBuilder query = new StringBuilder("repo:").append(OWNER).append('/').append(REPO).append(' ');
+        for (int i = 0; i < keys.size(); i++){
+            if (i > 0){
+                query.append(" OR ");
+            }
+            query.append('"').append(keys.get(i)).append('"');
+        }
+        return query.toString();
+    }
+
+    /**
+     * Führt eine Suchanfrage aus; wird sie wegen des Rate-Limits abgelehnt, wird sie nach der Sperre wiederholt,
+     * höchstens `MAX_RATE_LIMIT_ATTEMPTS`-mal.
+     *
+     * @throws IOException Wenn die Anfrage fehlschlägt oder der Status nicht 200 ist.
+     */
+    private GitHubResponse fetch(String url) throws IOException {
+        for (int attempt = 1; ; attempt++){
+            GitHubRateLimiter.TokenBudget token = acquireToken();
+            GitHubResponse response;
+            try{
+                response = httpClient.get(url, requestHeaders(token));
+            }catch (IOException e){
+                rateLimiter.release(token);
+                throw e;
+            }
+            boolean retry = rateLimiter.update(token, response);
+            if (response.getCode() == 200){
+                return response;
+            }
+            if (!retry || attempt == MAX_RATE_LIMIT_ATTEMPTS){
+                throw new IOException("HTTP error code: " + response.getCode() + " - " + response.getReasonPhrase());
+            }
+        }
+    }
+
+    private GitHubRateLimiter.TokenBudget acquireToken() throws IOException {
+        try{
+            return rateLimiter.acquire();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the GitHub rate limit.", e);
+        }
+    }
+
+    private Map<String, String> requestHeaders(GitHubRateLimiter.TokenBudget token) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (token.getToken() != null){
+            headers.put("Authorization", "Bearer " + token.getToken());
+        }
+        headers.put("Accept", "application/vnd.github+json");
+        headers.put("User-Agent", "baurel.tanekam@medien-systempartner");
+        return headers;
+    }
+
+    /**
+     * @return Der Rate-Limit-Scheduler für das Such-Budget.
+     */
+    public GitHubRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+}
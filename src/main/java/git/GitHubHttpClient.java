@@ -0,0 +1,329 @@
+package git;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+public class GitHubHttpClient implements Closeable {
+    public static final int DEFAULT_MAX_PER_ROUTE = 8;
+    public static final int DEFAULT_MAX_TOTAL = 32;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    public static final Path DEFAULT_CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "changelog-automate", "github");
+    public static final long DEFAULT_CACHE_BYTES = 256L * 1024 * 1024;
+    // Unbenutzte Verbindungen werden nach dieser Zeit geschlossen (GitHub beendet sie sonst selbst)
+    private static final TimeValue IDLE_TIMEOUT = TimeValue.ofSeconds(60);
+
+    private static GitHubHttpClient shared;
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient client;
+    private final Duration timeout;
+    // Entpacken und Cache-Zugriffe laufen hier statt auf den I/O-Reactor-Threads des Clients
+    private final ExecutorService responseExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder transferredBytes = new LongAdder();
+    private volatile GitHubResponseCache responseCache;
+
+    /**
+     * Erstellt einen Client mit eigenem Verbindungspool.
+     *
+     * Schritte:
+     * Legt einen Pool mit Obergrenzen pro Route (Host) und insgesamt an; Verbindungen bleiben offen
+     * (Keep-Alive) und werden für folgende Anfragen wiederverwendet.
+     * Handelt bei TLS-Verbindungen per ALPN HTTP/2 aus und fällt sonst auf HTTP/1.1 zurück.
+     * Über HTTP/2 laufen parallele Anfragen als Streams über dieselbe Verbindung.
+     *
+     * @param maxPerRoute Wie viele Verbindungen höchstens gleichzeitig zu einem Host offen sind.
+     * @param maxTotal Wie viele Verbindungen höchstens insgesamt offen sind.
+     * @param timeout Die maximale Dauer für Verbindungsaufbau und Antwort einer Anfrage.
+     */
+    public GitHubHttpClient(int maxPerRoute, int maxTotal, Duration timeout) {
+        if (maxPerRoute < 1 || maxTotal < maxPerRoute) {
+            throw new IllegalArgumentException("Connection limits must satisfy 1 <= maxPerRoute <= maxTotal.");
+        }
+        this.timeout = timeout;
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(maxPerRoute)
+                .setMaxConnTotal(maxTotal)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(timeout))
+                        .setSocketTimeout(Timeout.of(timeout))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(timeout))
+                        .build())
+                .evictIdleConnections(IDLE_TIMEOUT)
+                .build();
+        this.client.start();
+    }
+
+    /**
+     * @return Der gemeinsame Client aller `GitCommitFromRepo`-Instanzen (mit den Standard-Grenzen und
+     *         dem Antwort-Cache unter `DEFAULT_CACHE_DIRECTORY`).
+     */
+    public static synchronized GitHubHttpClient shared() {
+        if (shared == null) {
+            shared = new GitHubHttpClient(DEFAULT_MAX_PER_ROUTE, DEFAULT_MAX_TOTAL, DEFAULT_TIMEOUT);
+            try {
+                shared.setResponseCache(new GitHubResponseCache(DEFAULT_CACHE_DIRECTORY, DEFAULT_CACHE_BYTES));
+            } catch (IOException e) {
+                System.out.println("GitHub response cache disabled: " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Setzt den Cache für bedingte Anfragen. Mit Cache sendet jede GET-Anfrage die gespeicherten Validatoren
+     * (`If-None-Match`, `If-Modified-Since`); eine 304-Antwort wird aus dem Cache bedient und zählt bei GitHub
+     * nicht gegen das Rate-Limit.
+     *
+     * @param responseCache Der Cache oder `null`, um ohne Cache zu arbeiten.
+     */
+    public void setResponseCache(GitHubResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * @return Der Antwort-Cache (z. B. für die Trefferquote) oder `null`, wenn keiner gesetzt ist.
+     */
+    public GitHubResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Führt eine GET-Anfrage über eine Verbindung aus dem Pool aus und wartet auf die Antwort.
+     *
+     * @param url Die vollständige URL.
+     * @param headers Die Anfrage-Header (z. B. Authorization, Accept).
+     * @return Die Antwort mit Statuscode, Headern und Text; Fehlerstatus werden nicht als Ausnahme gemeldet.
+     * @throws IOException Wenn die Verbindung fehlschlägt, das Timeout abläuft oder der Thread unterbrochen wird.
+     */
+    public GitHubResponse get(String url, Map<String, String> headers) throws IOException {
+        return await(getAsync(url, headers), url);
+    }
+
+    /**
+     * Startet eine GET-Anfrage über eine Verbindung aus dem Pool, ohne auf die Antwort zu warten.
+     *
+     * Schritte:
+     * Setzt die übergebenen Header und fordert eine gzip-komprimierte Antwort an.
+     * Ist ein Antwort-Cache gesetzt, wird die Anfrage bedingt gestellt und eine 304-Antwort aus dem Cache
+     * bedient; fehlt der Eintrag inzwischen, wird die Anfrage einmal ohne Bedingung wiederholt.
+     * Entpackt den Antworttext, wenn der Server ihn komprimiert geschickt hat. Entpacken und Cache laufen auf
+     * einem virtuellen Thread, damit der I/O-Reactor derweil weitere Verbindungen bedienen kann.
+     * Bricht die Anfrage ab, wenn sie länger als das Timeout des Clients dauert oder das Future abgebrochen wird.
+     * Die Verbindung geht danach zurück in den Pool, statt geschlossen zu werden.
+     *
+     * @param url Die vollständige URL.
+     * @param headers Die Anfrage-Header (z. B. Authorization, Accept).
+     * @return Ein Future mit der Antwort; Fehlerstatus werden nicht als Ausnahme gemeldet.
+     */
+    public CompletableFuture<GitHubResponse> getAsync(String url, Map<String, String> headers) {
+        return getAsync(url, headers, responseCache);
+    }
+
+    private CompletableFuture<GitHubResponse> getAsync(String url, Map<String, String> headers, GitHubResponseCache cache) {
+        SimpleHttpRequest request = SimpleRequestBuilder.get(url).build();
+        if (cache != null) {
+            for (Map.Entry<String, String> header : cache.conditionalHeaders(url).entrySet()) {
+                request.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        return execute(request, url, headers, cache);
+    }
+
+    /**
+     * Führt eine POST-Anfrage (z. B. an die GraphQL-API) über eine Verbindung aus dem Pool aus und wartet auf
+     * die Antwort. POST-Anfragen laufen nie über den Antwort-Cache.
+     *
+     * @param url Die vollständige URL.
+     * @param headers Die Anfrage-Header (z. B. Authorization).
+     * @param json Der Anfragetext als JSON.
+     * @return Die Antwort mit Statuscode, Headern und Text; Fehlerstatus werden nicht als Ausnahme gemeldet.
+     * @throws IOException Wenn die Verbindung fehlschlägt, das Timeout abläuft oder der Thread unterbrochen wird.
+     */
+    public GitHubResponse post(String url, Map<String, String> headers, byte[] json) throws IOException {
+        SimpleHttpRequest request = SimpleRequestBuilder.post(url)
+                .setBody(json, ContentType.APPLICATION_JSON)
+                .build();
+        return await(execute(request, url, headers, null), url);
+    }
+
+    private CompletableFuture<GitHubResponse> execute(SimpleHttpRequest request, String url, Map<String, String> headers,
+                                                      GitHubResponseCache cache) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.setHeader(header.getKey(), header.getValue());
+        }
+        request.setHeader("Accept-Encoding", "gzip");
+
+        // Der Callback läuft auf dem I/O-Reactor und reicht die rohe Antwort nur weiter
+        CompletableFuture<SimpleHttpResponse> raw = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = client.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                raw.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                raw.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                raw.cancel(false);
+            }
+        });
+        raw.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        exchange.cancel(true);
+                    }
+                });
+
+        CompletableFuture<GitHubResponse> result = raw.thenComposeAsync(response -> {
+            GitHubResponse resolved;
+            try {
+                GitHubResponse received = toResponse(response);
+                resolved = cache != null ? cache.resolve(url, received) : received;
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return resolved != null ? CompletableFuture.completedFuture(resolved) : getAsync(url, headers, null);
+        }, responseExecutor);
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                raw.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wartet auf eine mit `getAsync` gestartete Anfrage.
+     *
+     * @param future Das Future der Anfrage.
+     * @param url Die URL (für Fehlermeldungen).
+     * @return Die Antwort.
+     * @throws IOException Wenn die Anfrage fehlgeschlagen, abgelaufen oder der Thread unterbrochen worden ist.
+     */
+    public GitHubResponse await(CompletableFuture<GitHubResponse> future, String url) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + url, e);
+        } catch (CancellationException e) {
+            throw new IOException("Request cancelled: " + url, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new IOException("Request timed out after " + timeout.toMillis() + " ms: " + url);
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Request failed: " + url, cause);
+        }
+    }
+
+    private GitHubResponse toResponse(SimpleHttpResponse response) throws IOException {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : response.getHeaders()) {
+            headers.putIfAbsent(header.getName(), header.getValue());
+        }
+
+        byte[] body = response.getBodyBytes();
+        if (body == null) {
+            body = new byte[0];
+        }
+        long transferred = body.length;
+        if ("gzip".equalsIgnoreCase(headers.get("Content-Encoding"))) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+        }
+
+        requests.increment();
+        transferredBytes.add(transferred);
+        String reason = response.getReasonPhrase() != null ? response.getReasonPhrase() : "";
+        String protocol = response.getVersion() != null ? response.getVersion().toString() : "";
+        return new GitHubResponse(response.getCode(), reason, protocol, headers, body, transferred);
+    }
+
+    /**
+     * @return Die Anzahl der bisher beantworteten Anfragen.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Die Summe der übertragenen (ggf. komprimierten) Antworttexte in Byte.
+     */
+    public long getTransferredBytes() {
+        return transferredBytes.sum();
+    }
+
+    /**
+     * @return Die aktuell offenen Verbindungen des Pools (belegt und frei).
+     */
+    public int getOpenConnections() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return stats.getLeased() + stats.getAvailable();
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+        responseExecutor.shutdown();
+        synchronized (GitHubHttpClient.class) {
+            if (shared == this) {
+                shared = null;
+            }
+        }
+    }
+}
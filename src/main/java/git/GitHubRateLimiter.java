@@ -0,0 +1,336 @@
+package git;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GitHubRateLimiter {
+    public static final int DEFAULT_BURST = 20;
+    // GitHub erlaubt für REST höchstens 900 Punkte pro Minute (GET = 1 Punkt) als sekundäres Limit
+    public static final double DEFAULT_MAX_REQUESTS_PER_SECOND = 15;
+    // Sekundäre Limits ohne Retry-After: GitHub empfiehlt mindestens eine Minute Pause
+    private static final long SECONDARY_LIMIT_BACKOFF_MILLIS = 60_000;
+
+    // Eine Instanz pro Ressource und Token-Konfiguration, damit parallele Läufe dasselbe Budget teilen
+    private static final Map<String, Map<List<String>, GitHubRateLimiter>> SHARED = new LinkedHashMap<>();
+
+    private final List<TokenBudget> tokens = new ArrayList<>();
+    private final int burst;
+    private final double maxRequestsPerSecond;
+    private long requests;
+    private long rateLimited;
+    private long waits;
+    private long waitMillis;
+
+    /**
+     * Erstellt einen Scheduler für einen Pool von Tokens.
+     *
+     * @param tokens Die Tokens (leer oder `null`-Eintrag = anonyme Anfragen).
+     * @param burst Wie viele Anfragen pro Token ohne Pause hintereinander gesendet werden dürfen.
+     * @param maxRequestsPerSecond Wie schnell sich der Bucket eines Tokens nachfüllt (gegen sekundäre Limits);
+     *                             0 = keine Taktung, nur das Budget zählt.
+     */
+    public GitHubRateLimiter(List<String> tokens, int burst, double maxRequestsPerSecond) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("The burst must be at least 1.");
+        }
+        this.burst = burst;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        if (tokens == null || tokens.isEmpty()) {
+            this.tokens.add(new TokenBudget(null, burst));
+        } else {
+            for (String token : tokens) {
+                this.tokens.add(new TokenBudget(token, burst));
+            }
+        }
+    }
+
+    public GitHubRateLimiter(List<String> tokens) {
+        this(tokens, DEFAULT_BURST, DEFAULT_MAX_REQUESTS_PER_SECOND);
+    }
+
+    /**
+     * Liefert den gemeinsamen Scheduler für eine Token-Konfiguration.
+     *
+     * @param tokens Die Tokens, durch Kommas getrennt (z. B. der Wert von `REPO_AUTH`); `null` = anonym.
+     * @return Der Scheduler, der für dieselben Tokens immer derselbe ist.
+     */
+    public static GitHubRateLimiter shared(String tokens) {
+        return shared(tokens, "core");
+    }
+
+    /**
+     * Liefert den gemeinsamen Scheduler für eine Ressource der API. GitHub führt für REST (`core`) und
+     * GraphQL (`graphql`) getrennte Budgets, daher braucht jede Ressource eigene Token-Budgets.
+     *
+     * @param tokens Die Tokens, durch Kommas getrennt; `null` = anonym.
+     * @param resource Die Ressource laut `X-RateLimit-Resource` (z. B. "core" oder "graphql").
+     * @return Der Scheduler, der für dieselbe Ressource und dieselben Tokens immer derselbe ist.
+     */
+    public static synchronized GitHubRateLimiter shared(String tokens, String resource) {
+        return SHARED.computeIfAbsent(resource, r -> new LinkedHashMap<>())
+                .computeIfAbsent(parseTokens(tokens), GitHubRateLimiter::new);
+    }
+
+    /**
+     * @param tokens Die Tokens, durch Kommas getrennt.
+     * @return Die nicht leeren Tokens in der angegebenen Reihenfolge.
+     */
+    public static List<String> parseTokens(String tokens) {
+        List<String> parsed = new ArrayList<>();
+        if (tokens != null) {
+            for (String token : tokens.split(",")) {
+                if (!token.trim().isEmpty()) {
+                    parsed.add(token.trim());
+                }
+            }
+        }
+        return Collections.unmodifiableList(parsed);
+    }
+
+    /**
+     * Reserviert eine Anfrage und wählt das Token, mit dem sie gesendet wird.
+     *
+     * Schritte:
+     * Gibt Tokens frei, deren Rate-Limit-Fenster abgelaufen ist (volles Budget bis zur nächsten Antwort).
+     * Überspringt Tokens, die gesperrt sind (Budget aufgebraucht oder Retry-After).
+     * Wählt unter den übrigen das Token mit dem größten Restbudget, das im Token-Bucket noch eine Anfrage frei hat.
+     * Der Bucket jedes Tokens fasst `burst` Anfragen und füllt sich mit `maxRequestsPerSecond` nach.
+     * Ist kein Token frei, wird genau bis zum frühesten Reset (bzw. bis zur nächsten freien Anfrage) gewartet.
+     *
+     * @return Das Token-Budget, dem die Anfrage zugerechnet wird (für `update`).
+     * @throws InterruptedException Wenn der Thread während des Wartens unterbrochen wird.
+     */
+    public synchronized TokenBudget acquire() throws InterruptedException {
+        while (true) {
+            long now = System.currentTimeMillis();
+            TokenBudget best = null;
+            long earliest = Long.MAX_VALUE;
+            for (TokenBudget token : tokens) {
+                if (token.resetAtMillis > 0 && now >= token.resetAtMillis && token.remaining == 0) {
+                    token.remaining = token.limit;
+                }
+                long availableAt = token.blockedUntilMillis;
+                if (token.remaining == 0 && token.resetAtMillis > now) {
+                    availableAt = Math.max(availableAt, token.resetAtMillis);
+                }
+                if (availableAt > now) {
+                    earliest = Math.min(earliest, availableAt);
+                    continue;
+                }
+                token.refill(now, rate());
+                if (token.bucket >= 1) {
+                    if (best == null || token.remainingOrMax() > best.remainingOrMax()) {
+                        best = token;
+                    }
+                } else {
+                    earliest = Math.min(earliest, now + token.millisUntilPermit(rate()));
+                }
+            }
+
+            if (best != null) {
+                best.bucket -= 1;
+                if (best.remaining > 0) {
+                    best.remaining--;
+                }
+                best.inFlight++;
+                best.requests++;
+                requests++;
+                return best;
+            }
+
+            long delay = Math.max(1, earliest - now);
+            waits++;
+            waitMillis += delay;
+            if (delay >= 1000) {
+                System.out.println("GitHub rate limit: waiting " + delay / 1000 + " s for the next request.");
+            }
+            wait(delay);
+        }
+    }
+
+    /**
+     * Übernimmt die Rate-Limit-Angaben einer Antwort.
+     *
+     * Schritte:
+     * Liest `X-RateLimit-Limit`, `X-RateLimit-Remaining` und `X-RateLimit-Reset`.
+     * Rechnet den Reset über den `Date`-Header in die lokale Uhr um, damit eine abweichende Uhr nicht zu früh
+     * oder zu spät weckt.
+     * Zieht vom Restbudget des Servers die noch laufenden Anfragen des Tokens ab.
+     * Bei 429 oder einem 403 wegen Rate-Limit wird das Token gesperrt: bis `Retry-After`, bei aufgebrauchtem
+     * Budget bis zum Reset, sonst (sekundäres Limit) eine Minute.
+     *
+     * @param token Das Token-Budget aus `acquire`.
+     * @param response Die Antwort.
+     * @return `true`, wenn die Anfrage wegen des Rate-Limits abgelehnt wurde und wiederholt werden sollte.
+     */
+    public synchronized boolean update(TokenBudget token, GitHubResponse response) {
+        long now = System.currentTimeMillis();
+        Long limit = longHeader(response, "X-RateLimit-Limit");
+        Long remaining = longHeader(response, "X-RateLimit-Remaining");
+        Long reset = longHeader(response, "X-RateLimit-Reset");
+
+        token.inFlight--;
+        if (limit != null) {
+            token.limit = limit;
+        }
+        if (reset != null && reset != token.resetEpochSeconds) {
+            token.resetEpochSeconds = reset;
+            token.resetAtMillis = reset * 1000 - serverClockOffset(response, now);
+        }
+        if (remaining != null) {
+            // Noch laufende Anfragen dieses Tokens sind im Wert des Servers noch nicht enthalten
+            token.remaining = Math.max(0, remaining - token.inFlight);
+        }
+        notifyAll();
+
+        int code = response.getCode();
+        boolean limited = code == 429 || (code == 403 && (token.remaining == 0
+                || response.getHeader("Retry-After") != null
+                || response.getBodyAsString().toLowerCase().contains("rate limit")));
+        if (!limited) {
+            return false;
+        }
+
+        rateLimited++;
+        token.rateLimited++;
+        Long retryAfter = longHeader(response, "Retry-After");
+        if (retryAfter != null) {
+            token.blockedUntilMillis = now + retryAfter * 1000;
+        } else if (token.remaining == 0 && token.resetAtMillis > now) {
+            token.blockedUntilMillis = token.resetAtMillis;
+        } else {
+            token.blockedUntilMillis = now + SECONDARY_LIMIT_BACKOFF_MILLIS;
+        }
+        System.out.println("GitHub rate limit hit for token " + token.getName() + ", blocked for "
+                + (token.blockedUntilMillis - now) / 1000 + " s.");
+        return true;
+    }
+
+    /**
+     * Gibt eine mit `acquire` reservierte Anfrage zurück, die ohne Antwort endete (Fehler oder Abbruch).
+     *
+     * @param token Das Token-Budget aus `acquire`.
+     */
+    public synchronized void release(TokenBudget token) {
+        token.inFlight--;
+        notifyAll();
+    }
+
+    private double rate() {
+        return maxRequestsPerSecond > 0 ? maxRequestsPerSecond : Double.POSITIVE_INFINITY;
+    }
+
+    // Abstand zwischen Server- und lokaler Uhr in Millisekunden (0, wenn kein Date-Header vorhanden ist)
+    private static long serverClockOffset(GitHubResponse response, long now) {
+        String date = response.getHeader("Date");
+        if (date == null) {
+            return 0;
+        }
+        try {
+            return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - now;
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static Long longHeader(GitHubResponse response, String name) {
+        String value = response.getHeader(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Liefert den Zustand des Schedulers als Metriken, z. B. für Logs oder ein Monitoring.
+     *
+     * @return Gesamtwerte (`requests`, `rate_limited`, `waits`, `wait_ms`) und pro Token
+     *         (`token.<name>.remaining`, `.limit`, `.reset_in_s`, `.requests`, `.rate_limited`, `.blocked_s`).
+     */
+    public synchronized Map<String, Number> getMetrics() {
+        long now = System.currentTimeMillis();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests);
+        metrics.put("rate_limited", rateLimited);
+        metrics.put("waits", waits);
+        metrics.put("wait_ms", waitMillis);
+        for (TokenBudget token : tokens) {
+            String prefix = "token." + token.getName() + ".";
+            metrics.put(prefix + "remaining", token.remaining);
+            metrics.put(prefix + "limit", token.limit);
+            metrics.put(prefix + "reset_in_s", Math.max(0, token.resetAtMillis - now) / 1000);
+            metrics.put(prefix + "requests", token.requests);
+            metrics.put(prefix + "rate_limited", token.rateLimited);
+            metrics.put(prefix + "blocked_s", Math.max(0, token.blockedUntilMillis - now) / 1000);
+        }
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "GitHub rate limiter " + getMetrics();
+    }
+
+    public static class TokenBudget {
+        private final String token;
+        private final int burst;
+        // -1 = noch unbekannt (vor der ersten Antwort)
+        private long limit = -1;
+        private long remaining = -1;
+        private long resetEpochSeconds = -1;
+        private long resetAtMillis;
+        private long blockedUntilMillis;
+        private double bucket;
+        private long lastRefillMillis;
+        private long requests;
+        private long rateLimited;
+        private int inFlight;
+
+        private TokenBudget(String token, int burst) {
+            this.token = token;
+            this.burst = burst;
+            this.bucket = burst;
+            this.lastRefillMillis = System.currentTimeMillis();
+        }
+
+        private void refill(long now, double rate) {
+            bucket = Double.isInfinite(rate) ? burst : Math.min(burst, bucket + (now - lastRefillMillis) / 1000.0 * rate);
+            lastRefillMillis = now;
+        }
+
+        private long millisUntilPermit(double rate) {
+            return (long) Math.ceil((1 - bucket) / rate * 1000);
+        }
+
+        private long remainingOrMax() {
+            return remaining < 0 ? Long.MAX_VALUE : remaining;
+        }
+
+        /**
+         * @return Das Token für den Authorization-Header oder `null` für anonyme Anfragen.
+         */
+        public String getToken() {
+            return token;
+        }
+
+        /**
+         * @return Ein gekürzter Name für Logs und Metriken (nie das vollständige Token).
+         */
+        public String getName() {
+            if (token == null) {
+                return "anonymous";
+            }
+            return token.length() > 4 ? "..." + token.substring(token.length() - 4) : "...";
+        }
+    }
+}
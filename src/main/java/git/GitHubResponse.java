@@ -0,0 +1,68 @@
+package git;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+public class GitHubResponse {
+    private final int code;
+    private final String reasonPhrase;
+    private final String protocol;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final long transferredBytes;
+
+    /**
+     * @param code Der HTTP-Statuscode.
+     * @param reasonPhrase Der Statustext (bei HTTP/2 leer).
+     * @param protocol Die ausgehandelte Protokollversion (z. B. "HTTP/2.0").
+     * @param headers Die Antwort-Header; Namen ohne Beachtung der Groß-/Kleinschreibung.
+     * @param body Der (entpackte) Antworttext.
+     * @param transferredBytes Die Größe des Antworttexts auf der Leitung, d. h. vor dem Entpacken.
+     */
+    public GitHubResponse(int code, String reasonPhrase, String protocol, Map<String, String> headers,
+                          byte[] body, long transferredBytes) {
+        this.code = code;
+        this.reasonPhrase = reasonPhrase;
+        this.protocol = protocol;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+        this.transferredBytes = transferredBytes;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * @param name Der Header-Name (Groß-/Kleinschreibung egal).
+     * @return Der erste Wert des Headers oder `null`, wenn er fehlt.
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getBodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes;
+    }
+}
@@ -0,0 +1,310 @@
+package git;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class GitHubResponseCache {
+    private static final String SUFFIX = ".entry";
+    // "GHRC" + Formatversion
+    private static final int MAGIC = 0x47485243;
+    private static final int VERSION = 1;
+
+    private final Path directory;
+    private final long maxBytes;
+    // Dateiname -> Validatoren; Zugriffsreihenfolge, der älteste Eintrag steht vorne
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Öffnet (oder legt an) einen Antwort-Cache im angegebenen Verzeichnis.
+     *
+     * Schritte:
+     * Liest von jeder Cache-Datei nur den Kopf (URL, ETag, Last-Modified), nicht den Antworttext.
+     * Stellt die LRU-Reihenfolge aus den Änderungszeiten der Dateien wieder her (bei jedem Treffer aktualisiert).
+     * Verdrängt die ältesten Einträge, falls das Verzeichnis größer als `maxBytes` ist.
+     *
+     * @param directory Das Cache-Verzeichnis (eine Datei pro URL).
+     * @param maxBytes Die maximale Gesamtgröße aller Einträge in Byte.
+     * @throws IOException Wenn das Verzeichnis nicht angelegt oder gelesen werden kann.
+     */
+    public GitHubResponseCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = new ArrayList<>(listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList());
+        }
+        files.sort(Comparator.comparing(GitHubResponseCache::lastModified));
+        for (Path file : files) {
+            Entry entry = readHeader(file);
+            if (entry == null) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            entries.put(file.getFileName().toString(), entry);
+            totalBytes += entry.size;
+        }
+        evict();
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Liefert die Header für eine bedingte Anfrage (`If-None-Match`, `If-Modified-Since`).
+     *
+     * @param url Die URL der Anfrage.
+     * @return Die Header; leer, wenn die URL nicht im Cache liegt.
+     */
+    public synchronized Map<String, String> conditionalHeaders(String url) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        Entry entry = entries.get(fileName(url));
+        if (entry != null && entry.url.equals(url)) {
+            if (!entry.etag.isEmpty()) {
+                headers.put("If-None-Match", entry.etag);
+            }
+            if (!entry.lastModified.isEmpty()) {
+                headers.put("If-Modified-Since", entry.lastModified);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Verarbeitet die Antwort auf eine (ggf. bedingte) Anfrage.
+     *
+     * Schritte:
+     * Bei 304 wird die gespeicherte Antwort gelesen, mit den neuen Headern (z. B. Rate-Limit) ergänzt
+     * und als 200 zurückgegeben; der Eintrag rückt in der LRU-Reihenfolge nach hinten.
+     * Bei 200 mit `ETag` oder `Last-Modified` wird die Antwort gespeichert und bei Bedarf verdrängt.
+     * Fehler beim Lesen oder Schreiben des Caches brechen die Anfrage nie ab.
+     *
+     * @param url Die URL der Anfrage.
+     * @param response Die Antwort des Servers.
+     * @return Die zu verwendende Antwort oder `null`, wenn eine 304-Antwort nicht mehr aus dem Cache
+     *         bedient werden kann (die Anfrage muss dann ohne Bedingung wiederholt werden).
+     */
+    public synchronized GitHubResponse resolve(String url, GitHubResponse response) {
+        String name = fileName(url);
+        if (response.getCode() == 304) {
+            GitHubResponse cached = readEntry(name, url);
+            if (cached == null) {
+                return null;
+            }
+            hits++;
+            try {
+                Files.setLastModifiedTime(directory.resolve(name), FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                // Nur die LRU-Reihenfolge über Neustarts hinweg leidet darunter
+            }
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(cached.getHeaders());
+            headers.putAll(response.getHeaders());
+            headers.remove("Content-Length");
+            return new GitHubResponse(200, "OK", response.getProtocol(), headers, cached.getBody(),
+                    response.getTransferredBytes());
+        }
+
+        misses++;
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        if (response.getCode() == 200 && (etag != null || lastModified != null)) {
+            store(name, url, response, etag, lastModified);
+        }
+        return response;
+    }
+
+    private void store(String name, String url, GitHubResponse response, String etag, String lastModified) {
+        Path file = directory.resolve(name);
+        Path temp = directory.resolve(name + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, url);
+                writeString(out, etag);
+                writeString(out, lastModified);
+                // Der Text wird entpackt gespeichert, Kodierung und Länge der Übertragung gelten nicht mehr
+                Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                headers.putAll(response.getHeaders());
+                headers.remove("Content-Encoding");
+                headers.remove("Content-Length");
+                out.writeInt(headers.size());
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    writeString(out, header.getKey());
+                    writeString(out, header.getValue());
+                }
+                out.writeInt(response.getBody().length);
+                out.write(response.getBody());
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Entry previous = entries.remove(name);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            Entry entry = new Entry(url, etag != null ? etag : "", lastModified != null ? lastModified : "", Files.size(file));
+            entries.put(name, entry);
+            totalBytes += entry.size;
+            evict();
+        } catch (IOException e) {
+            System.out.println("Could not cache response for " + url + ": " + e.getMessage());
+        }
+    }
+
+    private void evict() throws IOException {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            Files.deleteIfExists(directory.resolve(entry.getKey()));
+            totalBytes -= entry.getValue().size;
+            evictions++;
+            eldest.remove();
+        }
+    }
+
+    private GitHubResponse readEntry(String name, String url) {
+        Entry entry = entries.get(name);
+        if (entry == null || !entry.url.equals(url)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(name))))) {
+            Entry header = readHeader(in);
+            if (header == null || !header.url.equals(url)) {
+                return null;
+            }
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                headers.put(readString(in), readString(in));
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new GitHubResponse(200, "OK", "", headers, body, 0);
+        } catch (IOException e) {
+            System.out.println("Dropping unreadable cache entry for " + url + ": " + e.getMessage());
+            entries.remove(name);
+            totalBytes -= entry.size;
+            return null;
+        }
+    }
+
+    private static Entry readHeader(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1024))) {
+            Entry header = readHeader(in);
+            return header != null ? new Entry(header.url, header.etag, header.lastModified, Files.size(file)) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Entry readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return null;
+        }
+        return new Entry(readString(in), readString(in), readString(in), 0);
+    }
+
+    // Länge + UTF-8 statt writeUTF, das auf 64 KB begrenzt ist
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return Der Anteil der Anfragen, die per 304 aus dem Cache bedient wurden (0 bis 1).
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("GitHub cache: %d hits, %d misses (%.1f %% hit rate), %d entries, %d KB, %d evictions",
+                hits, misses, getHitRate() * 100, entries.size(), totalBytes / 1024, evictions);
+    }
+
+    private static class Entry {
+        private final String url;
+        private final String etag;
+        private final String lastModified;
+        private final long size;
+
+        private Entry(String url, String etag, String lastModified, long size) {
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class GitHubWebhookListener implements Closeable {
+    public static final int DEFAULT_PORT = 8787;
+    public static final String DEFAULT_PATH = "/github/webhook";
+    // GitHub schickt höchstens 25 MB pro Payload
+    private static final int MAX_PAYLOAD_BYTES = 25 * 1024 * 1024;
+    // Wie viele Zustellungs-IDs gemerkt werden, um erneut zugestellte Webhooks zu erkennen
+    private static final int RECENT_DELIVERIES = 1000;
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    /**
+     * Wird aufgerufen, wenn ein neuer Tag im Repository angekommen ist (z. B. um das Changelog neu zu erzeugen).
+     */
+    public interface TagHandler {
+        void tagCreated(String tagName) throws IOException;
+    }
+
+    private final String path;
+    private final byte[] secret;
+    private final GitCommitFromRepo repository;
+    private final TagHandler tagHandler;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Ein einziger Arbeiter: Pushes und Tags werden in Empfangsreihenfolge und nie gleichzeitig verarbeitet
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Map<String, Boolean> recentDeliveries = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_DELIVERIES;
+        }
+    };
+    private final Set<String> handledTags = ConcurrentHashMap.newKeySet();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong appliedCommits = new AtomicLong();
+    private final AtomicLong triggeredTags = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile Path recordDirectory;
+
+    /**
+     * Startet einen eingebetteten HTTP-Listener für GitHub-Webhooks (`push` und `create`).
+     *
+     * Schritte:
+     * Nimmt unter `path` POST-Anfragen an und prüft die Signatur `X-Hub-Signature-256` (HMAC-SHA256 über den
+     * unveränderten Text mit dem Webhook-Secret); ohne gültige Signatur wird mit 401 abgelehnt.
+     * Erkennt erneut zugestellte Webhooks an `X-GitHub-Delivery` und verarbeitet sie nur einmal.
+     * Ein Push auf den Standard-Branch wird mit `applyPush` in den Commit-Speicher übernommen.
+     * Nur wenn ein Tag ankommt (`create` mit `ref_type` "tag" oder ein Push, der `refs/tags/...` anlegt), wird
+     * der Speicher nachgezogen und der `tagHandler` aufgerufen; jeder Tag höchstens einmal erfolgreich.
+     * Schlägt die Verarbeitung fehl, wird die Zustellung vergessen, damit eine erneute Zustellung von GitHub
+     * (manuell oder automatisch) sie wiederholt.
+     * Antwortet sofort mit 202 und verarbeitet die Ereignisse nacheinander in einem eigenen Thread, damit GitHub
+     * nicht in sein Zeitlimit läuft.
+     *
+     * @param address Adresse und Port (z. B. `new InetSocketAddress(DEFAULT_PORT)`; Port 0 wählt einen freien).
+     * @param path Der Pfad, unter dem die Webhooks ankommen (z. B. `DEFAULT_PATH`).
+     * @param secret Das in GitHub hinterlegte Webhook-Secret.
+     * @param repository Das Repository mit gesetztem Commit-Speicher (`setCommitStore`).
+     * @param tagHandler Wird für jeden neuen Tag aufgerufen.
+     * @throws IOException Wenn der Server nicht gestartet werden kann.
+     */
+    public GitHubWebhookListener(InetSocketAddress address, String path, String secret, GitCommitFromRepo repository,
+                                 TagHandler tagHandler) throws IOException {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("A webhook secret is required to verify the signatures.");
+        }
+        if (repository.getCommitStore() == null) {
+            throw new IllegalArgumentException("The repository needs a commit store to apply pushes.");
+        }
+        this.path = path;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.repository = repository;
+        this.tagHandler = tagHandler;
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext(path, this::handle);
+        this.server.setExecutor(requestExecutor);
+        this.server.start();
+    }
+
+    /**
+     * @return Die URL, unter der der Listener erreichbar ist (für lokale Tests und das Replay).
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Speichert jeden gültig signierten Webhook als `{nr}-{event}-{delivery}.json` (unveränderter Text), damit er
+     * später mit `WebhookReplay` erneut abgespielt werden kann.
+     *
+     * @param recordDirectory Das Zielverzeichnis oder `null`, um nicht mehr aufzuzeichnen.
+     */
+    public void setRecordDirectory(Path recordDirectory) throws IOException {
+        if (recordDirectory != null) {
+            Files.createDirectories(recordDirectory);
+        }
+        this.recordDirectory = recordDirectory;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            received.incrementAndGet();
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "Only POST is supported.");
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_PAYLOAD_BYTES + 1);
+            }
+            if (body.length > MAX_PAYLOAD_BYTES) {
+                respond(exchange, 413, "Payload too large.");
+                return;
+            }
+            if (!verifySignature(body, exchange.getRequestHeaders().getFirst("X-Hub-Signature-256"))) {
+                rejected.incrementAndGet();
+                respond(exchange, 401, "Invalid signature.");
+                return;
+            }
+
+            String event = exchange.getRequestHeaders().getFirst("X-GitHub-Event");
+            String delivery = exchange.getRequestHeaders().getFirst("X-GitHub-Delivery");
+            if (delivery != null && !firstDelivery(delivery)) {
+                respond(exchange, 200, "Already delivered.");
+                return;
+            }
+            record(event, delivery, body);
+
+            if ("ping".equals(event)) {
+                respond(exchange, 200, "pong");
+                return;
+            }
+            if (!"push".equals(event) && !"create".equals(event)) {
+                respond(exchange, 204, null);
+                return;
+            }
+            JsonNode payload;
+            try {
+                payload = objectMapper.readTree(body);
+            } catch (IOException e) {
+                respond(exchange, 400, "Invalid JSON payload.");
+                return;
+            }
+            worker.submit(() -> process(event, delivery, payload));
+            respond(exchange, 202, "Accepted.");
+        }
+    }
+
+    /**
+     * Vergleicht die Signatur in konstanter Zeit mit der selbst berechneten (`sha256=` + HMAC-SHA256 in Hex).
+     */
+    private boolean verifySignature(byte[] body, String signature) {
+        if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        byte[] expected = sign(secret, body).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param secret Das Webhook-Secret.
+     * @param body Der unveränderte Text des Webhooks.
+     * @return Der Wert für `X-Hub-Signature-256`, wie GitHub ihn berechnet.
+     */
+    public static String sign(byte[] secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return SIGNATURE_PREFIX + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean firstDelivery(String delivery) {
+        synchronized (recentDeliveries) {
+            return recentDeliveries.put(delivery, Boolean.TRUE) == null;
+        }
+    }
+
+    private void forgetDelivery(String delivery) {
+        synchronized (recentDeliveries) {
+            recentDeliveries.remove(delivery);
+        }
+    }
+
+    private void record(String event, String delivery, byte[] body) {
+        Path directory = recordDirectory;
+        if (directory == null) {
+            return;
+        }
+        // Beide Header kommen ungeprüft vom Absender: nur Buchstaben, Ziffern und '-' dürfen in den Dateinamen
+        String name = String.format("%06d-%s-%s.json", recorded.incrementAndGet(), fileNamePart(event), fileNamePart(delivery));
+        Path file = directory.resolve(name).normalize();
+        if (!file.getParent().equals(directory.normalize())) {
+            System.err.println("Refusing to record webhook outside " + directory + ": " + name);
+            return;
+        }
+        try {
+            Files.write(file, body);
+        } catch (IOException e) {
+            System.err.println("Could not record webhook " + name + ": " + e.getMessage());
+        }
+    }
+
+    private static String fileNamePart(String header) {
+        if (header == null || header.isEmpty()) {
+            return "none";
+        }
+        String part = header.replaceAll("[^A-Za-z0-9-]", "_");
+        return part.length() > 64 ? part.substring(0, 64) : part;
+    }
+
+    private void process(String event, String delivery, JsonNode payload) {
+        try {
+            String tagName = null;
+            if ("create".equals(event)) {
+                if ("tag".equals(payload.path("ref_type").asText())) {
+                    tagName = payload.path("ref").asText();
+                }
+            } else {
+                String ref = payload.path("ref").asText();
+                String defaultBranch = payload.path("repository").path("default_branch").asText(null);
+                if (ref.startsWith("refs/tags/")) {
+                    if (payload.path("created").asBoolean(false) && !payload.path("deleted").asBoolean(false)) {
+                        tagName = ref.substring("refs/tags/".length());
+                    }
+                } else if (defaultBranch == null || ref.equals("refs/heads/" + defaultBranch)) {
+                    if (!payload.path("deleted").asBoolean(false)) {
+                        int applied = repository.applyPush(payload.path("after").asText(null));
+                        appliedCommits.addAndGet(applied);
+                        System.out.println("Push to " + ref + ": " + applied + " new commits"
+                                + " (payload listed " + payload.path("commits").size() + ").");
+                    }
+                }
+            }
+
+            // Nur ein Arbeiter-Thread: zwischen Prüfen und Eintragen kann kein anderer Webhook denselben Tag verarbeiten
+            if (tagName != null && !tagName.isEmpty() && !handledTags.contains(tagName)) {
+                // Der Tag kann auf Commits zeigen, die mit ihm zusammen gepusht wurden
+                repository.syncCommitStore();
+                System.out.println("Tag " + tagName + " landed, regenerating the changelog.");
+                tagHandler.tagCreated(tagName);
+                handledTags.add(tagName);
+                triggeredTags.incrementAndGet();
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            if (delivery != null) {
+                forgetDelivery(delivery);
+            }
+            System.err.println("Could not process " + event + " webhook" + (delivery != null ? " " + delivery : "")
+                    + ", a redelivery will retry it: " + e.getMessage());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        if (message == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Wartet, bis alle angenommenen Webhooks verarbeitet sind (z. B. nach einem Replay).
+     *
+     * @throws InterruptedException Wenn der Thread beim Warten unterbrochen wird.
+     */
+    public void awaitIdle() throws InterruptedException {
+        try {
+            worker.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return Zähler: empfangene, abgelehnte und fehlgeschlagene Webhooks, übernommene Commits und ausgelöste Tags.
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("received", received.get());
+        metrics.put("rejected", rejected.get());
+        metrics.put("failed", failed.get());
+        metrics.put("appliedCommits", appliedCommits.get());
+        metrics.put("triggeredTags", triggeredTags.get());
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        requestExecutor.shutdownNow();
+        worker.shutdown();
+        try {
+            worker.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package git;
+
+import java.nio.charset.StandardCharsets;
+
+public class GitObject {
+    // Objekttypen, wie sie im Header eines Pack-Eintrags kodiert sind
+    public static final int COMMIT = 1;
+    public static final int TREE = 2;
+    public static final int BLOB = 3;
+    public static final int TAG = 4;
+
+    private final int type;
+    private final byte[] data;
+
+    public GitObject(int type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Liefert den Inhalt des Objekts als UTF-8-Text (für Commits und Tags).
+     *
+     * @return Der Objektinhalt als String.
+     */
+    public String getText() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Übersetzt den Typnamen eines losen Objekts ("commit", "tree", ...) in die Typnummer.
+     *
+     * @param name Der Typname aus dem Objekt-Header.
+     * @return Die Typnummer oder -1, wenn der Typ unbekannt ist.
+     */
+    public static int typeFromName(String name) {
+        switch (name) {
+            case "commit": return COMMIT;
+            case "tree": return TREE;
+            case "blob": return BLOB;
+            case "tag": return TAG;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Wandelt eine binäre Objekt-ID (20 Bytes) in die hexadezimale Schreibweise um.
+     *
+     * @param raw Die binäre Objekt-ID.
+     * @return Die Objekt-ID als 40-stelliger Hex-String.
+     */
+    public static String toHex(byte[] raw) {
+        StringBuilder sb = new StringBuilder(raw.length * 2);
+        for (byte b : raw) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+            sb.append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Wandelt eine hexadezimale Objekt-ID in ihre binäre Form um.
+     *
+     * @param hex Die Objekt-ID als 40-stelliger Hex-String.
+     * @return Die binäre Objekt-ID (20 Bytes).
+     * @throws IllegalArgumentException Wenn der String keine gültige Objekt-ID ist.
+     */
+    public static byte[] fromHex(String hex) {
+        if (hex == null || hex.length() != 40) {
+            throw new IllegalArgumentException("Invalid object id: " + hex);
+        }
+        byte[] raw = new byte[20];
+        for (int i = 0; i < 20; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid object id: " + hex);
+            }
+            raw[i] = (byte) ((high << 4) | low);
+        }
+        return raw;
+    }
+
+    /**
+     * Prüft, ob ein String eine vollständige, hexadezimale Objekt-ID ist.
+     *
+     * @param value Der zu prüfende String.
+     * @return `true`, wenn der String eine 40-stellige Hex-ID ist.
+     */
+    public static boolean isObjectId(String value) {
+        if (value == null || value.length() != 40) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
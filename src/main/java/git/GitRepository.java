@@ -0,0 +1,283 @@
+package git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class GitRepository implements Closeable {
+    private final Path gitDirectory;
+    private final Path commonDirectory;
+    private final ObjectDatabase objectDatabase;
+    private CommitGraph commitGraph;
+    private boolean commitGraphLoaded;
+
+    private GitRepository(Path gitDirectory, Path commonDirectory) throws IOException {
+        this.gitDirectory = gitDirectory;
+        this.commonDirectory = commonDirectory;
+        this.objectDatabase = new ObjectDatabase(commonDirectory.resolve("objects"));
+    }
+
+    /**
+     * Öffnet das Repository, in dem sich das angegebene Arbeitsverzeichnis befindet.
+     *
+     * Schritte:
+     * Sucht ausgehend vom Verzeichnis aufwärts nach einem `.git`-Eintrag.
+     * Ist `.git` eine Datei (Worktree, Submodul), wird dem Verweis `gitdir:` gefolgt.
+     * Existiert eine `commondir`-Datei, liegen Objekte und Refs im gemeinsamen Verzeichnis.
+     *
+     * @param workingDirectory Ein Verzeichnis innerhalb des Repositorys.
+     * @return Das geöffnete Repository.
+     * @throws IOException Wenn kein Repository gefunden wird oder die Objektdatenbank fehlt.
+     */
+    public static GitRepository open(Path workingDirectory) throws IOException {
+        Path current = workingDirectory.toAbsolutePath().normalize();
+        while (current != null) {
+            Path dotGit = current.resolve(".git");
+            if (Files.isDirectory(dotGit)) {
+                return fromGitDirectory(dotGit);
+            }
+            if (Files.isRegularFile(dotGit)) {
+                String content = Files.readString(dotGit, StandardCharsets.UTF_8).trim();
+                if (content.startsWith("gitdir:")) {
+                    Path target = current.resolve(content.substring(7).trim()).normalize();
+                    return fromGitDirectory(target);
+                }
+            }
+            current = current.getParent();
+        }
+        throw new IOException("No Git repository found from: " + workingDirectory);
+    }
+
+    private static GitRepository fromGitDirectory(Path gitDirectory) throws IOException {
+        Path commonDirectory = gitDirectory;
+        Path commonFile = gitDirectory.resolve("commondir");
+        if (Files.isRegularFile(commonFile)) {
+            String common = Files.readString(commonFile, StandardCharsets.UTF_8).trim();
+            commonDirectory = gitDirectory.resolve(common).normalize();
+        }
+        return new GitRepository(gitDirectory, commonDirectory);
+    }
+
+    /**
+     * Ermittelt den Commit, auf den `HEAD` zeigt (symbolische Refs werden aufgelöst).
+     *
+     * @return Die Commit-ID von `HEAD`.
+     * @throws IOException Wenn `HEAD` nicht aufgelöst werden kann (z. B. leeres Repository).
+     */
+    public String resolveHead() throws IOException {
+        String head = Files.readString(gitDirectory.resolve("HEAD"), StandardCharsets.UTF_8).trim();
+        if (head.startsWith("ref:")) {
+            String id = resolveRef(head.substring(4).trim());
+            if (id == null) {
+                throw new IOException("HEAD points to an unborn branch: " + head);
+            }
+            return id;
+        }
+        return head;
+    }
+
+    /**
+     * Löst eine vollständige Ref (z. B. `refs/tags/v1.0.0`) auf, zuerst lose, danach über `packed-refs`.
+     *
+     * @param refName Der vollständige Name der Ref.
+     * @return Die Objekt-ID, auf die die Ref zeigt, oder `null`, wenn sie nicht existiert.
+     * @throws IOException Wenn die Ref-Dateien nicht gelesen werden können.
+     */
+    public String resolveRef(String refName) throws IOException {
+        for (Path base : List.of(gitDirectory, commonDirectory)) {
+            Path loose = base.resolve(refName);
+            if (Files.isRegularFile(loose)) {
+                String value = Files.readString(loose, StandardCharsets.UTF_8).trim();
+                if (value.startsWith("ref:")) {
+                    return resolveRef(value.substring(4).trim());
+                }
+                return value;
+            }
+        }
+        return readPackedRefs().get(refName);
+    }
+
+    /**
+     * Löst eine Revision (volle ID, `HEAD`, Tag- oder Branch-Name bzw. vollständiger Ref-Name) zu einem Commit auf.
+     * Annotierte Tags werden dabei bis zum Commit "geschält".
+     *
+     * @param revision Die aufzulösende Revision.
+     * @return Die Commit-ID.
+     * @throws IOException Wenn die Revision unbekannt ist.
+     */
+    public String resolveCommit(String revision) throws IOException {
+        String id;
+        if (GitObject.isObjectId(revision)) {
+            id = revision;
+        } else if ("HEAD".equals(revision)) {
+            id = resolveHead();
+        } else if (revision.startsWith("refs/")) {
+            id = resolveRef(revision);
+        } else {
+            id = resolveRef("refs/tags/" + revision);
+            if (id == null) {
+                id = resolveRef("refs/heads/" + revision);
+            }
+        }
+        if (id == null) {
+            throw new IOException("Unknown revision: " + revision);
+        }
+        return peel(id);
+    }
+
+    /**
+     * Folgt annotierten Tag-Objekten, bis ein Nicht-Tag-Objekt erreicht ist.
+     *
+     * @param id Die ID eines Objekts (Tag oder Commit).
+     * @return Die ID des Zielobjekts.
+     * @throws IOException Wenn ein Objekt nicht gelesen werden kann.
+     */
+    public String peel(String id) throws IOException {
+        GitObject object = objectDatabase.read(id);
+        while (object.getType() == GitObject.TAG) {
+            String text = object.getText();
+            if (!text.startsWith("object ")) {
+                throw new IOException("Malformed tag object: " + id);
+            }
+            id = text.substring(7, 47);
+            object = objectDatabase.read(id);
+        }
+        return id;
+    }
+
+    /**
+     * Liest alle Tags (lose Refs unter `refs/tags` und Einträge aus `packed-refs`).
+     * Lose Refs haben Vorrang vor gepackten Einträgen gleichen Namens.
+     *
+     * @return Eine Map von Tag-Name (ohne `refs/tags/`) auf die Objekt-ID der Ref.
+     * @throws IOException Wenn die Ref-Dateien nicht gelesen werden können.
+     */
+    public Map<String, String> readTagRefs() throws IOException {
+        return readTagRefs(null);
+    }
+
+    /**
+     * Liest alle Tags wie {@link #readTagRefs()} und sammelt zusätzlich die geschälten Ziele aus
+     * `packed-refs` (Zeilen mit `^`), damit gepackte annotierte Tags ohne Lesen des Tag-Objekts
+     * aufgelöst werden können. `packed-refs` wird dabei nur einmal gelesen.
+     *
+     * @param peeled Wird mit Tag-Name auf Commit-ID gefüllt (nur gepackte, nicht überschriebene Tags); darf `null` sein.
+     * @return Eine Map von Tag-Name (ohne `refs/tags/`) auf die Objekt-ID der Ref.
+     * @throws IOException Wenn die Ref-Dateien nicht gelesen werden können.
+     */
+    public Map<String, String> readTagRefs(Map<String, String> peeled) throws IOException {
+        Map<String, String> packedPeeled = new HashMap<>();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : parsePackedRefs(packedPeeled).entrySet()) {
+            if (entry.getKey().startsWith("refs/tags/")) {
+                tags.put(entry.getKey().substring(10), entry.getValue());
+            }
+        }
+
+        Path tagDirectory = commonDirectory.resolve("refs").resolve("tags");
+        if (Files.isDirectory(tagDirectory)) {
+            try (Stream<Path> files = Files.walk(tagDirectory)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    String name = tagDirectory.relativize(file).toString().replace('\\', '/');
+                    String id = Files.readString(file, StandardCharsets.UTF_8).trim();
+                    if (!id.equals(tags.put(name, id))) {
+                        // Lose Ref überschreibt den gepackten Eintrag, dessen Schälung gilt nicht mehr
+                        packedPeeled.remove("refs/tags/" + name);
+                    }
+                }
+            }
+        }
+
+        if (peeled != null) {
+            for (Map.Entry<String, String> entry : packedPeeled.entrySet()) {
+                if (entry.getKey().startsWith("refs/tags/")) {
+                    peeled.put(entry.getKey().substring(10), entry.getValue());
+                }
+            }
+        }
+        return tags;
+    }
+
+    private Map<String, String> readPackedRefs() throws IOException {
+        return parsePackedRefs(null);
+    }
+
+    // Liest `packed-refs`; "^<id>"-Zeilen gehören zur vorherigen Ref und landen (falls gewünscht) in `peeled`
+    private Map<String, String> parsePackedRefs(Map<String, String> peeled) throws IOException {
+        Map<String, String> refs = new LinkedHashMap<>();
+        Path packedRefs = commonDirectory.resolve("packed-refs");
+        if (!Files.isRegularFile(packedRefs)) {
+            return refs;
+        }
+        String lastRef = null;
+        for (String line : Files.readAllLines(packedRefs, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("^")) {
+                if (peeled != null && lastRef != null) {
+                    peeled.put(lastRef, line.substring(1).trim());
+                }
+                continue;
+            }
+            int space = line.indexOf(' ');
+            if (space > 0) {
+                lastRef = line.substring(space + 1).trim();
+                refs.put(lastRef, line.substring(0, space));
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Liest und parst einen Commit aus der Objektdatenbank.
+     *
+     * @param id Die Commit-ID.
+     * @return Der geparste Commit.
+     * @throws IOException Wenn das Objekt fehlt oder kein Commit ist.
+     */
+    public CommitObject parseCommit(String id) throws IOException {
+        GitObject object = objectDatabase.read(id);
+        if (object.getType() != GitObject.COMMIT) {
+            throw new IOException("Object " + id + " is not a commit.");
+        }
+        return CommitObject.parse(id, object);
+    }
+
+    /**
+     * Liefert den Commit-Graph des Repositorys (wird beim ersten Zugriff geladen).
+     *
+     * @return Der Commit-Graph oder `null`, wenn das Repository keinen besitzt.
+     */
+    public synchronized CommitGraph getCommitGraph() {
+        if (!commitGraphLoaded) {
+            commitGraph = CommitGraph.open(commonDirectory.resolve("objects"));
+            commitGraphLoaded = true;
+        }
+        return commitGraph;
+    }
+
+    public ObjectDatabase getObjectDatabase() {
+        return objectDatabase;
+    }
+
+    public Path getGitDirectory() {
+        return gitDirectory;
+    }
+
+    public Path getCommonDirectory() {
+        return commonDirectory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        objectDatabase.close();
+    }
+}
@@ -1,12 +1,50 @@
 package git;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class GitService implements Closeable {
+    // Länge der abgekürzten Commit-IDs, wie sie `git log --oneline` ausgibt
+    private static final int ABBREV_LENGTH = 7;
+    // Maschinenlesbares Format für `git log -z`: Hash, Autor, Datum und vollständige Nachricht, getrennt durch NUL
+    private static final String STREAM_FORMAT = "--format=%H%x00%an <%ae>%x00%aI%x00%B";
+    private static final int STREAM_FIELDS = 4;
+
+    private final Path workingDirectory;
+    private final ProcessRunner processRunner;
+    private GitRepository repository;
+    private boolean repositoryUnavailable;
+    private TagIndex tagIndex;
+
+    public GitService() {
+        this(Paths.get(""));
+    }
+
+    /**
+     * Erstellt einen Service für das Repository im angegebenen Verzeichnis. Alle Git-Aufrufe und
+     * Lesezugriffe laufen dort statt im Arbeitsverzeichnis des Prozesses.
+     *
+     * @param workingDirectory Ein Verzeichnis innerhalb des Repositorys.
+     */
+    public GitService(Path workingDirectory) {
+        this.workingDirectory = workingDirectory.toAbsolutePath().normalize();
+        this.processRunner = new ProcessRunner(this.workingDirectory);
+    }
 
-public class GitService {
     /**
      * Holt alle Commits, die seit dem letzten Tag erstellt wurden.
      *
@@ -27,58 +65,341 @@ public class GitService {
         String lastTag = getLastTag();
         
         // git command construct
-        ProcessBuilder pb;
+        List<String> command;
         if (lastTag.isEmpty()) {
-            pb = new ProcessBuilder("git", "log", "--oneline", "--reverse");
+            command = List.of("git", "log", "--oneline", "--reverse");
             System.out.println("Processing all commits (no previous tags)");
         } else {
-            pb = new ProcessBuilder("git", "log", lastTag + "..HEAD", "--oneline", "--reverse");
+            command = List.of("git", "log", lastTag + "..HEAD", "--oneline", "--reverse");
             System.out.println("Processing commits since tag: " + lastTag);
         }
 
-        try{
-                Process process = pb.start();
+        List<GitCommit> inProcess = logInProcess("HEAD", lastTag.isEmpty() ? null : lastTag);
+        if (inProcess != null) {
+            return inProcess;
+        }
 
-            // Vérifier les erreurs du processus
-            try (BufferedReader errorReader = new BufferedReader(
-                    new InputStreamReader(process.getErrorStream()))) 
-                    {
-                    String errorLine = errorReader.readLine();
-                    if (errorLine != null) {
-                        System.err.println("Git error: " + errorLine);
-                    }
+        // stdout wird zeilenweise gelesen statt gepuffert, stderr gleichzeitig, damit keine Pipe volllaufen kann
+        ProcessRunner.Result result = processRunner.streamLines(command, ProcessRunner.DEFAULT_TIMEOUT, null,
+                line -> addOnelineCommit(line, commits));
+
+        // Vérifier les erreurs du processus
+        String errorLine = result.getFirstErrorLine();
+        if (errorLine != null) {
+            System.err.println("Git error: " + errorLine);
+        }
+
+        if(result.getExitCode() != 0){
+            throw new IOException("Git command failed with exit code: " + result.getExitCode());
+        }
+
+        return commits;
+    }
+
+    /**
+     * Liefert alle Commits seit dem letzten Tag einzeln an einen Consumer, während sie gelesen werden.
+     *
+     * Schritte:
+     * Ermittelt den letzten Tag und damit die Range `<tag>..HEAD` (ohne Tag: die gesamte Historie).
+     * Ist das Repository direkt lesbar, werden die Commits aus der Objektdatenbank geliefert.
+     * Andernfalls wird `git log -z` mit einem Maschinenformat gestartet und der Byte-Strom
+     * Datensatz für Datensatz geparst, sodass der Consumer arbeitet, während Git noch schreibt.
+     * Jeder `GitCommit` enthält die vollständige ID, Autor, Datum (ISO 8601) und die komplette Nachricht.
+     *
+     * Hinweis: Die Commits kommen neueste zuerst (`--reverse` würde Git zwingen, erst alles zu puffern).
+     *
+     * @param consumer Empfängt jeden Commit, sobald er geparst ist.
+     * @return Die Anzahl der gelieferten Commits.
+     * @throws IOException Wenn Git fehlschlägt oder die Ausgabe nicht gelesen werden kann.
+     */
+    public int streamCommitsSinceLastVersion(Consumer<GitCommit> consumer) throws IOException {
+        return streamCommitsSince(getLastTag(), null, consumer);
+    }
+
+    /**
+     * Wie {@link #streamCommitsSinceLastVersion(Consumer)}, aber mit bereits ermitteltem Tag und optional
+     * einem weiteren ausgeschlossenen Commit (z. B. dem Stand des letzten Laufs), sodass nur neuere
+     * Commits gelaufen und gelesen werden.
+     *
+     * @param lastTag Der letzte Tag oder eine leere Zeichenkette für die gesamte Historie.
+     * @param since Ein Commit, dessen Vorfahren ebenfalls ausgeschlossen werden, oder `null`.
+     * @param consumer Empfängt jeden Commit, sobald er geparst ist (neueste zuerst).
+     * @return Die Anzahl der gelieferten Commits.
+     * @throws IOException Wenn Git fehlschlägt oder die Ausgabe nicht gelesen werden kann.
+     */
+    public int streamCommitsSince(String lastTag, String since, Consumer<GitCommit> consumer) throws IOException {
+        if (lastTag.isEmpty()) {
+            System.out.println("Streaming all commits (no previous tags)");
+        } else {
+            System.out.println("Streaming commits since tag: " + lastTag);
+        }
+
+        GitRepository repo = localRepository();
+        if (repo != null) {
+            List<String> ids = null;
+            try {
+                List<String> excluded = new ArrayList<>(2);
+                if (!lastTag.isEmpty()) {
+                    excluded.add(repo.resolveCommit(lastTag));
+                }
+                if (since != null) {
+                    excluded.add(repo.resolveCommit(since));
+                }
+                ids = new RevisionWalker(repo).walk(List.of(repo.resolveHead()), excluded);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("In-process commit walk failed, falling back to git: " + e.getMessage());
             }
+            if (ids != null) {
+                for (String id : ids) {
+                    CommitObject commit = repo.parseCommit(id);
+                    consumer.accept(new GitCommit(id, commit.getMessage(), commit.getAuthor(), commit.getAuthorDate()));
+                }
+                return ids.size();
+            }
+        }
+
+        List<String> command = new ArrayList<>(List.of("git", "log", "-z", STREAM_FORMAT));
+        // Ohne positive Revision würde `git log ^<since>` nichts ausgeben, daher ohne Tag ausdrücklich HEAD
+        command.add(lastTag.isEmpty() ? "HEAD" : lastTag + "..HEAD");
+        if (since != null) {
+            command.add("^" + since);
+        }
+        return streamGitLog(command, consumer);
+    }
+
+    /**
+     * Ermittelt die geänderten Pfade vieler Commits mit einem einzigen `git diff-tree --stdin`.
+     *
+     * Schritte:
+     * Schreibt alle Commit-IDs in die Standardeingabe von `git diff-tree -r --name-only -z -m --root`.
+     * Liest die NUL-getrennte Ausgabe als Strom: eine angefragte Commit-ID beginnt einen neuen Block,
+     * alle folgenden Felder sind Pfade dieses Commits.
+     * Bei Merges liefert `-m` einen Block pro Elternteil; nur der erste (Diff zum ersten Elternteil) zählt.
+     *
+     * @param commitIds Die vollständigen Commit-IDs.
+     * @return Eine Map von Commit-ID auf die geänderten Pfade (Commits ohne Änderungen fehlen).
+     * @throws IOException Wenn Git fehlschlägt.
+     */
+    public Map<String, List<String>> getChangedPaths(List<String> commitIds) throws IOException {
+        Map<String, List<String>> changes = new HashMap<>();
+        if (commitIds.isEmpty()) {
+            return changes;
+        }
+        Set<String> requested = new HashSet<>(commitIds);
+        StringBuilder input = new StringBuilder(commitIds.size() * 41);
+        for (String id : commitIds) {
+            input.append(id).append('\n');
+        }
 
-            try(BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream())
-            )){
-                String line;
-                while ((line = reader.readLine()) != null){
-                    String[] parts = line.split(" ", 2);
-                    if (parts.length == 2){
-                        commits.add(new GitCommit(parts[0], parts[1]));
+        List<String> command = List.of("git", "diff-tree", "--stdin", "-r", "--name-only", "-z", "-m", "--root");
+        ProcessRunner.Result result = processRunner.stream(command, ProcessRunner.DEFAULT_TIMEOUT,
+                input.toString().getBytes(StandardCharsets.UTF_8), stdout -> {
+            InputStream in = new BufferedInputStream(stdout);
+            ByteArrayOutputStream field = new ByteArrayOutputStream(128);
+            List<String> current = null;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != 0) {
+                    field.write(b);
+                    continue;
+                }
+                String value = field.toString(StandardCharsets.UTF_8);
+                field.reset();
+                if (requested.contains(value)) {
+                    // Weitere Blöcke desselben Merges (Diff zu den anderen Eltern) werden verworfen
+                    current = changes.containsKey(value) ? null : new ArrayList<>();
+                    if (current != null) {
+                        changes.put(value, current);
                     }
+                } else if (current != null) {
+                    current.add(value);
                 }
             }
+        });
+
+        if (result.getExitCode() != 0) {
+            System.err.println("Git error: " + result.getFirstErrorLine());
+            throw new IOException("git diff-tree failed with exit code: " + result.getExitCode());
+        }
+        return changes;
+    }
+
+    /**
+     * Ordnet die gesamte Historie in einem Durchgang den Versionen zu (für das Nachtragen alter Changelogs).
+     *
+     * Schritte:
+     * Sortiert alle Tags mit semantischer Version aufsteigend (über den Tag-Index).
+     * Läuft die Historie genau einmal: jeder Commit gehört zum ersten Tag, der ihn enthält
+     * (entspricht `git log <tag> ^<alle älteren Tags>`, aber ohne überlappende Läufe).
+     * Commits, die in keinem Tag enthalten sind, landen optional in einem Bereich "Unreleased" (ab HEAD).
+     * Tags ohne eigene Commits (z. B. zwei Tags auf demselben Commit) werden ausgelassen.
+     *
+     * @param includeUnreleased Ob die Commits nach dem letzten Tag als eigener Bereich geliefert werden.
+     * @return Die Bereiche in aufsteigender Versionsreihenfolge, jeweils mit Commits älteste zuerst.
+     * @throws IOException Wenn das Repository nicht direkt gelesen werden kann.
+     */
+    public List<ReleaseRange> getReleaseRanges(boolean includeUnreleased) throws IOException {
+        GitRepository repo = localRepository();
+        if (repo == null) {
+            throw new IOException("Backfill needs direct access to the repository at " + workingDirectory);
+        }
+
+        List<TagIndex.Tag> tags = getTagIndex(repo).inVersionOrder();
+        List<String> tips = new ArrayList<>(tags.size() + 1);
+        for (TagIndex.Tag tag : tags) {
+            tips.add(tag.getCommitId());
+        }
+        if (includeUnreleased) {
+            tips.add(repo.resolveHead());
+        }
+        List<List<String>> partitions = new RevisionWalker(repo).partition(tips);
+
+        List<ReleaseRange> ranges = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            List<String> ids = partitions.get(i);
+            if (ids.isEmpty()) {
+                continue;
+            }
+            List<GitCommit> commits = new ArrayList<>(ids.size());
+            for (int j = ids.size() - 1; j >= 0; j--) {
+                CommitObject commit = repo.parseCommit(ids.get(j));
+                commits.add(new GitCommit(ids.get(j), commit.getMessage(), commit.getAuthor(), commit.getAuthorDate()));
+            }
+            if (i < tags.size()) {
+                String date = repo.parseCommit(tags.get(i).getCommitId()).getAuthorDate();
+                ranges.add(new ReleaseRange(tags.get(i).getName(), date, commits));
+            } else {
+                ranges.add(new ReleaseRange("", null, commits));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Löst eine Revision (z. B. "HEAD" oder einen Tag) zur vollständigen Commit-ID auf.
+     *
+     * @param revision Die Revision.
+     * @return Die Commit-ID oder `null`, wenn die Revision nicht existiert.
+     */
+    public String resolveCommitId(String revision) {
+        GitRepository repo = localRepository();
+        if (repo != null) {
+            try {
+                return repo.resolveCommit(revision);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("In-process lookup failed, falling back to git: " + e.getMessage());
+            }
+        }
+        try {
+            ProcessRunner.Result result = processRunner.run(List.of("git", "rev-parse", "--verify", "--quiet", revision + "^{commit}"));
+            List<String> lines = result.getStdoutLines();
+            return result.getExitCode() == 0 && !lines.isEmpty() ? lines.get(0).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
-            int exitCode = process.waitFor();
-            if(exitCode != 0){
-                throw new IOException("Git command failed with exit code: " + exitCode);
+    /**
+     * Prüft, ob `ancestor` in der Historie von `descendant` liegt (wie `git merge-base --is-ancestor`).
+     * Fehlt einer der Commits (z. B. nach einem Force-Push und `gc`), ist das Ergebnis `false`.
+     *
+     * @param ancestor Der mögliche Vorfahre.
+     * @param descendant Der Nachfahre, z. B. HEAD.
+     * @return `true`, wenn `ancestor` erreichbar ist.
+     */
+    public boolean isAncestor(String ancestor, String descendant) {
+        GitRepository repo = localRepository();
+        if (repo != null) {
+            try {
+                // ancestor..descendant umgekehrt: leer, wenn ancestor in der Historie von descendant liegt
+                String from = repo.resolveCommit(ancestor);
+                String to = repo.resolveCommit(descendant);
+                return new RevisionWalker(repo).walk(List.of(from), List.of(to)).isEmpty();
+            } catch (IOException | RuntimeException e) {
+                return false;
             }
         }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IOException("Git command was interrupted", e);
+        try {
+            return processRunner.run(List.of("git", "merge-base", "--is-ancestor", ancestor, descendant)).getExitCode() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Liefert das Git-Verzeichnis (`.git` bzw. das Verzeichnis des Worktrees).
+     *
+     * @return Das Git-Verzeichnis oder `null`, wenn keines gefunden wird.
+     */
+    public Path getGitDirectory() {
+        GitRepository repo = localRepository();
+        if (repo != null) {
+            return repo.getGitDirectory();
+        }
+        try {
+            ProcessRunner.Result result = processRunner.run(List.of("git", "rev-parse", "--git-dir"));
+            List<String> lines = result.getStdoutLines();
+            return result.getExitCode() == 0 && !lines.isEmpty() ? workingDirectory.resolve(lines.get(0).trim()) : null;
+        } catch (IOException e) {
+            return null;
         }
+    }
 
-        return commits;
+    /**
+     * Startet einen `git log -z`-Befehl und parst die NUL-getrennten Datensätze direkt aus dem Byte-Strom.
+     *
+     * Schritte:
+     * Liest die Standardausgabe Byte für Byte (gepuffert) und sammelt die Bytes eines Feldes bis zum NUL.
+     * Nach jeweils vier Feldern (Hash, Autor, Datum, Nachricht) wird ein `GitCommit` an den Consumer übergeben.
+     * Prüft am Ende den Exit-Code des Prozesses.
+     *
+     * @param command Der vollständige Git-Befehl (muss `STREAM_FORMAT` und `-z` enthalten).
+     * @param consumer Empfängt jeden geparsten Commit.
+     * @return Die Anzahl der gelieferten Commits.
+     * @throws IOException Wenn Git fehlschlägt oder unterbrochen wird.
+     */
+    private int streamGitLog(List<String> command, Consumer<GitCommit> consumer) throws IOException {
+        int[] count = {0};
+        ProcessRunner.Result result = processRunner.stream(command, ProcessRunner.DEFAULT_TIMEOUT, stdout -> {
+            InputStream in = new BufferedInputStream(stdout);
+            ByteArrayOutputStream field = new ByteArrayOutputStream(256);
+            String[] fields = new String[STREAM_FIELDS];
+            int index = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != 0) {
+                    field.write(b);
+                    continue;
+                }
+                fields[index++] = field.toString(StandardCharsets.UTF_8);
+                field.reset();
+                if (index == STREAM_FIELDS) {
+                    consumer.accept(new GitCommit(fields[0].trim(), fields[3], fields[1], fields[2]));
+                    count[0]++;
+                    index = 0;
+                }
+            }
+            // Der letzte Datensatz ist nicht zwingend mit NUL abgeschlossen
+            if (index == STREAM_FIELDS - 1) {
+                consumer.accept(new GitCommit(fields[0].trim(), field.toString(StandardCharsets.UTF_8), fields[1], fields[2]));
+                count[0]++;
+            }
+        });
+
+        if (result.getExitCode() != 0) {
+            System.err.println("Git error: " + result.getFirstErrorLine());
+            throw new IOException("Git command failed with exit code: " + result.getExitCode());
+        }
+        return count[0];
     }
 
     /**
      * Ruft den neuesten Tag im Repository ab.
      *
      * Schritte:
-     * Führt den Git-Befehl `git describe --tags --abbrev=0` aus, der den letzten Tag beschreibt.
+     * Sucht ab `HEAD` den nächsten Commit, der im Tag-Index steht (wie `git describe --tags --abbrev=0`);
+     * tragen mehrere Tags denselben Commit, gewinnt die höchste Version.
+     * Nur wenn das Repository nicht direkt gelesen werden kann, wird `git describe` ausgeführt.
      * Falls ein Tag gefunden wird:
      *    - Gibt den Tag zurück.
      * Falls kein Tag gefunden wird:
@@ -87,21 +408,30 @@ public class GitService {
      * @return Der letzte Tag (z. B. v1.0.0) oder eine leere Zeichenkette, wenn kein Tag vorhanden ist.
      */
     public String getLastTag() {
-        try {
-            Process process = new ProcessBuilder("git", "describe", "--tags", "--abbrev=0").start();
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String tag = reader.readLine();
-                int exitCode = process.waitFor();
-                
-                // Si le processus a échoué (pas de tags), retourner une chaîne vide
-                if (exitCode != 0 || tag == null) {
+        GitRepository repo = localRepository();
+        if (repo != null) {
+            try {
+                String tag = describeInProcess(repo);
+                if (tag.isEmpty()) {
                     System.out.println("No previous tags found, processing all commits");
-                    return "";
                 }
-                
-                return tag.trim();
+                return tag;
+            } catch (IOException e) {
+                System.out.println("In-process tag lookup failed, falling back to git: " + e.getMessage());
+            }
+        }
+
+        try {
+            ProcessRunner.Result result = processRunner.run(List.of("git", "describe", "--tags", "--abbrev=0"));
+            List<String> lines = result.getStdoutLines();
+
+            // Si le processus a échoué (pas de tags), retourner une chaîne vide
+            if (result.getExitCode() != 0 || lines.isEmpty()) {
+                System.out.println("No previous tags found, processing all commits");
+                return "";
             }
+
+            return lines.get(0).trim();
         } catch (Exception e) {
             System.out.println("Could not retrieve tags: " + e.getMessage());
             return "";
@@ -132,47 +462,38 @@ public class GitService {
         }
 
         System.out.println("Fetching commits before tag: " + tagName);
-        //Git command
-        ProcessBuilder pb = new ProcessBuilder("git", "log", tagName +"^.." + tagName, "--oneline", "--reverse");
-
-        try{
-            //Command execute
-            Process process = pb.start();
-
-            //check error
-            try(BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()))){
-                String errorLine = errorReader.readLine();
-                if (errorLine != null){
-                    System.err.println("Git error: " + errorLine);
-                    throw new IOException("Git error: " + errorLine);
-                }
-            }
 
-            //read
-            try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))){
-                String line;
-                while ((line = reader.readLine()) != null){
-                    String[] parts = line.split(" ", 2);
-                    if (parts.length == 2){
-                        commits.add(new GitCommit(parts[0], parts[1]));
-                    }
-                }
-            }
+        List<GitCommit> inProcess = logInProcess(tagName, tagName + "^");
+        if (inProcess != null) {
+            return inProcess;
+        }
 
-            //
-            int exitCode = process.waitFor();
-            if (exitCode != 0){
-                throw new IOException("Git command failed with exit code: " + exitCode);
-            }
+        //Git command execute
+        ProcessRunner.Result result = processRunner.streamLines(List.of("git", "log", tagName +"^.." + tagName, "--oneline", "--reverse"),
+                ProcessRunner.DEFAULT_TIMEOUT, null, line -> addOnelineCommit(line, commits));
+
+        //check error
+        String errorLine = result.getFirstErrorLine();
+        if (errorLine != null){
+            System.err.println("Git error: " + errorLine);
+            throw new IOException("Git error: " + errorLine);
+        }
 
-        }catch (InterruptedException e ){
-            Thread.currentThread().interrupt();
-            throw new IOException("Git command was interrupt", e);
+        if (result.getExitCode() != 0){
+            throw new IOException("Git command failed with exit code: " + result.getExitCode());
         }
 
         return commits;
     }
 
+    // Eine Zeile von `git log --oneline`: abgekürzter Hash, Leerzeichen, Betreff
+    private static void addOnelineCommit(String line, List<GitCommit> commits) {
+        String[] parts = line.split(" ", 2);
+        if (parts.length == 2){
+            commits.add(new GitCommit(parts[0], parts[1]));
+        }
+    }
+
     /**
      * Entfernt den Präfix "v" (falls vorhanden) von einem übergebenen Tag.
      *
@@ -199,34 +520,31 @@ public class GitService {
      * Erhöht die Build-Nummer eines Versionstags.
      *
      * Schritte:
-     * Entfernt den Präfix "v" (falls vorhanden) mit der Methode `stripPrefix`.
-     * Teilt den Tag in seine Bestandteile `major.minor.build` auf.
-     * Erhöht die `build`-Nummer um 1.
+     * Parst den Tag als semantische Version (Präfix "v" optional, fehlende Teile zählen als 0).
+     * Ist der Tag eine Pre-Release-Version, wird das zugehörige Release zurückgegeben.
+     * Andernfalls wird die `build`-Nummer (Patch) um 1 erhöht.
      * Gibt den neu erstellten Versionstag zurück.
      *
      * Beispiel:
-     *  - Eingabe: v1.2.3
-     *  - Ausgabe: 1.2.4
+     *  - Eingabe: v1.2.3        -> Ausgabe: 1.2.4
+     *  - Eingabe: v1.3.0-rc.2   -> Ausgabe: 1.3.0
+     *  - Eingabe: "" (kein Tag) -> Ausgabe: 0.0.1
      *
      * @param version Der aktuelle Versionstag, der inkrementiert werden soll.
      * @return Der neue Tag mit erhöhter Build-Nummer.
      * @throws IllegalArgumentException Wenn der Tag kein gültiges Format hat.
      */
     public String incrementVerionTaginChangeLog(String version){
-        String[] parts = stripPrefix(version).split("\\.");
-
-        if (parts.length < 3){
-            throw new IllegalArgumentException("Inavlid version format: " + version);
+        if (version == null || version.trim().isEmpty()) {
+            return "0.0.1";
         }
 
-        //
-        int major = Integer.parseInt(parts[0]);
-        int minor = Integer.parseInt(parts[1]);
-        int build = Integer.parseInt(parts[2]);
-
-        build += 1;
+        SemanticVersion parsed = SemanticVersion.parse(version);
+        if (parsed == null){
+            throw new IllegalArgumentException("Invalid version format: " + version);
+        }
 
-        return major + "." + minor +"." + build;
+        return parsed.nextPatch().toString();
     }
 
     /**
@@ -243,15 +561,184 @@ public class GitService {
      */
     public void createAndPushTag(String tagName) throws IOException, InterruptedException {
         // tag automatically created
-        ProcessBuilder createTag = new ProcessBuilder("git", "tag", tagName);
-        Process createProcess = createTag.start();
-        createProcess.waitFor();
+        ProcessRunner.Result created = processRunner.run(List.of("git", "tag", tagName));
+        if (created.getExitCode() != 0) {
+            throw new IOException("Git tag failed: " + created.getFirstErrorLine());
+        }
+        tagIndex = null;
 
         // push
-        ProcessBuilder pushTag = new ProcessBuilder("git", "push", "origin", tagName);
-        Process pushProcess = pushTag.start();
-        pushProcess.waitFor();
+        ProcessRunner.Result pushed = processRunner.run(List.of("git", "push", "origin", tagName));
+        if (pushed.getExitCode() != 0) {
+            throw new IOException("Git push failed: " + pushed.getFirstErrorLine());
+        }
 
         System.out.println("Tag created and pushed: " + tagName);
     }
+
+    /**
+     * @return Das Arbeitsverzeichnis des Repositorys, in dem die `git`-Befehle laufen.
+     */
+    public Path getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    /**
+     * Liefert das Repository für den In-Process-Zugriff auf `.git/objects` (ohne `git`-Prozess).
+     * Ist kein lesbares Repository vorhanden, wird dies gemerkt und künftig direkt `git` verwendet.
+     *
+     * @return Das geöffnete Repository oder `null`, wenn der In-Process-Zugriff nicht möglich ist.
+     */
+    private GitRepository localRepository() {
+        if (repository == null && !repositoryUnavailable) {
+            try {
+                repository = GitRepository.open(workingDirectory);
+            } catch (IOException e) {
+                repositoryUnavailable = true;
+                System.out.println("In-process Git reader unavailable, using git command: " + e.getMessage());
+            }
+        }
+        return repository;
+    }
+
+    /**
+     * Schließt das In-Process-Repository (Dateikanäle und gemappte Packfiles). Ein späterer Aufruf öffnet es
+     * bei Bedarf neu.
+     */
+    @Override
+    public void close() throws IOException {
+        GitRepository repo = repository;
+        repository = null;
+        tagIndex = null;
+        if (repo != null) {
+            repo.close();
+        }
+    }
+
+    /**
+     * Ermittelt die Commits einer Range `<exclude>..<include>` direkt aus der Objektdatenbank.
+     *
+     * Schritte:
+     * Löst beide Revisionen zu Commits auf (ein angehängtes `^` steht für den ersten Elternteil).
+     * Läuft mit dem `RevisionWalker` von `include` bis zu den Vorfahren von `exclude`.
+     * Baut `GitCommit`-Objekte wie bei `git log --oneline --reverse` (abgekürzte ID, Betreffzeile, älteste zuerst).
+     *
+     * @param include Die Revision, von der aus gelaufen wird (z. B. "HEAD").
+     * @param exclude Die Revision, deren Vorfahren ausgeschlossen werden, oder `null` für die gesamte Historie.
+     * @return Die Commits der Range oder `null`, wenn der In-Process-Zugriff fehlschlägt.
+     */
+    private List<GitCommit> logInProcess(String include, String exclude) {
+        GitRepository repo = localRepository();
+        if (repo == null) {
+            return logViaSessions(include, exclude);
+        }
+        try {
+            List<String> excluded = new ArrayList<>();
+            if (exclude != null) {
+                String excludedId = resolveRevision(repo, exclude);
+                if (excludedId != null) {
+                    excluded.add(excludedId);
+                }
+            }
+            List<String> ids = new RevisionWalker(repo).walk(List.of(resolveRevision(repo, include)), excluded);
+
+            List<GitCommit> commits = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                CommitObject commit = repo.parseCommit(id);
+                commits.add(new GitCommit(id.substring(0, ABBREV_LENGTH), commit.getSubject()));
+            }
+            Collections.reverse(commits);
+            return commits;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("In-process commit walk failed, falling back to git: " + e.getMessage());
+            return logViaSessions(include, exclude);
+        }
+    }
+
+    /**
+     * Ermittelt die Commits einer Range über die gepoolten Git-Sessions statt über `git log`.
+     *
+     * Schritte:
+     * Ermittelt die Commit-IDs mit einem einzigen `git rev-list --stdin`.
+     * Liest alle Commit-Objekte gebündelt über eine langlebige `git cat-file --batch`-Session aus dem Pool.
+     * Baut daraus `GitCommit`-Objekte wie bei `git log --oneline --reverse`.
+     *
+     * @param include Die Revision, von der aus gelaufen wird.
+     * @param exclude Die auszuschließende Revision oder `null`.
+     * @return Die Commits der Range oder `null`, wenn Git nicht verwendet werden kann.
+     */
+    private List<GitCommit> logViaSessions(String include, String exclude) {
+        try {
+            GitSessionPool pool = GitSessionPool.forRepository(workingDirectory);
+            List<String> revisions = new ArrayList<>(List.of(include));
+            if (exclude != null) {
+                revisions.add("^" + exclude);
+            }
+            List<String> ids = pool.revList(revisions);
+
+            List<GitCommit> commits = new ArrayList<>(ids.size());
+            for (CommitObject commit : pool.readCommits(ids)) {
+                commits.add(new GitCommit(commit.getId().substring(0, ABBREV_LENGTH), commit.getSubject()));
+            }
+            Collections.reverse(commits);
+            return commits;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Git session lookup failed, falling back to git log: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Löst "<rev>" bzw. "<rev>^" auf; ein Root-Commit hat keinen Elternteil (Ergebnis `null`)
+    private String resolveRevision(GitRepository repo, String revision) throws IOException {
+        if (revision.endsWith("^")) {
+            String id = repo.resolveCommit(revision.substring(0, revision.length() - 1));
+            List<String> parents = repo.parseCommit(id).getParents();
+            return parents.isEmpty() ? null : parents.get(0);
+        }
+        return repo.resolveCommit(revision);
+    }
+
+    /**
+     * Entspricht `git describe --tags --abbrev=0`: sucht ausgehend von HEAD den nächstgelegenen Commit mit Tag.
+     * Tragen mehrere Tags denselben Commit, gewinnt die höchste Version, danach ein annotierter Tag.
+     *
+     * @param repo Das Repository.
+     * @return Der Name des nächstgelegenen Tags oder eine leere Zeichenkette.
+     * @throws IOException Wenn Refs oder Commits nicht gelesen werden können.
+     */
+    private String describeInProcess(GitRepository repo) throws IOException {
+        TagIndex tags = getTagIndex(repo);
+        if (tags.isEmpty()) {
+            return "";
+        }
+
+        String hit = new RevisionWalker(repo).findFirst(repo.resolveHead(), id -> !tags.tagsFor(id).isEmpty());
+        return hit == null ? "" : tags.tagFor(hit).getName();
+    }
+
+    /**
+     * Liefert den Tag-Index des lokalen Repositorys (wird einmal pro Instanz aufgebaut und
+     * nach `createAndPushTag` neu geladen).
+     *
+     * @return Der Tag-Index oder `null`, wenn das Repository nicht direkt gelesen werden kann.
+     */
+    public TagIndex getTagIndex() {
+        GitRepository repo = localRepository();
+        if (repo == null) {
+            return null;
+        }
+        try {
+            return getTagIndex(repo);
+        } catch (IOException e) {
+            System.out.println("Could not read tags: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private TagIndex getTagIndex(GitRepository repo) throws IOException {
+        if (tagIndex == null) {
+            tagIndex = TagIndex.load(repo);
+        }
+        return tagIndex;
+    }
 }
@@ -0,0 +1,200 @@
+package git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class GitSessionPool implements Closeable {
+    public static final int DEFAULT_MAX_SESSIONS = 4;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Map<Path, GitSessionPool> POOLS = new ConcurrentHashMap<>();
+    // Ein gemeinsamer Daemon-Thread schließt Sessions, die länger als das Idle-Timeout unbenutzt sind
+    private static final ScheduledExecutorService REAPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "git-session-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final ProcessRunner runner;
+    private final long idleTimeoutNanos;
+    private final Semaphore permits;
+    private final Deque<CatFileSession> idle = new ArrayDeque<>();
+    private final ScheduledFuture<?> reaper;
+
+    public GitSessionPool(Path directory, int maxSessions, Duration idleTimeout) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("The pool needs at least one session.");
+        }
+        this.directory = directory.toAbsolutePath().normalize();
+        this.runner = new ProcessRunner(this.directory);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.permits = new Semaphore(maxSessions, true);
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        this.reaper = REAPER.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Liefert den gemeinsamen Pool für ein Repository (wird beim ersten Zugriff mit Standardwerten angelegt).
+     *
+     * @param directory Das Arbeitsverzeichnis des Repositorys.
+     * @return Der Pool für dieses Repository.
+     */
+    public static GitSessionPool forRepository(Path directory) {
+        return POOLS.computeIfAbsent(directory.toAbsolutePath().normalize(),
+                dir -> new GitSessionPool(dir, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_TIMEOUT));
+    }
+
+    /**
+     * Liest viele Objekte über eine gepoolte `git cat-file --batch`-Session.
+     *
+     * Schritte:
+     * Wartet auf eine freie Session (höchstens `maxSessions` gleichzeitig).
+     * Verwendet eine freie, noch lebende Session oder startet eine neue.
+     * Schickt alle Anfragen gebündelt (Pipelining) und liest die Antworten.
+     * Gibt die Session zurück in den Pool; nach einem Fehler wird sie stattdessen geschlossen.
+     *
+     * @param revisions Die angefragten Revisionen oder Objekt-IDs.
+     * @return Die Objekte in Anfragereihenfolge; `null` für fehlende Objekte.
+     * @throws IOException Wenn keine Session gestartet werden kann oder die Session abbricht.
+     */
+    public List<GitObject> readObjects(List<String> revisions) throws IOException {
+        CatFileSession session = borrow();
+        boolean healthy = false;
+        try {
+            List<GitObject> objects = session.readAll(revisions);
+            healthy = true;
+            return objects;
+        } finally {
+            release(session, healthy);
+        }
+    }
+
+    /**
+     * Liest und parst Commits über eine gepoolte Session.
+     *
+     * @param ids Die Commit-IDs.
+     * @return Die geparsten Commits in Anfragereihenfolge.
+     * @throws IOException Wenn ein Commit fehlt oder kein Commit ist.
+     */
+    public List<CommitObject> readCommits(List<String> ids) throws IOException {
+        List<GitObject> objects = readObjects(ids);
+        List<CommitObject> commits = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            GitObject object = objects.get(i);
+            if (object == null || object.getType() != GitObject.COMMIT) {
+                throw new IOException("Commit not found: " + ids.get(i));
+            }
+            commits.add(CommitObject.parse(ids.get(i), object));
+        }
+        return commits;
+    }
+
+    /**
+     * Führt `git rev-list --stdin` aus und übergibt alle Revisionen (z. B. "HEAD", "^v1.0.0") über stdin.
+     *
+     * Hinweis: `rev-list` beginnt erst nach dem Ende der Eingabe zu arbeiten und lässt sich daher nicht
+     * für mehrere Anfragen offen halten; pro Range wird genau ein Prozess gestartet, egal wie viele
+     * Revisionen sie umfasst.
+     *
+     * @param revisions Die Revisionen, wie sie `git rev-list` auf der Kommandozeile akzeptiert.
+     * @return Die Commit-IDs, neueste zuerst.
+     * @throws IOException Wenn Git fehlschlägt.
+     */
+    public List<String> revList(List<String> revisions) throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (String revision : revisions) {
+            input.append(revision).append('\n');
+        }
+        // Zeilenweise statt gepuffert: die gesamte Historie eines großen Repositorys kann viele MB umfassen
+        List<String> ids = new ArrayList<>();
+        ProcessRunner.Result result = runner.streamLines(List.of("git", "rev-list", "--stdin"),
+                ProcessRunner.DEFAULT_TIMEOUT, input.toString().getBytes(StandardCharsets.UTF_8), line -> ids.add(line.trim()));
+        if (result.getExitCode() != 0) {
+            throw new IOException("git rev-list failed with exit code: " + result.getExitCode());
+        }
+        return ids;
+    }
+
+    private CatFileSession borrow() throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a git session", e);
+        }
+        try {
+            synchronized (idle) {
+                while (!idle.isEmpty()) {
+                    CatFileSession session = idle.pop();
+                    if (session.isAlive()) {
+                        return session;
+                    }
+                    session.close();
+                }
+            }
+            return new CatFileSession(runner);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(CatFileSession session, boolean healthy) {
+        try {
+            if (healthy && session.isAlive()) {
+                synchronized (idle) {
+                    idle.push(session);
+                }
+            } else {
+                session.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Schließt alle freien Sessions, die länger als das Idle-Timeout nicht benutzt wurden.
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        synchronized (idle) {
+            Iterator<CatFileSession> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                CatFileSession session = iterator.next();
+                if (!session.isAlive() || now - session.getLastUsed() > idleTimeoutNanos) {
+                    iterator.remove();
+                    session.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        POOLS.remove(directory, this);
+        reaper.cancel(false);
+        synchronized (idle) {
+            for (CatFileSession session : idle) {
+                session.close();
+            }
+            idle.clear();
+        }
+    }
+}
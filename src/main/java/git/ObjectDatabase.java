@@ -0,0 +1,157 @@
+package git;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.InflaterInputStream;
+
+public class ObjectDatabase implements Closeable {
+    private final Path objectsDirectory;
+    private final List<PackFile> packs = new ArrayList<>();
+    private final Set<Path> knownPacks = new HashSet<>();
+
+    /**
+     * Öffnet die Objektdatenbank eines Repositorys (`.git/objects`).
+     *
+     * @param objectsDirectory Der Pfad zum `objects`-Verzeichnis.
+     * @throws IOException Wenn das Verzeichnis nicht existiert oder ein Pack nicht geöffnet werden kann.
+     */
+    public ObjectDatabase(Path objectsDirectory) throws IOException {
+        if (!Files.isDirectory(objectsDirectory)) {
+            throw new IOException("Object directory not found: " + objectsDirectory);
+        }
+        this.objectsDirectory = objectsDirectory;
+        scanPacks();
+    }
+
+    /**
+     * Liest ein Objekt anhand seiner ID.
+     *
+     * Schritte:
+     * Sucht zuerst nach einem losen Objekt unter `objects/xx/yyyy...`.
+     * Sucht danach in allen bekannten Packs über deren Index.
+     * Wird das Objekt nicht gefunden, werden neue Packs (z. B. nach `git gc`) einmalig nachgeladen.
+     *
+     * @param id Die Objekt-ID als 40-stelliger Hex-String.
+     * @return Das gelesene Objekt.
+     * @throws IOException Wenn das Objekt nicht existiert oder nicht gelesen werden kann.
+     */
+    public GitObject read(String id) throws IOException {
+        GitObject loose = readLoose(id);
+        if (loose != null) {
+            return loose;
+        }
+
+        byte[] raw = GitObject.fromHex(id);
+        GitObject packed = readPacked(raw);
+        if (packed == null && scanPacks()) {
+            packed = readPacked(raw);
+        }
+        if (packed == null) {
+            throw new IOException("Object not found: " + id);
+        }
+        return packed;
+    }
+
+    private GitObject readPacked(byte[] raw) throws IOException {
+        List<PackFile> snapshot;
+        synchronized (packs) {
+            snapshot = new ArrayList<>(packs);
+        }
+        for (PackFile pack : snapshot) {
+            long offset = pack.findOffset(raw);
+            if (offset >= 0) {
+                return pack.read(offset, this);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liest ein loses, zlib-komprimiertes Objekt ("<typ> <größe>\0<daten>").
+     *
+     * @param id Die Objekt-ID.
+     * @return Das Objekt oder `null`, wenn kein loses Objekt mit dieser ID existiert.
+     * @throws IOException Wenn die Datei beschädigt ist.
+     */
+    private GitObject readLoose(String id) throws IOException {
+        Path path = objectsDirectory.resolve(id.substring(0, 2)).resolve(id.substring(2));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        byte[] content;
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            content = out.toByteArray();
+        }
+
+        int headerEnd = 0;
+        while (headerEnd < content.length && content[headerEnd] != 0) {
+            headerEnd++;
+        }
+        if (headerEnd == content.length) {
+            throw new IOException("Corrupt loose object: " + id);
+        }
+        String header = new String(content, 0, headerEnd, StandardCharsets.US_ASCII);
+        int type = GitObject.typeFromName(header.substring(0, header.indexOf(' ')));
+        if (type < 0) {
+            throw new IOException("Unknown loose object type: " + header);
+        }
+
+        byte[] data = new byte[content.length - headerEnd - 1];
+        System.arraycopy(content, headerEnd + 1, data, 0, data.length);
+        return new GitObject(type, data);
+    }
+
+    /**
+     * Lädt alle noch unbekannten Packs aus `objects/pack`.
+     *
+     * @return `true`, wenn mindestens ein neues Pack geöffnet wurde.
+     * @throws IOException Wenn ein Pack nicht geöffnet werden kann.
+     */
+    private boolean scanPacks() throws IOException {
+        Path packDirectory = objectsDirectory.resolve("pack");
+        if (!Files.isDirectory(packDirectory)) {
+            return false;
+        }
+
+        boolean added = false;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(packDirectory, "*.idx")) {
+            for (Path indexPath : stream) {
+                String name = indexPath.getFileName().toString();
+                Path packPath = packDirectory.resolve(name.substring(0, name.length() - 4) + ".pack");
+                synchronized (packs) {
+                    if (knownPacks.contains(packPath) || !Files.isRegularFile(packPath)) {
+                        continue;
+                    }
+                    packs.add(new PackFile(indexPath, packPath));
+                    knownPacks.add(packPath);
+                }
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (packs) {
+            for (PackFile pack : packs) {
+                pack.close();
+            }
+            packs.clear();
+            knownPacks.clear();
+        }
+    }
+}
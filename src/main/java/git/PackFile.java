@@ -0,0 +1,293 @@
+package git;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class PackFile implements Closeable {
+    private static final int IDX_MAGIC = 0xff744f63; // "\377tOc"
+    private static final int PACK_MAGIC = 0x5041434b; // "PACK"
+    private static final int OFS_DELTA = 6;
+    private static final int REF_DELTA = 7;
+    // Packs über 2 GB werden fensterweise gemappt; Fenster beginnen an diesen Grenzen
+    private static final long WINDOW_ALIGNMENT = 1L << 28;
+
+    private final Path packPath;
+    private final FileChannel packChannel;
+    private final long packSize;
+    private final MappedByteBuffer index;
+    private final int objectCount;
+    private final int namesOffset;
+    private final int offsetsOffset;
+    private final int largeOffsetsOffset;
+    private MappedByteBuffer packBuffer;
+    private final Map<Long, MappedByteBuffer> windows = new HashMap<>();
+
+    /**
+     * Öffnet ein Pack (`.pack`) zusammen mit seinem Index (`.idx`) und mappt beide in den Speicher.
+     *
+     * Schritte:
+     * Mappt die Index-Datei über einen `FileChannel` und prüft Magic-Bytes und Version (nur Version 2).
+     * Berechnet die Positionen der Tabellen (Namen, Offsets, große Offsets) aus der Fanout-Tabelle.
+     * Mappt die Pack-Datei (bei Dateien über 2 GB erfolgt das Mapping später fensterweise).
+     *
+     * @param indexPath Der Pfad zur `.idx`-Datei.
+     * @param packPath Der Pfad zur zugehörigen `.pack`-Datei.
+     * @throws IOException Wenn eine der Dateien nicht gelesen werden kann oder ein unbekanntes Format hat.
+     */
+    public PackFile(Path indexPath, Path packPath) throws IOException {
+        this.packPath = packPath;
+
+        try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+        }
+        if (index.getInt(0) != IDX_MAGIC || index.getInt(4) != 2) {
+            throw new IOException("Unsupported pack index version: " + indexPath);
+        }
+        this.objectCount = index.getInt(8 + 255 * 4);
+        this.namesOffset = 8 + 256 * 4;
+        this.offsetsOffset = namesOffset + objectCount * 24; // Namen (20) + CRC32 (4)
+        this.largeOffsetsOffset = offsetsOffset + objectCount * 4;
+
+        this.packChannel = FileChannel.open(packPath, StandardOpenOption.READ);
+        this.packSize = packChannel.size();
+        if (packSize <= Integer.MAX_VALUE) {
+            this.packBuffer = packChannel.map(FileChannel.MapMode.READ_ONLY, 0, packSize);
+        }
+        ByteBuffer header = bufferAt(0);
+        if (header.getInt() != PACK_MAGIC) {
+            packChannel.close();
+            throw new IOException("Not a pack file: " + packPath);
+        }
+    }
+
+    /**
+     * Sucht ein Objekt im Pack-Index per Binärsuche.
+     *
+     * Schritte:
+     * Grenzt den Suchbereich über die Fanout-Tabelle auf das erste Byte der Objekt-ID ein.
+     * Führt eine Binärsuche über die sortierten Objekt-IDs aus.
+     * Liest den Offset des Objekts (ggf. aus der Tabelle für große Offsets).
+     *
+     * @param id Die binäre Objekt-ID (20 Bytes).
+     * @return Der Offset des Objekts in der Pack-Datei oder -1, wenn es nicht enthalten ist.
+     */
+    public long findOffset(byte[] id) {
+        int first = id[0] & 0xff;
+        int low = first == 0 ? 0 : index.getInt(8 + (first - 1) * 4);
+        int high = index.getInt(8 + first * 4);
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(mid, id);
+            if (cmp == 0) {
+                int offset = index.getInt(offsetsOffset + mid * 4);
+                if ((offset & 0x80000000) != 0) {
+                    return index.getLong(largeOffsetsOffset + (offset & 0x7fffffff) * 8);
+                }
+                return offset;
+            } else if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareName(int position, byte[] id) {
+        int base = namesOffset + position * 20;
+        for (int i = 0; i < 20; i++) {
+            int a = index.get(base + i) & 0xff;
+            int b = id[i] & 0xff;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Liest ein Objekt an einem bestimmten Offset und löst Delta-Ketten auf.
+     *
+     * Schritte:
+     * Dekodiert den Objekt-Header (Typ und unkomprimierte Größe).
+     * Bei Basisobjekten (Commit, Tree, Blob, Tag): entpackt die zlib-Daten direkt.
+     * Bei `OFS_DELTA`: liest das Basisobjekt über den relativen Offset im selben Pack.
+     * Bei `REF_DELTA`: liest das Basisobjekt über seine ID aus der Objektdatenbank.
+     * Wendet das Delta auf das Basisobjekt an.
+     *
+     * @param offset Der Offset des Objekts in der Pack-Datei.
+     * @param database Die Objektdatenbank, über die `REF_DELTA`-Basen aufgelöst werden.
+     * @return Das vollständige Objekt.
+     * @throws IOException Wenn das Pack beschädigt ist oder eine Basis fehlt.
+     */
+    public GitObject read(long offset, ObjectDatabase database) throws IOException {
+        ByteBuffer buffer = bufferAt(offset);
+        int c = buffer.get() & 0xff;
+        int type = (c >> 4) & 7;
+        long size = c & 15;
+        int shift = 4;
+        while ((c & 0x80) != 0) {
+            c = buffer.get() & 0xff;
+            size |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        }
+
+        switch (type) {
+            case GitObject.COMMIT:
+            case GitObject.TREE:
+            case GitObject.BLOB:
+            case GitObject.TAG:
+                return new GitObject(type, inflate(buffer, size));
+            case OFS_DELTA: {
+                c = buffer.get() & 0xff;
+                long distance = c & 0x7f;
+                while ((c & 0x80) != 0) {
+                    c = buffer.get() & 0xff;
+                    distance = ((distance + 1) << 7) | (c & 0x7f);
+                }
+                byte[] delta = inflate(buffer, size);
+                GitObject base = read(offset - distance, database);
+                return new GitObject(base.getType(), applyDelta(base.getData(), delta));
+            }
+            case REF_DELTA: {
+                byte[] baseId = new byte[20];
+                buffer.get(baseId);
+                byte[] delta = inflate(buffer, size);
+                GitObject base = database.read(GitObject.toHex(baseId));
+                return new GitObject(base.getType(), applyDelta(base.getData(), delta));
+            }
+            default:
+                throw new IOException("Unknown object type " + type + " at offset " + offset + " in " + packPath);
+        }
+    }
+
+    /**
+     * Liefert einen Puffer, der auf den angegebenen Offset der Pack-Datei positioniert ist.
+     * Für Packs bis 2 GB wird das einmalige Mapping wiederverwendet, sonst ein ausgerichtetes Fenster.
+     */
+    private ByteBuffer bufferAt(long offset) throws IOException {
+        if (packBuffer != null) {
+            ByteBuffer buffer = packBuffer.duplicate();
+            buffer.position((int) offset);
+            return buffer;
+        }
+        long start = offset & ~(WINDOW_ALIGNMENT - 1);
+        MappedByteBuffer window;
+        synchronized (windows) {
+            window = windows.get(start);
+            if (window == null) {
+                long length = Math.min(packSize - start, Integer.MAX_VALUE);
+                window = packChannel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                windows.put(start, window);
+            }
+        }
+        ByteBuffer buffer = window.duplicate();
+        buffer.position((int) (offset - start));
+        return buffer;
+    }
+
+    private byte[] inflate(ByteBuffer buffer, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Object too large: " + size + " bytes in " + packPath);
+        }
+        byte[] out = new byte[(int) size];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice());
+            int written = 0;
+            while (written < out.length) {
+                int n = inflater.inflate(out, written, out.length - written);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated object data in " + packPath);
+                }
+                written += n;
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt object data in " + packPath, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Wendet ein Git-Delta (Copy/Insert-Anweisungen) auf ein Basisobjekt an.
+     *
+     * @param base Die Daten des Basisobjekts.
+     * @param delta Die entpackten Delta-Daten.
+     * @return Die rekonstruierten Objektdaten.
+     * @throws IOException Wenn das Delta nicht zur Basis passt.
+     */
+    static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        int[] pos = {0};
+        long baseSize = readDeltaSize(delta, pos);
+        long resultSize = readDeltaSize(delta, pos);
+        if (baseSize != base.length) {
+            throw new IOException("Delta base size mismatch: expected " + baseSize + " but was " + base.length);
+        }
+
+        byte[] result = new byte[(int) resultSize];
+        int p = pos[0];
+        int out = 0;
+        while (p < delta.length) {
+            int cmd = delta[p++] & 0xff;
+            if ((cmd & 0x80) != 0) {
+                // Copy aus der Basis: Offset und Länge sind bitweise kodiert
+                int copyOffset = 0;
+                int copySize = 0;
+                if ((cmd & 0x01) != 0) copyOffset = delta[p++] & 0xff;
+                if ((cmd & 0x02) != 0) copyOffset |= (delta[p++] & 0xff) << 8;
+                if ((cmd & 0x04) != 0) copyOffset |= (delta[p++] & 0xff) << 16;
+                if ((cmd & 0x08) != 0) copyOffset |= (delta[p++] & 0xff) << 24;
+                if ((cmd & 0x10) != 0) copySize = delta[p++] & 0xff;
+                if ((cmd & 0x20) != 0) copySize |= (delta[p++] & 0xff) << 8;
+                if ((cmd & 0x40) != 0) copySize |= (delta[p++] & 0xff) << 16;
+                if (copySize == 0) copySize = 0x10000;
+                System.arraycopy(base, copyOffset, result, out, copySize);
+                out += copySize;
+            } else if (cmd != 0) {
+                // Insert: die nächsten `cmd` Bytes werden direkt übernommen
+                System.arraycopy(delta, p, result, out, cmd);
+                p += cmd;
+                out += cmd;
+            } else {
+                throw new IOException("Invalid delta opcode 0");
+            }
+        }
+        if (out != result.length) {
+            throw new IOException("Delta result size mismatch: expected " + result.length + " but was " + out);
+        }
+        return result;
+    }
+
+    private static long readDeltaSize(byte[] delta, int[] pos) {
+        long size = 0;
+        int shift = 0;
+        int c;
+        do {
+            c = delta[pos[0]++] & 0xff;
+            size |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return size;
+    }
+
+    public Path getPackPath() {
+        return packPath;
+    }
+
+    @Override
+    public void close() throws IOException {
+        packChannel.close();
+    }
+}
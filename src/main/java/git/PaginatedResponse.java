@@ -1,21 +1,31 @@
 package git;
 
-import org.json.JSONArray;
+import java.util.List;
 
 public class PaginatedResponse {
-    private JSONArray data;
+    private List<GitCommit> data;
     private String nextUrl;
+    private String lastUrl;
 
-    public PaginatedResponse(JSONArray data, String nextUrl){
+    public PaginatedResponse(List<GitCommit> data, String nextUrl){
+        this(data, nextUrl, null);
+    }
+
+    public PaginatedResponse(List<GitCommit> data, String nextUrl, String lastUrl){
         this.data = data;
         this.nextUrl = nextUrl;
+        this.lastUrl = lastUrl;
     }
 
-    public JSONArray getData() {
+    public List<GitCommit> getData() {
         return data;
     }
 
     public String getNextUrl() {
         return nextUrl;
     }
+
+    public String getLastUrl() {
+        return lastUrl;
+    }
 }
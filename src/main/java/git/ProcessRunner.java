@@ -0,0 +1,375 @@
+package git;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class ProcessRunner {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+    public static final int DEFAULT_OUTPUT_LIMIT = 64 * 1024 * 1024;
+    private static final int ERROR_OUTPUT_LIMIT = 64 * 1024;
+
+    private final Path workingDirectory;
+    private final int outputLimit;
+
+    public ProcessRunner(Path workingDirectory) {
+        this(workingDirectory, DEFAULT_OUTPUT_LIMIT);
+    }
+
+    public ProcessRunner(Path workingDirectory, int outputLimit) {
+        this.workingDirectory = workingDirectory.toAbsolutePath().normalize();
+        this.outputLimit = outputLimit;
+    }
+
+    /**
+     * Führt einen Befehl mit dem Standard-Timeout aus und sammelt Standard- und Fehlerausgabe.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @return Das Ergebnis (Exit-Code, Ausgaben).
+     * @throws IOException Wenn der Prozess nicht startet, das Timeout überschreitet oder unterbrochen wird.
+     */
+    public Result run(List<String> command) throws IOException {
+        return start(command, DEFAULT_TIMEOUT, null).await();
+    }
+
+    public Result run(List<String> command, Duration timeout) throws IOException {
+        return start(command, timeout, null).await();
+    }
+
+    /**
+     * Führt einen Befehl aus und schreibt `input` in seine Standardeingabe (z. B. für `--stdin`).
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @param timeout Die maximale Laufzeit.
+     * @param input Die Daten für die Standardeingabe.
+     * @return Das Ergebnis (Exit-Code, Ausgaben).
+     * @throws IOException Wenn der Prozess nicht startet, das Timeout überschreitet oder unterbrochen wird.
+     */
+    public Result run(List<String> command, Duration timeout, byte[] input) throws IOException {
+        return start(command, timeout, input).await();
+    }
+
+    /**
+     * Startet einen Befehl asynchron.
+     *
+     * Schritte:
+     * Startet den Prozess im Arbeitsverzeichnis des Runners.
+     * Pumpt Standard- und Fehlerausgabe gleichzeitig auf je einem virtuellen Thread in begrenzte Puffer;
+     * über das Limit hinaus wird weiter gelesen, aber verworfen, damit keine Pipe volllaufen kann.
+     * Überschreitet die Standardausgabe das Limit, schlägt `await()` fehl (große Ausgaben über `stream`/`streamLines`).
+     * Schreibt die optionale Eingabe ebenfalls auf einem virtuellen Thread.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @param timeout Die maximale Laufzeit, danach wird der Prozess beendet.
+     * @param input Die Daten für die Standardeingabe oder `null`.
+     * @return Die laufende Ausführung (mit `await()` und `cancel()`).
+     * @throws IOException Wenn der Prozess nicht gestartet werden kann.
+     */
+    public Execution start(List<String> command, Duration timeout, byte[] input) throws IOException {
+        Process process = newProcess(command);
+        Execution execution = new Execution(command, process, timeout);
+        execution.pumpInput(input);
+        execution.stdoutPump = pump(process.getInputStream(), execution.stdout, outputLimit, execution);
+        execution.stderrPump = pump(process.getErrorStream(), execution.stderr, ERROR_OUTPUT_LIMIT, execution);
+        return execution;
+    }
+
+    /**
+     * Führt einen Befehl aus und übergibt seine Standardausgabe als Strom an den Handler (ohne Pufferung).
+     * Die Fehlerausgabe wird parallel in einen begrenzten Puffer gepumpt; nach Ablauf des Timeouts
+     * wird der Prozess beendet, wodurch der Handler das Stromende sieht.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @param timeout Die maximale Laufzeit.
+     * @param handler Verarbeitet die Standardausgabe, während der Prozess noch schreibt.
+     * @return Das Ergebnis (Standardausgabe leer, da sie vom Handler gelesen wurde).
+     * @throws IOException Wenn der Handler oder der Prozess fehlschlägt oder das Timeout überschritten wird.
+     */
+    public Result stream(List<String> command, Duration timeout, OutputHandler handler) throws IOException {
+        return stream(command, timeout, null, handler);
+    }
+
+    /**
+     * Wie {@link #stream(List, Duration, OutputHandler)}, schreibt aber zusätzlich `input` auf einem eigenen
+     * Thread in die Standardeingabe (z. B. Commit-IDs für `git diff-tree --stdin`), während der Handler liest.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @param timeout Die maximale Laufzeit.
+     * @param input Die Daten für die Standardeingabe oder `null`.
+     * @param handler Verarbeitet die Standardausgabe, während der Prozess noch schreibt.
+     * @return Das Ergebnis (Standardausgabe leer, da sie vom Handler gelesen wurde).
+     * @throws IOException Wenn der Handler oder der Prozess fehlschlägt oder das Timeout überschritten wird.
+     */
+    public Result stream(List<String> command, Duration timeout, byte[] input, OutputHandler handler) throws IOException {
+        Process process = newProcess(command);
+        Execution execution = new Execution(command, process, timeout);
+        execution.pumpInput(input);
+        execution.stderrPump = pump(process.getErrorStream(), execution.stderr, ERROR_OUTPUT_LIMIT, execution);
+        try (InputStream in = process.getInputStream()) {
+            handler.handle(in);
+        } catch (IOException | RuntimeException e) {
+            execution.cancel();
+            throw e;
+        }
+        return execution.await();
+    }
+
+    /**
+     * Wie {@link #stream(List, Duration, byte[], OutputHandler)}, übergibt die Standardausgabe aber zeilenweise
+     * (UTF-8, ohne Zeilenende und ohne leere Zeilen), ohne sie zu puffern.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @param timeout Die maximale Laufzeit.
+     * @param input Die Daten für die Standardeingabe oder `null`.
+     * @param lines Empfängt jede Zeile, während der Prozess noch schreibt.
+     * @return Das Ergebnis (Standardausgabe leer, da sie zeilenweise übergeben wurde).
+     * @throws IOException Wenn der Prozess fehlschlägt oder das Timeout überschritten wird.
+     */
+    public Result streamLines(List<String> command, Duration timeout, byte[] input, Consumer<String> lines) throws IOException {
+        return stream(command, timeout, input, stdout -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    lines.accept(line);
+                }
+            }
+        });
+    }
+
+    /**
+     * Startet einen interaktiven Prozess (z. B. `git cat-file --batch`), dessen Ein- und Ausgabe der
+     * Aufrufer selbst bedient. Die Fehlerausgabe wird verworfen, damit sie den Prozess nie blockiert.
+     *
+     * @param command Der Befehl samt Argumenten.
+     * @return Der gestartete Prozess.
+     * @throws IOException Wenn der Prozess nicht gestartet werden kann.
+     */
+    public Process startInteractive(List<String> command) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.directory(workingDirectory.toFile());
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        return pb.start();
+    }
+
+    private Process newProcess(List<String> command) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.directory(workingDirectory.toFile());
+        return pb.start();
+    }
+
+    private static Thread pump(InputStream in, BoundedBuffer target, int limit, Execution execution) {
+        return Thread.ofVirtual().name("process-pump").start(() -> {
+            byte[] chunk = new byte[8192];
+            try (InputStream stream = in) {
+                int n;
+                while ((n = stream.read(chunk)) != -1) {
+                    target.append(chunk, n, limit);
+                }
+            } catch (IOException e) {
+                if (!execution.cancelled) {
+                    execution.pumpError.compareAndSet(null, e);
+                }
+            }
+        });
+    }
+
+    public Path getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    /**
+     * Verarbeitet die Standardausgabe eines laufenden Prozesses.
+     */
+    public interface OutputHandler {
+        void handle(InputStream stdout) throws IOException;
+    }
+
+    /**
+     * Eine laufende Ausführung mit Deadline; kann jederzeit abgebrochen werden.
+     */
+    public static class Execution {
+        private final List<String> command;
+        private final Process process;
+        private final long deadline;
+        private final BoundedBuffer stdout = new BoundedBuffer();
+        private final BoundedBuffer stderr = new BoundedBuffer();
+        private final AtomicReference<IOException> pumpError = new AtomicReference<>();
+        private Thread stdoutPump;
+        private Thread stderrPump;
+        private Thread inputPump;
+        private volatile boolean cancelled;
+        private volatile boolean timedOut;
+
+        private Execution(List<String> command, Process process, Duration timeout) {
+            this.command = command;
+            this.process = process;
+            this.deadline = System.nanoTime() + timeout.toNanos();
+            // Wachhund: beendet den Prozess an der Deadline, auch wenn niemand auf ihn wartet
+            Thread.ofVirtual().name("process-deadline").start(() -> {
+                try {
+                    if (!process.waitFor(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        timedOut = true;
+                        cancel();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        private void pumpInput(byte[] input) {
+            if (input == null) {
+                try {
+                    process.getOutputStream().close();
+                } catch (IOException e) {
+                    // Prozess liest keine Eingabe
+                }
+                return;
+            }
+            inputPump = Thread.ofVirtual().name("process-input").start(() -> {
+                try (OutputStream out = process.getOutputStream()) {
+                    out.write(input);
+                } catch (IOException e) {
+                    // Prozess hat die Eingabe vorzeitig geschlossen; der Exit-Code meldet den Fehler
+                }
+            });
+        }
+
+        /**
+         * Wartet bis zum Ende des Prozesses (höchstens bis zur Deadline) und aller Pump-Threads.
+         *
+         * @return Das Ergebnis der Ausführung.
+         * @throws IOException Wenn die Deadline überschritten, die Ausführung abgebrochen oder unterbrochen wurde
+         *         oder die Standardausgabe das Limit überschritten hat (sie wäre sonst unbemerkt abgeschnitten).
+         */
+        public Result await() throws IOException {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !process.waitFor(remaining, TimeUnit.NANOSECONDS)) {
+                    timedOut = true;
+                    cancel();
+                }
+                join(stdoutPump);
+                join(stderrPump);
+                join(inputPump);
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IOException("Command was interrupted: " + String.join(" ", command), e);
+            }
+            if (timedOut) {
+                throw new IOException("Command timed out: " + String.join(" ", command));
+            }
+            if (cancelled) {
+                throw new IOException("Command was cancelled: " + String.join(" ", command));
+            }
+            if (pumpError.get() != null) {
+                throw pumpError.get();
+            }
+            if (stdout.truncated) {
+                throw new IOException("Output of command exceeded " + stdout.size() + " bytes: " + String.join(" ", command));
+            }
+            return new Result(process.exitValue(), stdout.toByteArray(), stderr.toString(StandardCharsets.UTF_8));
+        }
+
+        private void join(Thread thread) throws InterruptedException {
+            if (thread != null) {
+                thread.join();
+            }
+        }
+
+        /**
+         * Bricht die Ausführung ab und beendet den Prozess (samt Unterprozessen).
+         */
+        public void cancel() {
+            cancelled = true;
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Das Ergebnis eines beendeten Prozesses.
+     */
+    public static class Result {
+        private final int exitCode;
+        private final byte[] stdout;
+        private final String stderr;
+
+        private Result(int exitCode, byte[] stdout, String stderr) {
+            this.exitCode = exitCode;
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        public byte[] getStdout() {
+            return stdout;
+        }
+
+        public String getStdoutText() {
+            return new String(stdout, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Liefert die Standardausgabe zeilenweise (ohne leere Zeile am Ende).
+         */
+        public List<String> getStdoutLines() {
+            List<String> lines = new ArrayList<>();
+            for (String line : getStdoutText().split("\n")) {
+                if (!line.isEmpty()) {
+                    lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+                }
+            }
+            return lines;
+        }
+
+        public String getStderr() {
+            return stderr;
+        }
+
+        /**
+         * Liefert die erste Zeile der Fehlerausgabe oder `null`, wenn keine vorhanden ist.
+         */
+        public String getFirstErrorLine() {
+            String trimmed = stderr.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            int newLine = trimmed.indexOf('\n');
+            return newLine >= 0 ? trimmed.substring(0, newLine).trim() : trimmed;
+        }
+    }
+
+    // Puffer, der ab dem Limit weitere Bytes verwirft und sich das merkt
+    private static class BoundedBuffer extends ByteArrayOutputStream {
+        private boolean truncated;
+
+        private synchronized void append(byte[] chunk, int length, int limit) {
+            int room = limit - count;
+            if (room >= length) {
+                write(chunk, 0, length);
+            } else {
+                if (room > 0) {
+                    write(chunk, 0, room);
+                }
+                truncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package git;
+
+import java.util.List;
+
+public class ReleaseRange {
+    private final String tag;
+    private final String date;
+    private final List<GitCommit> commits;
+
+    /**
+     * @param tag Der Tag-Name oder eine leere Zeichenkette für die noch nicht veröffentlichten Commits.
+     * @param date Das Datum des getaggten Commits (ISO 8601) oder `null` für unveröffentlichte Commits.
+     * @param commits Die Commits, die mit diesem Tag zum ersten Mal enthalten sind, älteste zuerst.
+     */
+    public ReleaseRange(String tag, String date, List<GitCommit> commits) {
+        this.tag = tag;
+        this.date = date;
+        this.commits = commits;
+    }
+
+    public boolean isUnreleased() {
+        return tag.isEmpty();
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public List<GitCommit> getCommits() {
+        return commits;
+    }
+}
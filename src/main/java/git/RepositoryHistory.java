@@ -0,0 +1,24 @@
+package git;
+
+import java.util.List;
+
+public class RepositoryHistory {
+    private final List<GitCommit> commits;
+    private final TagIndex tags;
+
+    public RepositoryHistory(List<GitCommit> commits, TagIndex tags) {
+        this.commits = commits;
+        this.tags = tags;
+    }
+
+    /**
+     * @return Die Commits des Standard-Branches, neueste zuerst.
+     */
+    public List<GitCommit> getCommits() {
+        return commits;
+    }
+
+    public TagIndex getTags() {
+        return tags;
+    }
+}
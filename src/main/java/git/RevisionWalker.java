@@ -0,0 +1,264 @@
+package git;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public class RevisionWalker {
+    // Commits außerhalb des Commit-Graphs sind neuer als alle Commits im Graph
+    private static final int GENERATION_INFINITY = Integer.MAX_VALUE;
+    // Wie `git rev-list`: so viele ausgeschlossene Commits werden ohne Generationsnummern noch weiter gelaufen,
+    // nachdem kein interessanter Commit mehr in der Queue liegt (Schutz gegen verstellte Commit-Zeiten)
+    private static final int SLOP = 5;
+
+    private final GitRepository repository;
+    private final CommitGraph commitGraph;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private long sequence;
+
+    // Höhere Generation zuerst, danach neuere Commits; bei Gleichstand entscheidet die Einfügereihenfolge.
+    // Ohne Commit-Graph haben alle Commits dieselbe Generation und es wird nur nach Commit-Zeit sortiert.
+    private final Comparator<Node> order = Comparator
+            .comparingInt((Node n) -> n.generation).reversed()
+            .thenComparing(Comparator.comparingLong((Node n) -> n.commitTime).reversed())
+            .thenComparingLong(n -> n.sequence);
+
+    public RevisionWalker(GitRepository repository) {
+        this.repository = repository;
+        this.commitGraph = repository.getCommitGraph();
+    }
+
+    /**
+     * Berechnet die Commits einer Range wie `git log <exclude>..<include>`.
+     *
+     * Schritte:
+     * Legt alle Start-Commits (`include`) und Ausschluss-Commits (`exclude`) in eine Queue, sortiert nach
+     * Generationsnummer (aus dem Commit-Graph) und Commit-Zeit.
+     * Entnimmt jeweils den Commit mit der höchsten Generation:
+     *    - Ist er ausgeschlossen, wird die Markierung an alle Eltern weitergegeben.
+     *    - Andernfalls wird er vorgemerkt und seine Eltern werden eingereiht.
+     * Bricht ab, sobald nur noch ausgeschlossene Commits in der Queue liegen. Mit Generationsnummern ist
+     * das exakt: kein ausgeschlossener Commit unterhalb der Generation des Tags kann noch etwas ändern,
+     * daher endet der Lauf an der Generation des Tags statt die Historie weiter zu durchlaufen.
+     * Ohne Generationsnummern (nur Commit-Zeit, die durch Uhrabweichungen falsch sein kann) werden wie bei
+     * Git noch `SLOP` ausgeschlossene Commits weiter gelaufen, bevor abgebrochen wird.
+     * Entfernt vorgemerkte Commits, die nachträglich als ausgeschlossen markiert wurden.
+     *
+     * @param include Die Commits, von denen aus gelaufen wird (z. B. HEAD).
+     * @param exclude Die Commits, deren Vorfahren ausgeschlossen werden (z. B. der letzte Tag).
+     * @return Die Commit-IDs der Range, neueste zuerst.
+     * @throws IOException Wenn ein Commit nicht gelesen werden kann.
+     */
+    public List<String> walk(Collection<String> include, Collection<String> exclude) throws IOException {
+        PriorityQueue<Node> queue = new PriorityQueue<>(order);
+        int[] interestingInQueue = {0};
+
+        for (String id : exclude) {
+            Node node = load(id);
+            markUninteresting(node, interestingInQueue);
+            enqueue(queue, node, interestingInQueue);
+        }
+        for (String id : include) {
+            enqueue(queue, load(id), interestingInQueue);
+        }
+
+        List<Node> visited = new ArrayList<>();
+        int slop = SLOP;
+        while (!queue.isEmpty()) {
+            if (interestingInQueue[0] > 0) {
+                slop = SLOP;
+            } else if (hasGeneration(queue.peek()) || slop-- <= 0) {
+                break;
+            }
+            Node node = queue.poll();
+            node.inQueue = false;
+            node.expanded = true;
+            if (!node.uninteresting) {
+                interestingInQueue[0]--;
+                visited.add(node);
+            }
+            for (String parentId : node.parents) {
+                Node parent = load(parentId);
+                if (node.uninteresting) {
+                    markUninteresting(parent, interestingInQueue);
+                }
+                enqueue(queue, parent, interestingInQueue);
+            }
+        }
+
+        List<String> result = new ArrayList<>();
+        for (Node node : visited) {
+            if (!node.uninteresting) {
+                result.add(node.id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Teilt die Historie in einem Durchgang auf mehrere Start-Commits auf (z. B. alle Tags, älteste Version zuerst).
+     *
+     * Schritte:
+     * Läuft nacheinander von jedem Start-Commit aus, in derselben Reihenfolge wie `walk`.
+     * Jeder Commit wird dem ersten Start-Commit zugeordnet, der ihn enthält; bereits zugeordnete Commits
+     * werden nicht erneut betreten, sodass jeder Commit der gesamten Historie höchstens einmal geladen wird.
+     * Das Ergebnis für Start-Commit i entspricht damit `git log <tip_i> ^<tip_0> ... ^<tip_i-1>`.
+     *
+     * @param tips Die Start-Commits in Zuordnungsreihenfolge.
+     * @return Pro Start-Commit die neu erreichten Commit-IDs, neueste zuerst.
+     * @throws IOException Wenn ein Commit nicht gelesen werden kann.
+     */
+    public List<List<String>> partition(List<String> tips) throws IOException {
+        List<List<String>> partitions = new ArrayList<>(tips.size());
+        Set<String> claimed = new HashSet<>();
+        for (String tip : tips) {
+            List<String> commits = new ArrayList<>();
+            PriorityQueue<Node> queue = new PriorityQueue<>(order);
+            Set<String> queued = new HashSet<>();
+            Node start = load(tip);
+            if (!claimed.contains(start.id)) {
+                start.sequence = sequence++;
+                queue.add(start);
+                queued.add(start.id);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                claimed.add(node.id);
+                commits.add(node.id);
+                for (String parentId : node.parents) {
+                    if (!claimed.contains(parentId) && queued.add(parentId)) {
+                        Node parent = load(parentId);
+                        parent.sequence = sequence++;
+                        queue.add(parent);
+                    }
+                }
+            }
+            partitions.add(commits);
+        }
+        return partitions;
+    }
+
+    /**
+     * Läuft von einem Commit aus rückwärts in Commit-Zeit-Reihenfolge und liefert den ersten Commit,
+     * der die Bedingung erfüllt (z. B. "trägt einen Tag").
+     *
+     * @param start Der Start-Commit.
+     * @param matcher Die Bedingung, die auf die Commit-ID angewendet wird.
+     * @return Die ID des ersten passenden Commits oder `null`, wenn keiner passt.
+     * @throws IOException Wenn ein Commit nicht gelesen werden kann.
+     */
+    public String findFirst(String start, Predicate<String> matcher) throws IOException {
+        PriorityQueue<Node> queue = new PriorityQueue<>(order);
+        int[] ignored = {0};
+        enqueue(queue, load(start), ignored);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (matcher.test(node.id)) {
+                return node.id;
+            }
+            for (String parentId : node.parents) {
+                enqueue(queue, load(parentId), ignored);
+            }
+        }
+        return null;
+    }
+
+    // Nur mit echter Generationsnummer ist die Reihenfolge der Queue topologisch exakt
+    private static boolean hasGeneration(Node node) {
+        return node.generation > 0 && node.generation != GENERATION_INFINITY;
+    }
+
+    private void enqueue(PriorityQueue<Node> queue, Node node, int[] interestingInQueue) {
+        if (node.inQueue || node.expanded) {
+            return;
+        }
+        node.inQueue = true;
+        node.sequence = sequence++;
+        queue.add(node);
+        if (!node.uninteresting) {
+            interestingInQueue[0]++;
+        }
+    }
+
+    /**
+     * Markiert einen Commit als ausgeschlossen. Wurde er bereits expandiert, wird die Markierung
+     * an alle schon geladenen Vorfahren weitergegeben.
+     */
+    private void markUninteresting(Node start, int[] interestingInQueue) throws IOException {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.uninteresting) {
+                continue;
+            }
+            node.uninteresting = true;
+            if (node.inQueue) {
+                interestingInQueue[0]--;
+            }
+            if (node.expanded) {
+                for (String parentId : node.parents) {
+                    Node parent = nodes.get(parentId);
+                    if (parent != null) {
+                        stack.push(parent);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lädt die Walk-Daten eines Commits. Ist der Commit im Commit-Graph enthalten, werden Eltern,
+     * Commit-Zeit und Generation direkt aus dem Graph gelesen, ohne das Commit-Objekt zu entpacken.
+     */
+    private Node load(String id) throws IOException {
+        Node node = nodes.get(id);
+        if (node != null) {
+            return node;
+        }
+
+        int position = commitGraph != null ? commitGraph.findPosition(GitObject.fromHex(id)) : -1;
+        if (position >= 0) {
+            List<Integer> parentPositions = commitGraph.parents(position);
+            List<String> parents = new ArrayList<>(parentPositions.size());
+            for (int parent : parentPositions) {
+                parents.add(commitGraph.idAt(parent));
+            }
+            node = new Node(id, parents, commitGraph.commitTime(position), commitGraph.generation(position));
+        } else {
+            CommitObject commit = repository.parseCommit(id);
+            int generation = commitGraph != null ? GENERATION_INFINITY : 0;
+            node = new Node(id, commit.getParents(), commit.getCommitTime(), generation);
+        }
+        nodes.put(id, node);
+        return node;
+    }
+
+    private static class Node {
+        private final String id;
+        private final List<String> parents;
+        private final long commitTime;
+        private final int generation;
+        private long sequence;
+        private boolean inQueue;
+        private boolean expanded;
+        private boolean uninteresting;
+
+        private Node(String id, List<String> parents, long commitTime, int generation) {
+            this.id = id;
+            this.parents = parents;
+            this.commitTime = commitTime;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package git;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SemanticVersion implements Comparable<SemanticVersion> {
+    // "v1.2.3-rc.1+build.5"; Minor und Patch dürfen fehlen ("v1.2" = 1.2.0)
+    private static final Pattern VERSION = Pattern.compile(
+            "[vV]?(\\d+)(?:\\.(\\d+))?(?:\\.(\\d+))?(?:-([0-9A-Za-z.-]+))?(?:\\+([0-9A-Za-z.-]+))?");
+
+    private final int major;
+    private final int minor;
+    private final int patch;
+    private final String[] preRelease;
+
+    public SemanticVersion(int major, int minor, int patch, String[] preRelease) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = preRelease;
+    }
+
+    /**
+     * Parst einen Tag-Namen als semantische Version.
+     *
+     * Schritte:
+     * Entfernt einen optionalen Präfix "v".
+     * Liest `major.minor.patch` (fehlende Teile zählen als 0).
+     * Übernimmt Pre-Release-Kennungen nach "-" (z. B. "rc.1"); Build-Metadaten nach "+" werden ignoriert.
+     *
+     * @param tag Der Tag-Name, z. B. "v1.2.3-rc.1".
+     * @return Die Version oder `null`, wenn der Tag keine semantische Version ist.
+     */
+    public static SemanticVersion parse(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        Matcher matcher = VERSION.matcher(tag.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            int major = Integer.parseInt(matcher.group(1));
+            int minor = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+            int patch = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0;
+            String[] preRelease = matcher.group(4) != null ? matcher.group(4).split("\\.") : new String[0];
+            return new SemanticVersion(major, minor, patch, preRelease);
+        } catch (NumberFormatException e) {
+            // Zahl zu groß für int
+            return null;
+        }
+    }
+
+    /**
+     * Liefert die nächste Patch-Version. Eine Pre-Release-Version wird zu ihrem Release
+     * (1.2.0-rc.1 -> 1.2.0), sonst wird der Patch erhöht (1.2.3 -> 1.2.4).
+     *
+     * @return Die nächste Version ohne Pre-Release.
+     */
+    public SemanticVersion nextPatch() {
+        if (isPreRelease()) {
+            return new SemanticVersion(major, minor, patch, new String[0]);
+        }
+        return new SemanticVersion(major, minor, patch + 1, new String[0]);
+    }
+
+    public boolean isPreRelease() {
+        return preRelease.length > 0;
+    }
+
+    public int getMajor() {
+        return major;
+    }
+
+    public int getMinor() {
+        return minor;
+    }
+
+    public int getPatch() {
+        return patch;
+    }
+
+    /**
+     * Vergleicht nach den Regeln von Semantic Versioning 2.0.0:
+     * `major.minor.patch` numerisch; eine Pre-Release-Version ist kleiner als das zugehörige Release;
+     * Pre-Release-Kennungen werden einzeln verglichen (numerisch vor alphanumerisch, kürzere Liste zuerst).
+     */
+    @Override
+    public int compareTo(SemanticVersion other) {
+        int result = Integer.compare(major, other.major);
+        if (result == 0) result = Integer.compare(minor, other.minor);
+        if (result == 0) result = Integer.compare(patch, other.patch);
+        if (result != 0) {
+            return result;
+        }
+
+        if (!isPreRelease() || !other.isPreRelease()) {
+            return Boolean.compare(!isPreRelease(), !other.isPreRelease());
+        }
+        for (int i = 0; i < Math.min(preRelease.length, other.preRelease.length); i++) {
+            result = compareIdentifier(preRelease[i], other.preRelease[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(preRelease.length, other.preRelease.length);
+    }
+
+    private static int compareIdentifier(String a, String b) {
+        boolean numericA = isNumeric(a);
+        boolean numericB = isNumeric(b);
+        if (numericA && numericB) {
+            int result = Integer.compare(a.length(), b.length());
+            return result != 0 ? result : a.compareTo(b);
+        }
+        if (numericA != numericB) {
+            return numericA ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static boolean isNumeric(String identifier) {
+        if (identifier.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < identifier.length(); i++) {
+            if (!Character.isDigit(identifier.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SemanticVersion && compareTo((SemanticVersion) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return (major * 31 + minor) * 31 + patch;
+    }
+
+    @Override
+    public String toString() {
+        String version = major + "." + minor + "." + patch;
+        return isPreRelease() ? version + "-" + String.join(".", preRelease) : version;
+    }
+}
@@ -0,0 +1,221 @@
+package git;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TagIndex {
+    // Aufsteigend nach Version; gleiche Versionen (z. B. "v1.0.0" und "1.0.0") nach Name
+    private static final Comparator<Tag> BY_VERSION = Comparator
+            .comparing((Tag t) -> t.version)
+            .thenComparing(t -> t.name);
+    private static final Comparator<Tag> BY_COMMIT = Comparator
+            .comparing((Tag t) -> t.commitId)
+            .thenComparing(t -> t.name);
+
+    private final Tag[] byVersion;
+    private final Tag[] byCommit;
+
+    private TagIndex(List<Tag> tags) {
+        this.byVersion = tags.stream().filter(t -> t.version != null).sorted(BY_VERSION).toArray(Tag[]::new);
+        this.byCommit = tags.stream().sorted(BY_COMMIT).toArray(Tag[]::new);
+    }
+
+    /**
+     * Baut den Index aus `refs/tags` und `packed-refs` auf (ohne Git-Prozess).
+     *
+     * Schritte:
+     * Liest alle Tag-Refs einmal; `packed-refs` liefert für annotierte Tags bereits das geschälte Ziel.
+     * Schält die übrigen annotierten Tags über die Objektdatenbank bis zum Commit.
+     * Sortiert die Tags einmal nach semantischer Version und einmal nach Commit-ID, damit alle
+     * Abfragen per binärer Suche in O(log n) beantwortet werden.
+     *
+     * @param repository Das geöffnete Repository.
+     * @return Der Tag-Index.
+     * @throws IOException Wenn Refs oder Tag-Objekte nicht gelesen werden können.
+     */
+    public static TagIndex load(GitRepository repository) throws IOException {
+        Map<String, String> peeled = new HashMap<>();
+        Map<String, String> refs = repository.readTagRefs(peeled);
+
+        List<Tag> tags = new ArrayList<>(refs.size());
+        for (Map.Entry<String, String> ref : refs.entrySet()) {
+            String commitId = peeled.get(ref.getKey());
+            if (commitId == null) {
+                commitId = repository.peel(ref.getValue());
+            }
+            boolean annotated = !commitId.equals(ref.getValue());
+            tags.add(new Tag(ref.getKey(), commitId, annotated, SemanticVersion.parse(ref.getKey())));
+        }
+        return new TagIndex(tags);
+    }
+
+    /**
+     * Baut den Index aus bereits aufgelösten Tags auf (z. B. aus der GraphQL-API statt aus dem lokalen Repository).
+     *
+     * @param tags Die Tags mit dem Commit, auf den sie (ggf. über ein Tag-Objekt) zeigen.
+     * @return Der Tag-Index.
+     */
+    public static TagIndex of(List<Tag> tags) {
+        return new TagIndex(tags);
+    }
+
+    /**
+     * Liefert den Tag mit der höchsten semantischen Version.
+     *
+     * @param includePreReleases Ob Pre-Release-Tags (z. B. "v2.0.0-rc.1") berücksichtigt werden.
+     * @return Der neueste Tag oder `null`, wenn es keinen passenden gibt.
+     */
+    public Tag latest(boolean includePreReleases) {
+        for (int i = byVersion.length - 1; i >= 0; i--) {
+            if (includePreReleases || !byVersion[i].version.isPreRelease()) {
+                return byVersion[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert den Tag mit der nächstniedrigeren Version als der angegebene Tag.
+     *
+     * @param tagName Der Name eines Tags mit semantischer Version.
+     * @return Der vorherige Tag oder `null`, wenn es keinen gibt oder der Name keine Version ist.
+     */
+    public Tag previous(String tagName) {
+        SemanticVersion version = SemanticVersion.parse(tagName);
+        if (version == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(byVersion, new Tag(tagName, null, false, version), BY_VERSION);
+        // Nicht gefunden: Einfügeposition -(index + 1); der Vorgänger liegt direkt davor
+        int previous = index >= 0 ? index - 1 : -(index + 1) - 1;
+        return previous >= 0 ? byVersion[previous] : null;
+    }
+
+    /**
+     * Sucht einen Tag über seinen Namen (auch ohne semantische Version).
+     *
+     * @param tagName Der genaue Name des Tags.
+     * @return Der Tag oder `null`, wenn es keinen mit diesem Namen gibt.
+     */
+    public Tag get(String tagName) {
+        for (Tag tag : byCommit) {
+            if (tag.name.equals(tagName)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert alle Tags, die (geschält) auf den angegebenen Commit zeigen, höchste Version zuerst.
+     *
+     * @param commitId Die vollständige Commit-ID.
+     * @return Die Tags des Commits (leer, wenn keiner existiert).
+     */
+    public List<Tag> tagsFor(String commitId) {
+        int low = 0;
+        int high = byCommit.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byCommit[mid].commitId.compareTo(commitId) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == byCommit.length || !byCommit[low].commitId.equals(commitId)) {
+            return Collections.emptyList();
+        }
+        List<Tag> tags = new ArrayList<>(1);
+        for (int i = low; i < byCommit.length && byCommit[i].commitId.equals(commitId); i++) {
+            tags.add(byCommit[i]);
+        }
+        tags.sort(Tag.PREFERENCE);
+        return tags;
+    }
+
+    /**
+     * Liefert den bevorzugten Tag eines Commits (höchste Version, dann annotiert vor leichtgewichtig).
+     *
+     * @param commitId Die vollständige Commit-ID.
+     * @return Der Tag oder `null`, wenn der Commit keinen Tag trägt.
+     */
+    public Tag tagFor(String commitId) {
+        List<Tag> tags = tagsFor(commitId);
+        return tags.isEmpty() ? null : tags.get(0);
+    }
+
+    /**
+     * @return Alle Tags mit semantischer Version, aufsteigend sortiert (älteste Version zuerst).
+     */
+    public List<Tag> inVersionOrder() {
+        return Collections.unmodifiableList(Arrays.asList(byVersion));
+    }
+
+    public boolean isEmpty() {
+        return byCommit.length == 0;
+    }
+
+    public int size() {
+        return byCommit.length;
+    }
+
+    public static class Tag {
+        // Tags mit Version vor solchen ohne, höhere Version zuerst, annotierte vor leichtgewichtigen
+        private static final Comparator<Tag> PREFERENCE = Comparator
+                .comparing((Tag t) -> t.version, Comparator.nullsLast(Comparator.<SemanticVersion>reverseOrder()))
+                .thenComparing(t -> !t.annotated)
+                .thenComparing(t -> t.name);
+
+        private final String name;
+        private final String commitId;
+        private final boolean annotated;
+        private final SemanticVersion version;
+
+        /**
+         * @param name Der Name des Tags (ohne "refs/tags/").
+         * @param commitId Die ID des Commits, auf den der Tag zeigt (bei annotierten Tags das geschälte Ziel).
+         * @param annotated Ob der Tag ein eigenes Tag-Objekt hat.
+         */
+        public Tag(String name, String commitId, boolean annotated) {
+            this(name, commitId, annotated, SemanticVersion.parse(name));
+        }
+
+        private Tag(String name, String commitId, boolean annotated, SemanticVersion version) {
+            this.name = name;
+            this.commitId = commitId;
+            this.annotated = annotated;
+            this.version = version;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCommitId() {
+            return commitId;
+        }
+
+        public boolean isAnnotated() {
+            return annotated;
+        }
+
+        /**
+         * @return Die semantische Version oder `null`, wenn der Tag-Name keine Version ist.
+         */
+        public SemanticVersion getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package git;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class TicketIndex {
+    // Ticketnummer (ohne Klammern, z. B. "NWTDL-571") -> Commits in der Reihenfolge der Eingabe
+    private final Map<String, List<GitCommit>> commitsByTicket;
+
+    private TicketIndex(Map<String, List<GitCommit>> commitsByTicket) {
+        this.commitsByTicket = commitsByTicket;
+    }
+
+    /**
+     * Baut den invertierten Index Ticketnummer -> Commits in einem Durchlauf über alle Commit-Nachrichten auf.
+     *
+     * Schritte:
+     * Liest jede Nachricht genau einmal mit `scan` und sammelt alle darin erwähnten Ticketnummern,
+     * egal ob in Klammern (`[NWTDL-571]`) oder ohne (`NWTDL-571: ...`, `fixes NWTDL-571`).
+     * Hängt den Commit an die Liste jeder gefundenen Ticketnummer an; erwähnt eine Nachricht dasselbe Ticket
+     * mehrfach, steht der Commit trotzdem nur einmal darin.
+     * Der Aufwand hängt damit nur von der Länge der Nachrichten ab, nicht von der Anzahl der gesuchten Tickets.
+     *
+     * @param commits Die Commits, z. B. die gesamte Historie.
+     * @return Der Index.
+     */
+    public static TicketIndex of(List<GitCommit> commits) {
+        Map<String, List<GitCommit>> commitsByTicket = new HashMap<>();
+        for (GitCommit commit : commits) {
+            if (commit.getMessage() == null) {
+                continue;
+            }
+            scan(commit.getMessage(), ticket -> {
+                List<GitCommit> ticketCommits = commitsByTicket.computeIfAbsent(ticket, t -> new ArrayList<>(2));
+                if (ticketCommits.isEmpty() || ticketCommits.get(ticketCommits.size() - 1) != commit) {
+                    ticketCommits.add(commit);
+                }
+            });
+        }
+        return new TicketIndex(commitsByTicket);
+    }
+
+    /**
+     * @param ticket Die Ticketnummer, mit oder ohne eckige Klammern (`"NWTDL-571"` oder `"[NWTDL-571]"`).
+     * @return Die Commits, die das Ticket erwähnen, in der Reihenfolge der Eingabe (leer, wenn keiner).
+     */
+    public List<GitCommit> get(String ticket) {
+        List<GitCommit> commits = commitsByTicket.get(normalize(ticket));
+        return commits != null ? Collections.unmodifiableList(commits) : Collections.emptyList();
+    }
+
+    /**
+     * @return Alle Ticketnummern, die in mindestens einer Nachricht vorkommen.
+     */
+    public Set<String> getTickets() {
+        return Collections.unmodifiableSet(commitsByTicket.keySet());
+    }
+
+    /**
+     * Entfernt Leerraum und eckige Klammern: `" [nwtdl-571] "` -> `"NWTDL-571"`.
+     *
+     * @param ticket Die Ticketnummer in beliebiger Schreibweise.
+     * @return Die Ticketnummer, wie sie im Index steht.
+     */
+    public static String normalize(String ticket) {
+        String key = ticket.trim();
+        if (key.startsWith("[") && key.endsWith("]")) {
+            key = key.substring(1, key.length() - 1).trim();
+        }
+        return key.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Findet alle Jira-Ticketnummern in einem Text, ohne reguläre Ausdrücke.
+     *
+     * Schritte:
+     * Läuft einmal über den Text. Eine Ticketnummer beginnt mit einem Großbuchstaben, vor dem kein Buchstabe,
+     * keine Ziffer und kein `_` steht; es folgen Großbuchstaben, Ziffern oder `_` (der Projektschlüssel),
+     * ein `-` und mindestens eine Ziffer, hinter der kein Buchstabe und keine Ziffer mehr steht.
+     * Umgebende Zeichen (`[`, `]`, `:`, `(`, Leerraum ...) spielen keine Rolle; "XNWTDL-571" und "NWTDL-5710"
+     * ergeben also nicht "NWTDL-571".
+     * Setzt nach einem Treffer hinter dessen Ende fort, ein Zeichen wird also höchstens zweimal betrachtet.
+     *
+     * @param text Der zu durchsuchende Text (z. B. eine Commit-Nachricht).
+     * @param ticketConsumer Erhält jede gefundene Ticketnummer (ohne Klammern), auch mehrfach.
+     */
+    public static void scan(CharSequence text, Consumer<String> ticketConsumer) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!isUpper(c) || (i > 0 && isKeyChar(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && isProjectChar(text.charAt(end))) {
+                end++;
+            }
+            if (end + 1 < length && text.charAt(end) == '-' && isDigit(text.charAt(end + 1))) {
+                int number = end + 1;
+                while (number < length && isDigit(text.charAt(number))) {
+                    number++;
+                }
+                if (number == length || !isKeyChar(text.charAt(number))) {
+                    ticketConsumer.accept(text.subSequence(i, number).toString());
+                }
+                i = number;
+            } else {
+                i = end;
+            }
+        }
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isProjectChar(char c) {
+        return isUpper(c) || isDigit(c) || c == '_';
+    }
+
+    // Wortzeichen: steht eines davon vor oder hinter einer Ticketnummer, ist sie Teil eines längeren Worts
+    private static boolean isKeyChar(char c) {
+        return isUpper(c) || isDigit(c) || c == '_' || (c >= 'a' && c <= 'z');
+    }
+}
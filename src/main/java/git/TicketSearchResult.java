@@ -0,0 +1,38 @@
+package git;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class TicketSearchResult {
+    private final TicketIndex tickets;
+    private final Set<String> cappedTickets;
+
+    public TicketSearchResult(TicketIndex tickets, Set<String> cappedTickets) {
+        this.tickets = tickets;
+        this.cappedTickets = cappedTickets;
+    }
+
+    /**
+     * @param ticket Die Ticketnummer, mit oder ohne eckige Klammern.
+     * @return Die gefundenen Commits des Tickets (neueste zuerst); unvollständig, wenn `isCapped(ticket)`.
+     */
+    public List<GitCommit> get(String ticket) {
+        return tickets.get(ticket);
+    }
+
+    /**
+     * @param ticket Die Ticketnummer, mit oder ohne eckige Klammern.
+     * @return Ob die Suche für dieses Ticket an die Trefferobergrenze gestoßen ist oder unvollständig war.
+     */
+    public boolean isCapped(String ticket) {
+        return cappedTickets.contains(TicketIndex.normalize(ticket));
+    }
+
+    /**
+     * @return Die (normalisierten) Ticketnummern, deren Suche nicht vollständig beantwortet werden konnte.
+     */
+    public Set<String> getCappedTickets() {
+        return Collections.unmodifiableSet(cappedTickets);
+    }
+}
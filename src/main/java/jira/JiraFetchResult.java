@@ -0,0 +1,33 @@
+package jira;
+
+import java.util.List;
+import java.util.Map;
+
+public class JiraFetchResult {
+    private final List<JiraService> issues;
+    private final Map<String, Exception> errors;
+
+    public JiraFetchResult(List<JiraService> issues, Map<String, Exception> errors) {
+        this.issues = issues;
+        this.errors = errors;
+    }
+
+    /**
+     * @return Die erfolgreich geladenen Issues in der Reihenfolge der angefragten Schlüssel.
+     */
+    public List<JiraService> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return Der Fehler pro Schlüssel, der nicht geladen werden konnte (z. B. `JiraException` bei 404 oder 401,
+     *         `IOException` bei Verbindungsproblemen), in der Reihenfolge der angefragten Schlüssel.
+     */
+    public Map<String, Exception> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,364 @@
+package jira;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class JiraIssueCache {
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "changelog-automate", "jira");
+    public static final int DEFAULT_MEMORY_ENTRIES = 1000;
+    // Innerhalb dieser Zeit nach dem letzten Abgleich wird ein Eintrag ohne Anfrage verwendet
+    public static final Duration DEFAULT_FRESH_FOR = Duration.ofMinutes(5);
+
+    private static final String SUFFIX = ".issue";
+    // "JIRC" + Formatversion
+    private static final int MAGIC = 0x4a495243;
+    private static final int VERSION = 1;
+
+    private final Path directory;
+    private final int memoryEntries;
+    private final Duration freshFor;
+    // Schlüssel -> `updated` von Jira und Zeitpunkt des letzten Abgleichs, für alle Einträge auf der Platte
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Geparste Issues; Zugriffsreihenfolge, der älteste Eintrag wird verdrängt
+    private final LinkedHashMap<String, JiraService> memory;
+    private long memoryHits;
+    private long diskReads;
+    private long unchanged;
+    private long changed;
+
+    /**
+     * Öffnet den Cache einer Jira-Instanz unter `DEFAULT_DIRECTORY` (ein Verzeichnis pro Host).
+     *
+     * @param jiraBaseUrl Die Basis-URL der Jira-Instanz.
+     * @return Der geöffnete Cache.
+     * @throws IOException Wenn das Verzeichnis nicht angelegt oder gelesen werden kann.
+     */
+    public static JiraIssueCache forServer(String jiraBaseUrl) throws IOException {
+        String host = URI.create(jiraBaseUrl).getHost();
+        return new JiraIssueCache(DEFAULT_DIRECTORY.resolve(host != null ? host : "default"), DEFAULT_MEMORY_ENTRIES, DEFAULT_FRESH_FOR);
+    }
+
+    /**
+     * Öffnet (oder legt an) einen Cache für geparste Jira-Issues.
+     *
+     * Datei-Format (binär, eine Datei pro Issue): Magic, Version, Schlüssel, `updated` von Jira, danach die Felder
+     * des `JiraService` und seine Kommentare. Der Zeitpunkt des letzten Abgleichs ist die Änderungszeit der Datei,
+     * damit ein unveränderter Eintrag nicht neu geschrieben werden muss.
+     *
+     * Schritte:
+     * Liest von jeder Datei nur den Kopf (Schlüssel, `updated`); die Issues selbst werden erst bei Bedarf gelesen.
+     * Unlesbare Dateien werden gelöscht.
+     *
+     * @param directory Das Cache-Verzeichnis.
+     * @param memoryEntries Wie viele geparste Issues höchstens im Speicher gehalten werden (LRU).
+     * @param freshFor Wie lange ein Eintrag nach dem letzten Abgleich ohne Nachfrage bei Jira gilt.
+     * @throws IOException Wenn das Verzeichnis nicht angelegt oder gelesen werden kann.
+     */
+    public JiraIssueCache(Path directory, int memoryEntries, Duration freshFor) throws IOException {
+        this.directory = directory;
+        this.memoryEntries = memoryEntries;
+        this.freshFor = freshFor;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JiraService> eldest) {
+                return size() > JiraIssueCache.this.memoryEntries;
+            }
+        };
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = new ArrayList<>(listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList());
+        }
+        for (Path file : files) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1024))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                String key = readString(in);
+                entries.put(key, new Entry(readString(in), Files.getLastModifiedTime(file).toInstant()));
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * @return Ob der Schlüssel im Cache liegt (frisch oder nicht).
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(normalize(key));
+    }
+
+    /**
+     * @return Ob der Eintrag seit dem letzten Abgleich höchstens `freshFor` alt ist und ohne Nachfrage gilt.
+     */
+    public synchronized boolean isFresh(String key, Instant now) {
+        Entry entry = entries.get(normalize(key));
+        return entry != null && entry.syncedAt.plus(freshFor).isAfter(now);
+    }
+
+    /**
+     * @return Der Zeitpunkt des letzten Abgleichs oder `null`, wenn der Schlüssel nicht im Cache liegt.
+     */
+    public synchronized Instant getSyncedAt(String key) {
+        Entry entry = entries.get(normalize(key));
+        return entry != null ? entry.syncedAt : null;
+    }
+
+    /**
+     * @return Der Wert von `updated`, den Jira beim letzten Abruf geliefert hat, oder `null`.
+     */
+    public synchronized String getUpdated(String key) {
+        Entry entry = entries.get(normalize(key));
+        return entry != null ? entry.updated : null;
+    }
+
+    /**
+     * Liefert das gespeicherte Issue, zuerst aus dem Speicher, sonst von der Platte (es rückt dann in den Speicher).
+     *
+     * @param key Der Schlüssel der Issue.
+     * @return Das Issue oder `null`, wenn es nicht im Cache liegt oder die Datei unlesbar ist.
+     */
+    public synchronized JiraService get(String key) {
+        String normalized = normalize(key);
+        JiraService issue = memory.get(normalized);
+        if (issue != null) {
+            memoryHits++;
+            return issue;
+        }
+        if (!entries.containsKey(normalized)) {
+            return null;
+        }
+        Path file = file(normalized);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !readString(in).equals(normalized)) {
+                throw new IOException("unexpected header");
+            }
+            readString(in);
+            issue = readIssue(in);
+        } catch (IOException e) {
+            System.out.println("Dropping unreadable Jira cache entry for " + normalized + ": " + e.getMessage());
+            entries.remove(normalized);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Wird beim nächsten Schreiben ersetzt
+            }
+            return null;
+        }
+        diskReads++;
+        memory.put(normalized, issue);
+        return issue;
+    }
+
+    /**
+     * Speichert ein frisch geladenes Issue. Die Datei wird zuerst daneben geschrieben und dann ersetzt.
+     * Fehler beim Schreiben werden nur ausgegeben: ohne Cache-Eintrag wird das Issue beim nächsten Lauf neu geladen.
+     *
+     * @param issue Das geparste Issue.
+     * @param updated Der Wert von `updated` aus der Antwort von Jira.
+     * @param syncedAt Der Zeitpunkt des Abrufs.
+     */
+    public synchronized void put(JiraService issue, String updated, Instant syncedAt) {
+        String key = normalize(issue.getKey());
+        Path file = file(key);
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, key);
+                writeString(out, updated);
+                writeIssue(out, issue);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.setLastModifiedTime(file, FileTime.from(syncedAt));
+        } catch (IOException e) {
+            System.out.println("Could not cache Jira issue " + key + ": " + e.getMessage());
+            return;
+        }
+        if (entries.containsKey(key)) {
+            changed++;
+        }
+        entries.put(key, new Entry(updated != null ? updated : "", syncedAt));
+        memory.put(key, issue);
+    }
+
+    /**
+     * Vermerkt, dass Jira für diese Schlüssel keine Änderung seit dem letzten Abruf gemeldet hat.
+     *
+     * @param keys Die abgeglichenen Schlüssel.
+     * @param syncedAt Der Zeitpunkt, zu dem der Abgleich begonnen hat.
+     */
+    public synchronized void markSynced(List<String> keys, Instant syncedAt) {
+        for (String key : keys) {
+            String normalized = normalize(key);
+            Entry entry = entries.get(normalized);
+            if (entry == null) {
+                continue;
+            }
+            try {
+                Files.setLastModifiedTime(file(normalized), FileTime.from(syncedAt));
+            } catch (IOException e) {
+                // Nur der Abgleichszeitpunkt über Neustarts hinweg leidet darunter
+            }
+            entries.put(normalized, new Entry(entry.updated, syncedAt));
+            unchanged++;
+        }
+    }
+
+    private Path file(String key) {
+        // Jira-Schlüssel bestehen aus Buchstaben, Ziffern, '_' und '-'; alles andere wird ersetzt
+        return directory.resolve(key.replaceAll("[^A-Z0-9_-]", "_") + SUFFIX);
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static void writeIssue(DataOutputStream out, JiraService issue) throws IOException {
+        writeNullable(out, issue.getKey());
+        writeNullable(out, issue.getPriority());
+        writeNullable(out, issue.getStatus());
+        writeNullable(out, issue.getTitle());
+        writeNullable(out, issue.getCreated() != null ? issue.getCreated().toString() : null);
+        writeNullable(out, issue.getUpdated() != null ? issue.getUpdated().toString() : null);
+        writeNullable(out, issue.getAssigned());
+        writeNullable(out, issue.getReporter());
+        writeNullable(out, issue.getIssueType());
+        List<JiraComment> comments = issue.getComments() != null ? issue.getComments() : List.of();
+        out.writeInt(comments.size());
+        for (JiraComment comment : comments) {
+            writeNullable(out, comment.getId());
+            writeNullable(out, comment.getAuthor());
+            writeNullable(out, comment.getBodyComment());
+            writeNullable(out, comment.getCreatedComment() != null ? comment.getCreatedComment().toString() : null);
+            writeNullable(out, comment.getUpdatedComment() != null ? comment.getUpdatedComment().toString() : null);
+        }
+    }
+
+    private static JiraService readIssue(DataInputStream in) throws IOException {
+        JiraService issue = new JiraService();
+        issue.setKey(readNullable(in));
+        issue.setPriority(readNullable(in));
+        issue.setStatus(readNullable(in));
+        issue.setTitle(readNullable(in));
+        String created = readNullable(in);
+        issue.setCreated(created != null ? LocalDate.parse(created) : null);
+        String updated = readNullable(in);
+        issue.setUpdated(updated != null ? LocalDate.parse(updated) : null);
+        issue.setAssigned(readNullable(in));
+        issue.setReporter(readNullable(in));
+        issue.setIssueType(readNullable(in));
+        int count = in.readInt();
+        List<JiraComment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JiraComment comment = new JiraComment();
+            comment.setId(readNullable(in));
+            comment.setAuthor(readNullable(in));
+            comment.setBodyComment(readNullable(in));
+            String commentCreated = readNullable(in);
+            comment.setCreatedComment(commentCreated != null ? LocalDateTime.parse(commentCreated) : null);
+            String commentUpdated = readNullable(in);
+            comment.setUpdatedComment(commentUpdated != null ? LocalDateTime.parse(commentUpdated) : null);
+            comments.add(comment);
+        }
+        issue.setComments(comments);
+        return issue;
+    }
+
+    // Jira lässt viele Felder leer; `null` und "" müssen unterscheidbar bleiben
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    // Länge + UTF-8 statt writeUTF, das auf 64 KB begrenzt ist (lange Kommentare)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public synchronized long getDiskReads() {
+        return diskReads;
+    }
+
+    /**
+     * @return Wie viele Einträge ein Abgleich mit Jira als unverändert bestätigt hat.
+     */
+    public synchronized long getUnchangedCount() {
+        return unchanged;
+    }
+
+    /**
+     * @return Wie viele vorhandene Einträge durch eine neuere Fassung ersetzt wurden.
+     */
+    public synchronized long getChangedCount() {
+        return changed;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Jira cache: %d entries, %d in memory, %d memory hits, %d disk reads, %d unchanged, %d changed",
+                entries.size(), memory.size(), memoryHits, diskReads, unchanged, changed);
+    }
+
+    private static class Entry {
+        private final String updated;
+        private final Instant syncedAt;
+
+        private Entry(String updated, Instant syncedAt) {
+            this.updated = updated;
+            this.syncedAt = syncedAt;
+        }
+    }
+}
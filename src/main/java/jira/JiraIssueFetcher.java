@@ -1,42 +1,176 @@
 package jira;
 
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.*;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class JiraIssueFetcher {
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    // Unbenutzte Verbindungen werden nach dieser Zeit geschlossen
+    private static final TimeValue IDLE_TIMEOUT = TimeValue.ofSeconds(60);
+
+    private final int parallelism;
+    private final PoolingHttpClientConnectionManager connectionManager;
     private CloseableHttpClient httpClient;
     private ObjectMapper objectMapper;
     private String jiraBaseUrl;
     private String authHeader;
+    // Ein Eintrag pro Schlüssel und Lauf: laufende und abgeschlossene Abrufe teilen sich dasselbe Future
+    private final ConcurrentHashMap<String, CompletableFuture<JiraService>> issueFutures = new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+    private JiraIssueCache issueCache;
 
     //Fields to receive
 
     private final String FIELDS = "priority,issuetype,status,summary,created,updated,assignee,reporter,comment";
+    // Schlüssel pro JQL-Abfrage: hält URL (~8 KB) und JQL-Länge deutlich unter den Grenzen der Server
+    static final int KEYS_PER_QUERY = 100;
+    // Jira liefert pro Seite höchstens 100 Issues, auch wenn mehr angefragt werden
+    static final int MAX_RESULTS = 100;
+    // JQL-Zeitangaben gelten in der Zeitzone des Jira-Benutzers; der Abgleich fragt deshalb einen Tag weiter zurück
+    private static final Duration REVALIDATION_MARGIN = Duration.ofDays(1);
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm").withZone(ZoneOffset.UTC);
 
     public JiraIssueFetcher(String jiraBaseUrl, String baseToken){
-        this.httpClient = HttpClients.createDefault();
+        this(jiraBaseUrl, baseToken, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Erstellt einen Fetcher mit eigenem Verbindungspool.
+     *
+     * Schritte:
+     * Legt einen `PoolingHttpClientConnectionManager` mit `parallelism` Verbindungen zum Jira-Host an
+     * (statt der zwei pro Route von `HttpClients.createDefault()`), damit `fetchIssuesConcurrently` nicht
+     * auf freie Verbindungen warten muss.
+     * Verbindungen bleiben offen (Keep-Alive) und werden nach `IDLE_TIMEOUT` ohne Nutzung geschlossen.
+     *
+     * @param jiraBaseUrl Die Basis-URL der Jira-Instanz.
+     * @param baseToken Das Token für den Authorization-Header.
+     * @param parallelism Wie viele Anfragen `fetchIssuesConcurrently` höchstens gleichzeitig stellt.
+     */
+    public JiraIssueFetcher(String jiraBaseUrl, String baseToken, int parallelism){
+        if (parallelism < 1){
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        this.parallelism = parallelism;
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(parallelism)
+                .setMaxConnTotal(parallelism)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(DEFAULT_TIMEOUT))
+                        .setSocketTimeout(Timeout.of(DEFAULT_TIMEOUT))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(DEFAULT_TIMEOUT))
+                        .build())
+                .evictIdleConnections(IDLE_TIMEOUT)
+                .build();
         this.objectMapper = new ObjectMapper();
         this.jiraBaseUrl = jiraBaseUrl.endsWith("/") ? jiraBaseUrl : jiraBaseUrl + "/";
         this.authHeader = baseToken;
     }
 
     /**
-     * Ruft eine JIRA-Issue basierend auf ihrem Issue-Key über die JIRA-API ab.
+     * Setzt den Cache, aus dem Issues früherer Läufe verwendet werden (siehe `fetchIssue` und `fetchIssuesBulk`).
+     * Ohne Cache wird jede Issue bei Jira geladen.
+     */
+    public void setIssueCache(JiraIssueCache issueCache) {
+        this.issueCache = issueCache;
+    }
+
+    /**
+     * Ruft eine JIRA-Issue ab; wurde derselbe Schlüssel in diesem Lauf schon angefragt, wird keine neue Anfrage gestellt.
+     *
+     * Schritte:
+     * Sucht den Schlüssel (ohne Leerzeichen, in Großbuchstaben) in `issueFutures`.
+     * Gibt es dort schon ein Future, wartet auf dieses: gleichzeitige Aufrufe teilen sich die laufende Anfrage,
+     * spätere bekommen dasselbe `JiraService`-Objekt ohne Anfrage.
+     * Sonst wird ein neues Future eingetragen und die Issue aus dem Cache übernommen, wenn der Eintrag frisch ist,
+     * oder mit `requestIssue` geladen. Ältere Einträge werden hier nicht einzeln abgeglichen: eine eigene Suche pro
+     * Schlüssel kostete bei geänderten Issues zwei Anfragen statt einer. Den Abgleich pro Gruppe übernehmen
+     * `fetchIssuesBulk` und `fetchIssuesConcurrently`.
+     * Ein Fehler wird an alle Wartenden weitergegeben, der Eintrag aber entfernt, damit ein späterer Aufruf es erneut versucht.
+     *
+     * @param issueKey Der Schlüssel der JIRA-Issue (z. B. "PROJ-123").
+     * @return Ein `JiraService`-Objekt, das die Issue-Details enthält.
+     * @throws IOException Wenn ein Problem mit der Verbindung oder Verarbeitung der Antwort auftritt.
+     * @throws JiraException Wenn die API einen spezifischen Fehler zurückgibt (z. B. 404 oder 401).
+     * @throws ProtocolException Wenn ein Problem mit dem HTTP-Protokoll auftritt.
+     */
+    public JiraService fetchIssue(String issueKey) throws IOException, JiraException, ProtocolException {
+        if (issueKey == null){
+            return requestIssue(null);
+        }
+        String key = normalizeKey(issueKey);
+        CompletableFuture<JiraService> created = new CompletableFuture<>();
+        CompletableFuture<JiraService> shared = issueFutures.putIfAbsent(key, created);
+        if (shared != null){
+            coalescedRequests.increment();
+            return await(shared);
+        }
+        try{
+            JiraService issue = fromCache(List.of(key), false).get(key);
+            if (issue == null){
+                issue = requestIssue(issueKey);
+            }
+            created.complete(issue);
+            return issue;
+        }catch (Exception e){
+            fail(key, created, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Ruft eine JIRA-Issue basierend auf ihrem Issue-Key über die JIRA-API ab, ohne `issueFutures` zu beachten.
      *
      * Schritte:
      * Baut die Anfrage-URL für die JIRA-Issue-Details.
@@ -52,7 +186,7 @@ public class JiraIssueFetcher {
      * @throws JiraException Wenn die API einen spezifischen Fehler zurückgibt (z. B. 404 oder 401).
      * @throws ProtocolException Wenn ein Problem mit dem HTTP-Protokoll auftritt.
      */
-    public JiraService fetchIssue(String issueKey) throws IOException, JiraException, ProtocolException {
+    private JiraService requestIssue(String issueKey) throws IOException, JiraException, ProtocolException {
         String url = jiraBaseUrl + "rest/api/latest/issue/" + issueKey + "?fields=" + FIELDS;
 
         HttpGet request = new HttpGet(url);
@@ -118,36 +252,424 @@ public class JiraIssueFetcher {
      * Ruft mehrere JIRA-Issues basierend auf einer Liste von Issue-Keys ab.
      *
      * Schritte:
-     * Iteriert durch die Liste der bereitgestellten `issueKeys`.
-     * Ruft jede Issue mit der Methode `fetchIssue` ab.
+     * Holt die Issues gebündelt mit `fetchIssuesBulk` (eine Suche pro `KEYS_PER_QUERY` Schlüssel statt einer
+     * Anfrage pro Issue).
      * Fängt Fehler beim Abruf einzelner Issues ab und fährt mit den verbleibenden Issues fort.
-     * Gibt eine Liste aller erfolgreich abgerufenen Issues zurück.
+     * Gibt eine Liste aller erfolgreich abgerufenen Issues zurück (in der Reihenfolge von `issueKeys`).
      *
      * @param issueKeys Eine Liste von JIRA-Issue-Keys (z. B. "PROJ-123", "PROJ-456").
      * @return Eine Liste von `JiraService`-Objekten, die die Details zu den Issues enthalten.
      */
     public List<JiraService> fetchMultplesIssues(List<String> issueKeys){
-        //Store issue
+        return fetchIssuesBulk(issueKeys);
+    }
+
+    /**
+     * Ruft mehrere JIRA-Issues gleichzeitig mit `fetchIssue` ab.
+     *
+     * Schritte:
+     * Gleicht vorher die Schlüssel, die in diesem Lauf noch nicht angefragt wurden, gruppenweise mit dem Cache ab
+     * (siehe `fromCache`); unveränderte Issues werden für den Lauf eingetragen und nicht angefragt.
+     * Startet für die übrigen Schlüssel je einen virtuellen Thread; ein Semaphor lässt höchstens `parallelism` Anfragen
+     * gleichzeitig zu (so viele, wie der Verbindungspool Verbindungen hat).
+     * Wartet auf alle Anfragen und sammelt die Issues in der Reihenfolge von `issueKeys`.
+     * Fehler werden nicht ausgegeben, sondern pro Schlüssel gesammelt (die `JiraException` aus `fetchIssue`
+     * ausgepackt), damit der Aufrufer entscheidet, wie er damit umgeht.
+     *
+     * @param issueKeys Eine Liste von JIRA-Issue-Keys (z. B. "PROJ-123", "PROJ-456").
+     * @return Die geladenen Issues (in Eingabereihenfolge) und die Fehler pro Schlüssel.
+     */
+    public JiraFetchResult fetchIssuesConcurrently(List<String> issueKeys){
+        Map<String, JiraService> cached = Map.of();
+        if (issueCache != null){
+            Set<String> keys = new LinkedHashSet<>();
+            for (String issueKey : issueKeys){
+                if (issueKey != null && !issueFutures.containsKey(normalizeKey(issueKey))){
+                    keys.add(normalizeKey(issueKey));
+                }
+            }
+            cached = fromCache(keys, true);
+            for (Map.Entry<String, JiraService> entry : cached.entrySet()){
+                issueFutures.putIfAbsent(entry.getKey(), CompletableFuture.completedFuture(entry.getValue()));
+            }
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<JiraService>> futures = new ArrayList<>(issueKeys.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+            for (String issueKey : issueKeys){
+                JiraService issue = issueKey != null ? cached.get(normalizeKey(issueKey)) : null;
+                if (issue != null){
+                    futures.add(CompletableFuture.completedFuture(issue));
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try{
+                        return fetchIssue(issueKey);
+                    }finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
         List<JiraService> issues = new ArrayList<>();
+        Map<String, Exception> errors = new LinkedHashMap<>();
+        for (int i = 0; i < issueKeys.size(); i++){
+            try{
+                issues.add(futures.get(i).get());
+            }catch (ExecutionException e){
+                errors.put(issueKeys.get(i), unwrap(e.getCause()));
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                errors.put(issueKeys.get(i), e);
+            }
+        }
+        return new JiraFetchResult(issues, errors);
+    }
+
+    // `fetchIssue` meldet Jira-Fehler aus dem Response-Handler als RuntimeException mit der JiraException als Ursache
+    private static Exception unwrap(Throwable error) {
+        if (error instanceof RuntimeException && error.getCause() instanceof JiraException jiraException){
+            return jiraException;
+        }
+        return error instanceof Exception exception ? exception : new RuntimeException(error);
+    }
 
+    /**
+     * Ruft mehrere JIRA-Issues über die Suche (`/rest/api/latest/search`) ab, statt jede einzeln zu laden.
+     *
+     * Schritte:
+     * Entfernt doppelte Schlüssel; Schlüssel, die in diesem Lauf schon angefragt wurden oder gerade von einem
+     * anderen Aufruf geladen werden, übernimmt es aus `issueFutures` (siehe `fetchIssue`).
+     * Trägt für die übrigen ein eigenes Future ein und übernimmt, was der Cache liefert (siehe `fromCache`).
+     * Teilt die restlichen Schlüssel in Gruppen zu `KEYS_PER_QUERY`.
+     * Sucht jede Gruppe mit `jql=key in ("PROJ-1","PROJ-2",...)` und denselben `FIELDS` wie `fetchIssue`,
+     * seitenweise über `startAt` und `maxResults`, bis `total` erreicht ist.
+     * Unbekannte Schlüssel lassen die Abfrage dank `validateQuery=warn` nicht scheitern; lehnt der Server die Abfrage
+     * trotzdem ab (400), werden die Issues dieser Gruppe einzeln mit `fetchIssue` geholt.
+     * Schlüssel, die die Suche ohne Warnung nicht liefert (z. B. Issues, die in ein anderes Projekt verschoben wurden),
+     * werden einzeln nachgeladen; als nicht existent gemeldete werden wie Fehler bisher ausgegeben und übersprungen.
+     * Wandelt jedes Ergebnis mit `parseJiraIssue` in ein `JiraService`-Objekt um.
+     *
+     * @param issueKeys Eine Liste von JIRA-Issue-Keys (z. B. "PROJ-123", "PROJ-456").
+     * @return Die gefundenen Issues in der Reihenfolge von `issueKeys` (doppelte Schlüssel ergeben dasselbe Objekt).
+     */
+    public List<JiraService> fetchIssuesBulk(List<String> issueKeys){
+        Set<String> keys = new LinkedHashSet<>();
         for (String issueKey : issueKeys){
-            try{
-                JiraService issue = fetchIssue(issueKey);
+            if (issueKey != null && !issueKey.trim().isEmpty()){
+                keys.add(issueKey.trim().toUpperCase(Locale.ROOT));
+            }
+        }
 
-                //Add issue in the list
-                issues.add(issue);
+        Map<String, CompletableFuture<JiraService>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<JiraService>> shared = new LinkedHashMap<>();
+        for (String key : keys){
+            CompletableFuture<JiraService> created = new CompletableFuture<>();
+            CompletableFuture<JiraService> existing = issueFutures.putIfAbsent(key, created);
+            if (existing == null){
+                owned.put(key, created);
+            }else{
+                coalescedRequests.increment();
+                shared.put(key, existing);
+            }
+        }
+
+        Map<String, JiraService> found = new HashMap<>();
+        Set<String> unknown = new HashSet<>();
+        try{
+            found.putAll(fromCache(owned.keySet(), true));
+            List<String> chunk = new ArrayList<>(KEYS_PER_QUERY);
+            for (String key : owned.keySet()){
+                if (found.containsKey(key)){
+                    continue;
+                }
+                chunk.add(key);
+                if (chunk.size() == KEYS_PER_QUERY){
+                    searchChunk(chunk, found, unknown);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()){
+                searchChunk(chunk, found, unknown);
+            }
+
+            for (String key : owned.keySet()){
+                if (unknown.contains(key)){
+                    System.err.println("Error for the issue " + key + ": Issue: " + key + " not founded.");
+                }else if (!found.containsKey(key)){
+                    fetchSingle(key, found);
+                }
+            }
+        }finally {
+            // Jedes eigene Future abschließen, auch nach einem unerwarteten Fehler, damit niemand ewig wartet
+            for (Map.Entry<String, CompletableFuture<JiraService>> entry : owned.entrySet()){
+                JiraService issue = found.get(entry.getKey());
+                if (issue != null){
+                    entry.getValue().complete(issue);
+                }else{
+                    fail(entry.getKey(), entry.getValue(), new JiraException(unknown.contains(entry.getKey())
+                            ? "Issue: " + entry.getKey() + " not founded."
+                            : "Issue: " + entry.getKey() + " could not be loaded."));
+                }
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<JiraService>> entry : shared.entrySet()){
+            try{
+                found.put(entry.getKey(), await(entry.getValue()));
             }catch (JiraException e){
-                System.err.println("Error for the issue " + issueKey + ": " + e.getMessage());
-            } catch (IOException | ProtocolException e) {
-                System.err.println("Connection Error for this issue: " + issueKey + e.getMessage());
+                System.err.println("Error for the issue " + entry.getKey() + ": " + e.getMessage());
             }catch (Exception e){
-                System.err.println("Unexpected error for this issue: " + issueKey + e.getMessage());
+                System.err.println("Connection Error for this issue: " + entry.getKey() + " " + e.getMessage());
+            }
+        }
+
+        List<JiraService> issues = new ArrayList<>();
+        for (String issueKey : issueKeys){
+            JiraService issue = issueKey != null ? found.get(issueKey.trim().toUpperCase(Locale.ROOT)) : null;
+            if (issue != null){
+                issues.add(issue);
             }
         }
-        //return
         return issues;
     }
 
+    // Eine Gruppe von Schlüsseln per JQL, alle Seiten; bei abgelehnter Abfrage einzeln. Schlüssel, die Jira in
+    // `warningMessages` als nicht existent meldet, landen in `unknown` und werden nicht einzeln nachgefragt
+    private void searchChunk(List<String> keys, Map<String, JiraService> found, Set<String> unknown){
+        try{
+            String rejection = search(keyList(keys), FIELDS, root -> {
+                for (JsonNode warning : root.path("warningMessages")){
+                    for (String key : keys){
+                        if (warning.asText().contains("'" + key + "'")){
+                            unknown.add(key);
+                        }
+                    }
+                }
+                for (JsonNode issueNode : root.path("issues")){
+                    String key = issueNode.path("key").asText();
+                    found.put(key.toUpperCase(Locale.ROOT), parseJiraIssue(issueNode, key));
+                }
+            });
+            if (rejection != null){
+                System.err.println("Jira rejected the bulk query, fetching " + keys.size() + " issues one by one: " + rejection);
+                for (String key : keys){
+                    fetchSingle(key, found);
+                }
+            }
+        }catch (JiraException e){
+            System.err.println("Error for the issues " + keys + ": " + e.getMessage());
+        }catch (IOException e){
+            System.err.println("Connection Error for these issues: " + keys + " " + e.getMessage());
+        }
+    }
+
+    private static String keyList(List<String> keys) {
+        return "key in (" + keys.stream().map(key -> "\"" + key + "\"").collect(Collectors.joining(",")) + ")";
+    }
+
+    // Alle Seiten einer JQL-Suche, seitenweise über `startAt`, bis `total` erreicht ist; liefert den Fehlertext,
+    // wenn Jira die Abfrage ablehnt (400), sonst `null`
+    private String search(String jql, String fields, Consumer<JsonNode> page) throws IOException, JiraException {
+        int startAt = 0;
+        while (true){
+            Map.Entry<Integer, String> response = executeGet(jiraBaseUrl + "rest/api/latest/search?jql="
+                    + URLEncoder.encode(jql, StandardCharsets.UTF_8) + "&fields=" + fields
+                    + "&maxResults=" + MAX_RESULTS + "&startAt=" + startAt + "&validateQuery=warn");
+            if (response.getKey() == HttpStatus.SC_BAD_REQUEST){
+                return response.getValue();
+            }
+            JsonNode root = checkJiraResponse(response);
+            page.accept(root);
+            JsonNode issues = root.path("issues");
+            startAt += issues.size();
+            if (issues.isEmpty() || startAt >= root.path("total").asInt(0)){
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Issues aus dem Cache, die noch aktuell sind.
+     *
+     * Schritte:
+     * Einträge, die seit dem letzten Abgleich höchstens `freshFor` alt sind, gelten ohne Anfrage.
+     * Ältere Einträge werden nur mit `revalidate` abgeglichen (sonst wie fehlende behandelt), und zwar in Gruppen zu `KEYS_PER_QUERY` mit einer Suche abgeglichen:
+     * `key in (...) AND updated >= "{ältester Abgleich - REVALIDATION_MARGIN}"`, nur mit dem Feld `updated`.
+     * Ein Eintrag ist unverändert, wenn die Suche ihn nicht liefert oder mit demselben `updated` wie beim Abruf;
+     * er gilt dann als abgeglichen. Nur die übrigen (geänderten) Schlüssel lädt der Aufrufer neu.
+     * Scheitert der Abgleich, werden die Schlüssel der Gruppe neu geladen.
+     * Hinweis: gelöschte oder verschobene Issues ändern `updated` nicht und bleiben im Cache, bis er geleert wird.
+     *
+     * @param keys Die normalisierten Schlüssel.
+     * @param revalidate Ob ältere Einträge per Suche abgeglichen werden (nur für Gruppen von Schlüsseln sinnvoll).
+     * @return Die gültigen Issues aus dem Cache pro Schlüssel; leer ohne Cache.
+     */
+    private Map<String, JiraService> fromCache(Collection<String> keys, boolean revalidate){
+        Map<String, JiraService> valid = new HashMap<>();
+        if (issueCache == null){
+            return valid;
+        }
+        Instant now = Instant.now();
+        List<String> stale = new ArrayList<>();
+        for (String key : keys){
+            if (!issueCache.contains(key)){
+                continue;
+            }
+            if (issueCache.isFresh(key, now)){
+                JiraService issue = issueCache.get(key);
+                if (issue != null){
+                    valid.put(key, issue);
+                }
+            }else if (revalidate){
+                stale.add(key);
+            }
+        }
+        for (int i = 0; i < stale.size(); i += KEYS_PER_QUERY){
+            revalidate(stale.subList(i, Math.min(stale.size(), i + KEYS_PER_QUERY)), now, valid);
+        }
+        return valid;
+    }
+
+    private void revalidate(List<String> keys, Instant now, Map<String, JiraService> valid){
+        Instant since = keys.stream().map(issueCache::getSyncedAt).min(Instant::compareTo).orElse(now)
+                .minus(REVALIDATION_MARGIN);
+        Map<String, String> updated = new HashMap<>();
+        try{
+            String rejection = search(keyList(keys) + " AND updated >= \"" + JQL_DATE.format(since) + "\"", "updated", root -> {
+                for (JsonNode issueNode : root.path("issues")){
+                    updated.put(issueNode.path("key").asText().toUpperCase(Locale.ROOT),
+                            issueNode.path("fields").path("updated").asText());
+                }
+            });
+            if (rejection != null){
+                System.err.println("Jira rejected the cache revalidation, fetching " + keys.size() + " issues again: " + rejection);
+                return;
+            }
+        }catch (JiraException | IOException e){
+            System.err.println("Could not revalidate cached issues " + keys + ", fetching them again: " + e.getMessage());
+            return;
+        }
+
+        List<String> unchanged = new ArrayList<>();
+        for (String key : keys){
+            String current = updated.get(key);
+            if (current == null || current.equals(issueCache.getUpdated(key))){
+                JiraService issue = issueCache.get(key);
+                if (issue != null){
+                    valid.put(key, issue);
+                    unchanged.add(key);
+                }
+            }
+        }
+        issueCache.markSynced(unchanged, now);
+    }
+
+    private void fetchSingle(String key, Map<String, JiraService> found){
+        try{
+            found.put(key, requestIssue(key));
+        }catch (JiraException e){
+            System.err.println("Error for the issue " + key + ": " + e.getMessage());
+        } catch (IOException | ProtocolException e) {
+            System.err.println("Connection Error for this issue: " + key + e.getMessage());
+        }catch (Exception e){
+            System.err.println("Unexpected error for this issue: " + key + e.getMessage());
+        }
+    }
+
+    private static String normalizeKey(String issueKey) {
+        return issueKey.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Gescheiterte Abrufe bleiben nicht in `issueFutures`, die Wartenden bekommen aber denselben Fehler
+    private void fail(String key, CompletableFuture<JiraService> future, Exception error) {
+        issueFutures.remove(key, future);
+        future.completeExceptionally(error);
+    }
+
+    // Wartet auf einen Abruf eines anderen Aufrufers und wirft dessen Fehler unverändert weiter
+    private static JiraService await(CompletableFuture<JiraService> future) throws IOException, JiraException, ProtocolException {
+        try{
+            return future.get();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a shared Jira request.", e);
+        }catch (ExecutionException e){
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException){
+                throw ioException;
+            }
+            if (cause instanceof JiraException jiraException){
+                throw jiraException;
+            }
+            if (cause instanceof ProtocolException protocolException){
+                throw protocolException;
+            }
+            if (cause instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Vergisst alle in diesem Lauf geladenen Issues, damit der nächste Abruf wieder bei Jira anfragt.
+     * Laufende Abrufe werden nicht abgebrochen.
+     */
+    public void clearFetchedIssues() {
+        issueFutures.clear();
+    }
+
+    /**
+     * @return Wie viele Abrufe keine eigene Anfrage gestellt, sondern einen laufenden oder früheren Abruf übernommen haben.
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.sum();
+    }
+
+    // GET mit denselben Headern wie `fetchIssue`; liefert Status und Text, ohne den Status zu bewerten
+    private Map.Entry<Integer, String> executeGet(String url) throws IOException {
+        HttpGet request = new HttpGet(url);
+        request.setHeader("Accept", "application/json");
+        request.setHeader("Authorization",  "Bearer "+ authHeader);
+        try {
+            return httpClient.execute(request, response -> {
+                HttpEntity entity = response.getEntity();
+                return Map.entry(response.getCode(), entity != null ? EntityUtils.toString(entity) : "");
+            });
+        } catch(IOException e){
+            throw new IOException("Error executing request: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Prüft eine Antwort wie `fetchIssue` (leer, HTML statt JSON, Fehlerstatus) und liest sie als JSON.
+     */
+    private JsonNode checkJiraResponse(Map.Entry<Integer, String> response) throws JiraException, IOException {
+        int statusCode = response.getKey();
+        String responseBody = response.getValue();
+        if (responseBody.trim().isEmpty()) {
+            throw new JiraException("Server returned empty response");
+        }
+        if (responseBody.trim().startsWith("<")) {
+            throw new JiraException("Server returned HTML instead of JSON. This usually indicates authentication issues or wrong URL. Response: " + responseBody.substring(0, Math.min(200, responseBody.length())));
+        }
+        if (statusCode == HttpStatus.SC_UNAUTHORIZED){
+            throw new JiraException("Failed Authentification. Please verify your Credentials.");
+        }
+        if (statusCode != HttpStatus.SC_OK){
+            throw new JiraException("Jira Error: " + statusCode + " - " + responseBody);
+        }
+        try{
+            return objectMapper.readTree(responseBody);
+        }catch (JsonParseException e){
+            throw new IOException("Failed to parse JSON response: " + e.getMessage() + ". Response: " + responseBody.substring(0, Math.min(200, responseBody.length())), e);
+        }
+    }
+
     /**
      * Analysiert die API-Antwort und konvertiert sie in ein `JiraService`-Objekt.
      *
@@ -165,58 +687,78 @@ public class JiraIssueFetcher {
     private JiraService parseJiraIssue(String responseBody, String issueKey) throws IOException {
 
         try{
-                JsonNode root = objectMapper.readTree(responseBody);
-                JsonNode fields = root.path("fields");
+            return parseJiraIssue(objectMapper.readTree(responseBody), issueKey);
+        }catch(JsonParseException e){
+            System.err.println("JSON Parse Error. Response body was:");
+            System.err.println("'" + responseBody + "'");
+            System.err.println("Response length: " + responseBody.length());
+            System.err.println("First 100 characters: '" + responseBody.substring(0, Math.min(100, responseBody.length())) + "'");
+            throw new IOException("Failed to parse JSON response: " + e.getMessage() + ". Response: " + responseBody.substring(0, Math.min(200, responseBody.length())), e);
+        }
 
-                JiraService issue = new JiraService();
-                issue.setKey(issueKey);
+    }
 
-                // Fixed field access - remove the "name: " prefix and access correctly
-                JsonNode priority = fields.path("priority");
-                if (!priority.isMissingNode() && !priority.isNull()){
-                    issue.setPriority(priority.path("name").asText());
-                }
+    /**
+     * Wandelt ein einzelnes Issue (Antwort von `/issue/{key}` oder ein Eintrag aus `issues` der Suche)
+     * in ein `JiraService`-Objekt um.
+     *
+     * @param root Das Issue als JSON-Knoten mit dem Objekt `fields`.
+     * @param issueKey Der Schlüssel der Issue (z. B. "PROJ-123").
+     * @return Ein Objekt `JiraService`, das die Details der Issue abbildet.
+     */
+    private JiraService parseJiraIssue(JsonNode root, String issueKey) {
+        JsonNode fields = root.path("fields");
 
-                JsonNode issueType = fields.path("issuetype"); // Fixed: was "issueType"
-                if (!issueType.isMissingNode() && !issueType.isNull()){
-                    issue.setIssueType(issueType.path("name").asText());
-                }
+        JiraService issue = new JiraService();
+        issue.setKey(issueKey);
 
-                JsonNode status = fields.path("status");
-                if (!status.isMissingNode() && !status.isNull()){
-                    issue.setStatus(status.path("name").asText());
-                }
+        // Fixed field access - remove the "name: " prefix and access correctly
+        JsonNode priority = fields.path("priority");
+        if (!priority.isMissingNode() && !priority.isNull()){
+            issue.setPriority(priority.path("name").asText());
+        }
 
-                JsonNode assignee = fields.path("assignee"); // Fixed: was "assigned"
-                if (!assignee.isMissingNode() && !assignee.isNull()) {
-                    issue.setAssigned(assignee.path("displayName").asText());
-                }
+        JsonNode issueType = fields.path("issuetype"); // Fixed: was "issueType"
+        if (!issueType.isMissingNode() && !issueType.isNull()){
+            issue.setIssueType(issueType.path("name").asText());
+        }
 
-                JsonNode reporter = fields.path("reporter");
-                if (!reporter.isMissingNode() && !reporter.isNull()) {
-                    issue.setReporter(reporter.path("displayName").asText());
-                }
+        JsonNode status = fields.path("status");
+        if (!status.isMissingNode() && !status.isNull()){
+            issue.setStatus(status.path("name").asText());
+        }
 
-                // Fixed: access summary field
-                JsonNode summary = fields.path("summary");
-                if (!summary.isMissingNode() && !summary.isNull()) {
-                    issue.setTitle(summary.asText());
-                }
+        JsonNode assignee = fields.path("assignee"); // Fixed: was "assigned"
+        if (!assignee.isMissingNode() && !assignee.isNull()) {
+            issue.setAssigned(assignee.path("displayName").asText());
+        }
 
-                JsonNode commentNode = fields.path("comment");
-                if (!commentNode.isMissingNode() && !commentNode.isNull()){
-                    issue.setComments(parseComments(commentNode));
-                }
+        JsonNode reporter = fields.path("reporter");
+        if (!reporter.isMissingNode() && !reporter.isNull()) {
+            issue.setReporter(reporter.path("displayName").asText());
+        }
 
-            return issue;
-        }catch(JsonParseException e){
-            System.err.println("JSON Parse Error. Response body was:");
-            System.err.println("'" + responseBody + "'");
-            System.err.println("Response length: " + responseBody.length());
-            System.err.println("First 100 characters: '" + responseBody.substring(0, Math.min(100, responseBody.length())) + "'");
-            throw new IOException("Failed to parse JSON response: " + e.getMessage() + ". Response: " + responseBody.substring(0, Math.min(200, responseBody.length())), e);
+        // Fixed: access summary field
+        JsonNode summary = fields.path("summary");
+        if (!summary.isMissingNode() && !summary.isNull()) {
+            issue.setTitle(summary.asText());
         }
 
+        JsonNode commentNode = fields.path("comment");
+        if (!commentNode.isMissingNode() && !commentNode.isNull()){
+            issue.setComments(parseComments(commentNode));
+        }
+
+        LocalDateTime created = parseDateTime(getTextValue(fields, "created"));
+        issue.setCreated(created != null ? created.toLocalDate() : null);
+        LocalDateTime updated = parseDateTime(getTextValue(fields, "updated"));
+        issue.setUpdated(updated != null ? updated.toLocalDate() : null);
+
+        // Jede frisch geladene Issue (einzeln oder per Suche) landet hier; `updated` ist der Stand für den nächsten Abgleich
+        if (issueCache != null){
+            issueCache.put(issue, getTextValue(fields, "updated"), Instant.now());
+        }
+        return issue;
     }
 
     /**
@@ -292,6 +834,14 @@ public class JiraIssueFetcher {
             return null;
         }
     }
+
+    /**
+     * @return Belegte, freie und wartende Verbindungen des Pools (z. B. um die Parallelität zu prüfen).
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
     //TODO Immer die Http Verbindung zumachen
     /**
      * Schließt den HTTP-Client, um Ressourcen freizugeben.
@@ -0,0 +1,80 @@
+package log;
+
+import git.CommitMessageParser;
+import git.GitCommit;
+import git.GitService;
+import git.ReleaseRange;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangelogBackfill implements Closeable {
+    private final GitService gitService;
+    private final CommitMessageParser commitMessageParser = new CommitMessageParser();
+    private final LogFile logFile;
+
+    /**
+     * @param repositoryRoot Das Wurzelverzeichnis des Repositorys.
+     * @param changelogFile Die Changelog-Datei, die vollständig neu geschrieben wird.
+     */
+    public ChangelogBackfill(Path repositoryRoot, Path changelogFile) {
+        this.gitService = new GitService(repositoryRoot);
+        this.logFile = new LogFile(changelogFile);
+    }
+
+    /**
+     * Trägt die Changelogs aller bisherigen Tags in einem Lauf nach.
+     *
+     * Schritte:
+     * Läuft die Historie einmal und ordnet jeden Commit dem ersten Tag (nach Version) zu, der ihn enthält.
+     * Klassifiziert jeden Commit genau einmal.
+     * Schreibt alle Versionsabschnitte (neueste zuerst, mit dem Datum des Tags) in einem Schreibvorgang.
+     *
+     * @param includeUnreleased Ob Commits nach dem letzten Tag als Bereich "Unreleased" erscheinen.
+     * @return Die geschriebenen Versionsabschnitte, älteste zuerst.
+     * @throws IOException Wenn die Historie nicht gelesen oder die Datei nicht geschrieben werden kann.
+     */
+    public List<ReleaseSection> backfill(boolean includeUnreleased) throws IOException {
+        long start = System.nanoTime();
+        List<ReleaseRange> ranges = gitService.getReleaseRanges(includeUnreleased);
+
+        List<ReleaseSection> releases = new ArrayList<>(ranges.size());
+        List<LogEntry> unreleased = new ArrayList<>();
+        int commitCount = 0;
+        for (ReleaseRange range : ranges) {
+            List<LogEntry> entries = new ArrayList<>();
+            for (GitCommit commit : range.getCommits()) {
+                LogEntry entry = commitMessageParser.parseCommit(commit);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+            commitCount += range.getCommits().size();
+
+            if (range.isUnreleased()) {
+                unreleased = entries;
+            } else {
+                LocalDate date = OffsetDateTime.parse(range.getDate()).toLocalDate();
+                releases.add(new ReleaseSection(GitService.stripPrefix(range.getTag()), date, entries));
+            }
+        }
+
+        logFile.writeReleaseHistory(unreleased, releases);
+        System.out.println("Backfilled " + releases.size() + " versions from " + commitCount + " commits in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return releases;
+    }
+
+    /**
+     * Schließt das Git-Repository (Packfiles, Dateikanäle).
+     */
+    @Override
+    public void close() throws IOException {
+        gitService.close();
+    }
+}
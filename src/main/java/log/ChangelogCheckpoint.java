@@ -0,0 +1,174 @@
+package log;
+
+import git.GitObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ChangelogCheckpoint {
+    public static final String FILE_NAME = "changelog-checkpoint";
+
+    // "CLCP" + Formatversion
+    private static final int MAGIC = 0x434c4350;
+    private static final int VERSION = 1;
+
+    private final String tag;
+    private final String tagCommit;
+    private String head;
+    // Alle bereits verarbeiteten Commits in Verarbeitungsreihenfolge (älteste zuerst);
+    // `null` steht für Commits, die bei der Klassifizierung ignoriert wurden
+    private final LinkedHashMap<String, LogEntry> commits = new LinkedHashMap<>();
+
+    public ChangelogCheckpoint(String tag, String tagCommit, String head) {
+        this.tag = tag;
+        this.tagCommit = tagCommit;
+        this.head = head;
+    }
+
+    /**
+     * Lädt den Checkpoint eines Repositorys.
+     *
+     * Datei-Format (binär, kompakt): Magic, Version, Tag, Tag-Commit, HEAD des letzten Laufs, danach
+     * pro Commit die 20-Byte-ID und optional die Klassifizierung (Kategorie, Beschreibung, Datum).
+     *
+     * @param file Die Checkpoint-Datei.
+     * @return Der Checkpoint oder `null`, wenn keiner existiert oder die Datei unlesbar ist.
+     */
+    public static ChangelogCheckpoint load(Path file) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.out.println("Ignoring checkpoint with unknown format: " + file);
+                return null;
+            }
+            ChangelogCheckpoint checkpoint = new ChangelogCheckpoint(readString(in), readString(in), readString(in));
+            int count = in.readInt();
+            byte[] id = new byte[20];
+            for (int i = 0; i < count; i++) {
+                in.readFully(id);
+                LogEntry entry = null;
+                if (in.readBoolean()) {
+                    entry = new LogEntry(readString(in), readString(in));
+                    entry.setDate(LocalDate.ofEpochDay(in.readLong()));
+                }
+                checkpoint.commits.put(GitObject.toHex(id), entry);
+            }
+            return checkpoint;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring unreadable checkpoint " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Speichert den Checkpoint. Die Datei wird zuerst daneben geschrieben und dann ersetzt,
+     * damit ein abgebrochener Lauf nie einen halben Checkpoint hinterlässt.
+     *
+     * @param file Die Checkpoint-Datei.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, tag);
+            writeString(out, tagCommit);
+            writeString(out, head);
+            out.writeInt(commits.size());
+            for (Map.Entry<String, LogEntry> commit : commits.entrySet()) {
+                out.write(GitObject.fromHex(commit.getKey()));
+                LogEntry entry = commit.getValue();
+                out.writeBoolean(entry != null);
+                if (entry != null) {
+                    writeString(out, entry.getCategory());
+                    writeString(out, entry.getDescription());
+                    out.writeLong(entry.getDate().toEpochDay());
+                }
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Länge + UTF-8 statt writeUTF, das auf 64 KB begrenzt ist
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prüft, ob der Checkpoint zur selben Range gehört (gleicher Tag, der noch auf denselben Commit zeigt).
+     */
+    public boolean matches(String tag, String tagCommit) {
+        return this.tag.equals(tag) && this.tagCommit.equals(tagCommit);
+    }
+
+    public boolean contains(String commitId) {
+        return commits.containsKey(commitId);
+    }
+
+    /**
+     * @return Die gespeicherte Klassifizierung oder `null`, wenn der Commit ignoriert wurde oder unbekannt ist.
+     */
+    public LogEntry getEntry(String commitId) {
+        return commits.get(commitId);
+    }
+
+    /**
+     * Merkt sich einen verarbeiteten Commit samt Klassifizierung (`null`, wenn er ignoriert wurde).
+     */
+    public void add(String commitId, LogEntry entry) {
+        commits.put(commitId, entry);
+    }
+
+    /**
+     * @return Alle gespeicherten Einträge in Verarbeitungsreihenfolge (älteste zuerst).
+     */
+    public List<LogEntry> getEntries() {
+        List<LogEntry> entries = new ArrayList<>();
+        for (LogEntry entry : commits.values()) {
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public int size() {
+        return commits.size();
+    }
+
+    public String getHead() {
+        return head;
+    }
+
+    public void setHead(String head) {
+        this.head = head;
+    }
+}
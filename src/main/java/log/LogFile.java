@@ -18,6 +18,25 @@ public class LogFile {
 
     private static final String CHANGELOG_FILE = "src\\main\\java\\CHANGELOG_FILE.md";
 
+    private final Path changelogFile;
+
+    public LogFile() {
+        this(Paths.get(CHANGELOG_FILE));
+    }
+
+    /**
+     * Erstellt ein Changelog, das in die angegebene Datei geschrieben wird (z. B. pro Repository).
+     *
+     * @param changelogFile Der Pfad der Changelog-Datei.
+     */
+    public LogFile(Path changelogFile) {
+        this.changelogFile = changelogFile;
+    }
+
+    public Path getChangelogFile() {
+        return changelogFile;
+    }
+
     /**
      * Aktualisiert das Changelog, indem neue Änderungen hinzugefügt werden.
      *
@@ -31,6 +50,21 @@ public class LogFile {
      * @throws IOException Wenn ein Problem beim Lesen oder Schreiben der Datei auftritt.
      */
     public void updateChangeLog(List<LogEntry> entrieList) throws IOException{
+        //generate Changelog 
+        StringBuilder content = new StringBuilder();
+        appendUnreleasedSection(content, entrieList);
+
+        //add old version of a changelog
+        appendexistingChangeLog(content);
+
+        //save
+        Path path = changelogFile;
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+
+    }
+
+    // "# Changelog" + Bereich "## [Unreleased]" mit den festen Kategorien
+    private void appendUnreleasedSection(StringBuilder content, List<LogEntry> entrieList) {
         Map<String, List<LogEntry>> grouped = new HashMap();
 
         for (LogEntry entry : entrieList) {
@@ -42,8 +76,6 @@ public class LogFile {
             grouped.get(category).add(entry);
         }
 
-        //generate Changelog 
-        StringBuilder content = new StringBuilder();
         content.append("# Changelog\n\n");
         content.append("## [Unreleased] - ").append(LocalDate.now()).append("\n\n");
 
@@ -62,21 +94,13 @@ public class LogFile {
                 content.append("\n"); // Ligne vide après chaque section
             }
         }
-
-        //add old version of a changelog
-        appendexistingChangeLog(content);
-
-        //save
-        Path path = Paths.get(CHANGELOG_FILE);
-        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
-
     }
 
     /**
      * Liest das bestehende Changelog und fügt seinen Inhalt in den neuen Inhalt ein.
      *
      * Schritte:
-     * Öffnet die bestehende Changelog-Datei (`CHANGELOG_FILE`), wenn sie existiert.
+     * Öffnet die bestehende Changelog-Datei (`changelogFile`), wenn sie existiert.
      * Sucht nach der ersten Version im bestehenden Changelog (z. B. `## [1.0.0]`).
      * Fügt alle Zeilen ab der gefundenen Version in den neuen Inhalt ein.
      *
@@ -85,7 +109,7 @@ public class LogFile {
      */
     private void appendexistingChangeLog(StringBuilder content) throws IOException {
         
-        Path path = Paths.get(CHANGELOG_FILE);
+        Path path = changelogFile;
         if (Files.exists(path)) {
             List<String> existingLines = Files.readAllLines(path, StandardCharsets.UTF_8);
             boolean foundFirstVersion = false;
@@ -120,8 +144,19 @@ public class LogFile {
      */
     public void addReleaseVersionToChangeLog(String version, List<LogEntry> entries) throws IOException {
         StringBuilder content = new StringBuilder();
+        appendReleaseSection(content, version, LocalDate.now(), entries);
+
+        // Ajouter le contenu existant du changelog en bas
+         appendexistingChangeLog(content);
 
-        String releaseHeader = "## [" + version + "] - " + LocalDate.now() + "\n";
+        Path path = changelogFile;
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("Changelog updated with version: " + version);
+    }
+
+    private void appendReleaseSection(StringBuilder content, String version, LocalDate date, List<LogEntry> entries) {
+        String releaseHeader = "## [" + version + "] - " + date + "\n";
         content.append("# Release").append(version).append("\n");
         content.append(releaseHeader).append("\n");
 
@@ -134,13 +169,33 @@ public class LogFile {
             }
             content.append("\n");
         }
-        // Ajouter le contenu existant du changelog en bas
-         appendexistingChangeLog(content);
+    }
 
-        Path path = Paths.get(CHANGELOG_FILE);
-        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+    /**
+     * Schreibt das komplette Changelog mit allen Versionen in einem Schritt (z. B. beim Nachtragen alter Tags).
+     *
+     * Schritte:
+     * Schreibt optional den Bereich `## [Unreleased]` für Commits nach dem letzten Tag.
+     * Schreibt alle Versionen, neueste zuerst, im selben Format wie `addReleaseVersionToChangeLog`,
+     * jeweils mit dem Datum des Tags statt dem heutigen Datum.
+     * Ersetzt die Datei mit einem einzigen Schreibvorgang, statt sie pro Version neu zu lesen und zu schreiben.
+     *
+     * @param unreleased Die Einträge nach dem letzten Tag (leer oder `null`, wenn es keine gibt).
+     * @param releases Die Versionen in aufsteigender Reihenfolge (älteste zuerst).
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public void writeReleaseHistory(List<LogEntry> unreleased, List<ReleaseSection> releases) throws IOException {
+        StringBuilder content = new StringBuilder();
+        if (unreleased != null && !unreleased.isEmpty()) {
+            appendUnreleasedSection(content, unreleased);
+        }
+        for (int i = releases.size() - 1; i >= 0; i--) {
+            ReleaseSection release = releases.get(i);
+            appendReleaseSection(content, release.getVersion(), release.getDate(), release.getEntries());
+        }
 
-        System.out.println("Changelog updated with version: " + version);
+        Files.write(changelogFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Changelog written with " + releases.size() + " versions: " + changelogFile);
     }
 
     /**
@@ -186,7 +241,7 @@ public class LogFile {
         }
 
         //Load actuall ChangeLog file
-        Path path = Paths.get(CHANGELOG_FILE);
+        Path path = changelogFile;
         StringBuilder existingContent = new StringBuilder();
         List<String> existingLines = new ArrayList<>();
 
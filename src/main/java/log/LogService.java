@@ -4,18 +4,23 @@ import credentials.Connexion;
 import git.CommitMessageParser;
 import git.GitCommit;
 import git.GitService;
+import git.ProcessRunner;
 import jira.JiraIssueFetcher;
 import jira.JiraService;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
-public class LogService {
+public class LogService implements Closeable {
     private GitService gitService;
     private CommitMessageParser commitMessageParser;
     private LogFile logFile;
-    JiraIssueFetcher fetcher = new JiraIssueFetcher(Connexion.URL, Connexion.ENCODED);
+    // Erst bei Bedarf erzeugt: der Fetcher hält einen Verbindungspool samt Aufräum-Thread
+    private JiraIssueFetcher fetcher;
 
 
     public LogService() {
@@ -24,6 +29,19 @@ public class LogService {
         this.logFile = new LogFile();
     }
 
+    /**
+     * Erstellt einen Service für ein bestimmtes Repository; Git läuft in `repositoryRoot`
+     * und das Changelog wird nach `changelogFile` geschrieben.
+     *
+     * @param repositoryRoot Das Wurzelverzeichnis des Repositorys.
+     * @param changelogFile Der Pfad der Changelog-Datei für dieses Repository.
+     */
+    public LogService(Path repositoryRoot, Path changelogFile) {
+        this.gitService = new GitService(repositoryRoot);
+        this.commitMessageParser = new CommitMessageParser();
+        this.logFile = new LogFile(changelogFile);
+    }
+
     //fetchCommitsBeforeTag = true || fetchCommitsBeforetag = false
     /**
      * Generiert automatisch ein Changelog basierend auf den Commits im Git-Repository.
@@ -49,54 +67,180 @@ public class LogService {
                 System.exit(1);
             }
 
-            // Étape 1 : Récupérer les commits depuis le dernier tag
-            System.out.println("Starting automatic changelog generation...");
+            runPipeline(fetchCommitsBeforeTag);
+        } catch (Exception e) {
+            logError("Error during changelog generation: " + e.getMessage(), e);
+        } finally {
+            try {
+                close();
+            } catch (IOException e) {
+                logError("Error while closing resources: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Führt die eigentliche Changelog-Erzeugung aus (ohne Prüfung auf ein Git-Repository)
+     * und liefert Kennzahlen für die Zusammenfassung zurück.
+     *
+     * @param fetchCommitsBeforeTag Wenn `true`, werden Commits vor dem letzten Tag betrachtet.
+     * @return Das Ergebnis mit Anzahl der Commits, Einträge und der neuen Version.
+     * @throws Exception Wenn Git, die Klassifizierung oder das Schreiben des Changelogs fehlschlägt.
+     */
+    RepositoryRun runPipeline(boolean fetchCommitsBeforeTag) throws Exception {
+        RepositoryRun run = new RepositoryRun(gitService.getWorkingDirectory(), logFile.getChangelogFile());
+
+        // Étape 1 : Récupérer les commits depuis le dernier tag
+        System.out.println("Starting automatic changelog generation...");
 
-            //lastag
-            String lastTag = gitService.getLastTag();
+        //lastag
+        String lastTag = gitService.getLastTag();
 
-            //Commits
-            List<GitCommit> commits;
-            if (fetchCommitsBeforeTag){
-                System.out.println("Fetching commits before tag: " + lastTag);
-                commits = gitService.getCommitsBeforeTag(lastTag);
-            }else {
-                System.out.println("Fetching commits since last tag: " + lastTag);
-                commits = gitService.getCommitsSinceLastVersion();
-            }
+        //Commits
+        List<LogEntry> entries;
+        int commitCount;
+        CheckpointUpdate checkpoint = null;
+        if (fetchCommitsBeforeTag){
+            System.out.println("Fetching commits before tag: " + lastTag);
+            List<GitCommit> commits = gitService.getCommitsBeforeTag(lastTag);
+            commitCount = commits.size();
+            entries = commitMessageParser.parseCommits(commits);
+        }else {
+            System.out.println("Fetching commits since last tag: " + lastTag);
+            checkpoint = updateCheckpoint(lastTag);
+            commitCount = checkpoint.newCommits;
+            entries = checkpoint.checkpoint.getEntries();
+        }
+        run.setCommits(commitCount);
 
-            if(commits.isEmpty()){
-                System.out.println("No new commits found. Changelog is up to date.");
-                return;
-            }
+        if(commitCount == 0){
+            System.out.println("No new commits found. Changelog is up to date.");
+            return run;
+        }
 
-//            JiraService issue = fetcher.fetchIssue("MSPINTERN-2551");
+//            JiraService issue = getFetcher().fetchIssue("MSPINTERN-2551");
 //            if (issue.getComments() != null && !issue.getComments().isEmpty()){
 //                logFile.addJiraCommentsToChangeLog(issue.getComments());
 //            }
 
-            //List<GitCommit> commits = gitService.getCommitsSinceLastVersion();
+        //List<GitCommit> commits = gitService.getCommitsSinceLastVersion();
 
-            log("Found " + commits.size() + " commits to process.");
+        log("Found " + commitCount + " commits to process.");
 
-            //Tag increment and push
-            String newVersion = gitService.incrementVerionTaginChangeLog(gitService.getLastTag());
-            System.out.println("New Version: "+ newVersion);
+        //Tag increment and push
+        String newVersion = gitService.incrementVerionTaginChangeLog(lastTag);
+        System.out.println("New Version: "+ newVersion);
 
-            List<LogEntry> entries = commitMessageParser.parseCommits(commits);
-            log("Generated " + entries.size() + " changedlog entries");
-            System.out.println("\n Preview of changes:");
-            entries.forEach(entry -> 
-                System.out.println("  " + entry.getCategory() + ": " + entry.getDescription())
-            );
+        log("Generated " + entries.size() + " changedlog entries");
+        System.out.println("\n Preview of changes:");
+        entries.forEach(entry -> 
+            System.out.println("  " + entry.getCategory() + ": " + entry.getDescription())
+        );
 
-            logFile.updateChangeLog(entries);
-            logFile.addReleaseVersionToChangeLog(newVersion, entries);
+        logFile.updateChangeLog(entries);
+        logFile.addReleaseVersionToChangeLog(newVersion, entries);
+        run.setEntries(entries.size());
+        run.setVersion(newVersion);
 
-            fetcher.closeHttp();
-            log("changelog updated succesfully.");
-        } catch (Exception e) {
-            logError("Error during changelog generation: " + e.getMessage(), e);
+        // Erst nach erfolgreichem Schreiben, sonst würde ein Folgelauf die Commits überspringen
+        if (checkpoint != null && checkpoint.file != null) {
+            checkpoint.checkpoint.save(checkpoint.file);
+        }
+
+        log("changelog updated succesfully.");
+        return run;
+    }
+
+    /**
+     * @return Der Jira-Fetcher dieses Services; wird beim ersten Aufruf erzeugt und von `close` geschlossen.
+     */
+    JiraIssueFetcher getFetcher() {
+        if (fetcher == null) {
+            fetcher = new JiraIssueFetcher(Connexion.URL, Connexion.ENCODED);
+        }
+        return fetcher;
+    }
+
+    /**
+     * Schließt das Git-Repository dieses Services (Packfiles, Dateikanäle) und, falls erzeugt, den
+     * Jira-Fetcher samt Verbindungspool.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (fetcher != null) {
+                fetcher.closeHttp();
+                fetcher = null;
+            }
+        } finally {
+            gitService.close();
+        }
+    }
+
+    /**
+     * Liest die Commits seit dem letzten Tag inkrementell anhand des Checkpoints des letzten Laufs.
+     *
+     * Schritte:
+     * Lädt den Checkpoint aus dem Git-Verzeichnis; er gilt nur, wenn Tag und Tag-Commit unverändert sind.
+     * Liegt der HEAD des letzten Laufs noch in der Historie von HEAD, werden nur die neueren Commits
+     * gelaufen, geparst und an die gespeicherten Einträge angehängt.
+     * Wurde die Historie umgeschrieben (Rebase, Reset, Force-Push), wird die ganze Range neu gelaufen;
+     * Commits, die schon im Checkpoint stehen, übernehmen dabei ihre gespeicherte Klassifizierung,
+     * und Commits, die nicht mehr in der Range liegen, fallen heraus.
+     *
+     * @param lastTag Der letzte Tag oder eine leere Zeichenkette.
+     * @return Der aktualisierte (noch nicht gespeicherte) Checkpoint und die Anzahl neuer Commits.
+     * @throws IOException Wenn Git fehlschlägt.
+     */
+    private CheckpointUpdate updateCheckpoint(String lastTag) throws IOException {
+        String head = gitService.resolveCommitId("HEAD");
+        String tagCommit = lastTag.isEmpty() ? "" : gitService.resolveCommitId(lastTag);
+        Path gitDirectory = gitService.getGitDirectory();
+        Path file = gitDirectory != null && head != null ? gitDirectory.resolve(ChangelogCheckpoint.FILE_NAME) : null;
+
+        ChangelogCheckpoint previous = ChangelogCheckpoint.load(file);
+        if (previous != null && !previous.matches(lastTag, tagCommit)) {
+            System.out.println("Checkpoint belongs to another tag range, starting over.");
+            previous = null;
+        }
+        String since = null;
+        if (previous != null) {
+            if (gitService.isAncestor(previous.getHead(), head)) {
+                since = previous.getHead();
+                System.out.println("Resuming from checkpoint " + since + " (" + previous.size() + " commits already processed)");
+            } else {
+                System.out.println("History was rewritten since the last run, re-walking the range.");
+            }
+        }
+
+        // Commits werden klassifiziert, während sie gelesen werden (neueste zuerst)
+        ChangelogCheckpoint known = previous;
+        List<String> ids = new ArrayList<>();
+        List<LogEntry> streamed = new ArrayList<>();
+        int newCommits = gitService.streamCommitsSince(lastTag, since, commit -> {
+            ids.add(commit.getHash());
+            streamed.add(known != null && known.contains(commit.getHash())
+                    ? known.getEntry(commit.getHash())
+                    : commitMessageParser.parseCommit(commit));
+        });
+
+        ChangelogCheckpoint checkpoint = since != null ? previous : new ChangelogCheckpoint(lastTag, tagCommit, head);
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            checkpoint.add(ids.get(i), streamed.get(i));
+        }
+        checkpoint.setHead(head);
+        return new CheckpointUpdate(checkpoint, file, newCommits);
+    }
+
+    private static class CheckpointUpdate {
+        private final ChangelogCheckpoint checkpoint;
+        private final Path file;
+        private final int newCommits;
+
+        private CheckpointUpdate(ChangelogCheckpoint checkpoint, Path file, int newCommits) {
+            this.checkpoint = checkpoint;
+            this.file = file;
+            this.newCommits = newCommits;
         }
     }
 
@@ -111,15 +255,14 @@ public class LogService {
      *
      * @return `true`, wenn ein Git-Repository erkannt wird, sonst `false`.
      */
-    private boolean isGitRepository(){
+    boolean isGitRepository(){
         try {
-            ProcessBuilder pb = new ProcessBuilder("git", "rev-parse", "--git-dir");
-            Process process = pb.start();
-
-            int exitCode = process.waitFor();
+            ProcessRunner.Result result = new ProcessRunner(gitService.getWorkingDirectory())
+                    .run(List.of("git", "rev-parse", "--git-dir"), Duration.ofSeconds(30));
+            int exitCode = result.getExitCode();
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String output = reader.readLine();
+            List<String> lines = result.getStdoutLines();
+            String output = lines.isEmpty() ? "" : lines.get(0);
             if (exitCode == 0) {
                 System.out.println("Git repository detected: " + output);
             } else {
@@ -0,0 +1,194 @@
+package log;
+
+import git.CommitMessageParser;
+import git.GitCommit;
+import git.GitService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MonorepoChangelog implements Closeable {
+    private final Path repositoryRoot;
+    private final String changelogName;
+    private final int parallelism;
+    private final GitService gitService;
+    private final CommitMessageParser commitMessageParser = new CommitMessageParser();
+    // Modulname -> Pfad relativ zur Wurzel ("" = ganzes Repository)
+    private final Map<String, String> modules = new LinkedHashMap<>();
+    // Pfad -> Modul mit genau diesem Pfad (eindeutig, jedes Modul schreibt sein eigenes Changelog)
+    private final Map<String, String> modulesByPath = new HashMap<>();
+
+    /**
+     * @param repositoryRoot Das Wurzelverzeichnis des Monorepos.
+     * @param modules Eine Map von Modulname auf Modulpfad relativ zur Wurzel (z. B. "billing" -> "services/billing");
+     *                zwei Module dürfen nicht denselben Pfad haben, sonst schrieben sie dasselbe Changelog.
+     * @param changelogName Der Dateiname des Changelogs im jeweiligen Modulverzeichnis.
+     * @param parallelism Wie viele Changelogs höchstens gleichzeitig geschrieben werden.
+     */
+    public MonorepoChangelog(Path repositoryRoot, Map<String, String> modules, String changelogName, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.repositoryRoot = repositoryRoot.toAbsolutePath().normalize();
+        this.changelogName = changelogName;
+        this.parallelism = parallelism;
+        this.gitService = new GitService(this.repositoryRoot);
+        for (Map.Entry<String, String> module : modules.entrySet()) {
+            String path = normalize(module.getValue());
+            String existing = modulesByPath.putIfAbsent(path, module.getKey());
+            if (existing != null) {
+                throw new IllegalArgumentException("Modules " + existing + " and " + module.getKey()
+                        + " share the path '" + path + "'.");
+            }
+            this.modules.put(module.getKey(), path);
+        }
+    }
+
+    // "./services/billing/" -> "services/billing"
+    private static String normalize(String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized.equals(".") ? "" : normalized;
+    }
+
+    /**
+     * Erzeugt ein Changelog pro Modul aus einem einzigen Durchlauf durch die Historie.
+     *
+     * Schritte:
+     * Läuft einmal über die Commits seit dem letzten Tag und klassifiziert jeden Commit genau einmal.
+     * Ermittelt die geänderten Pfade aller Commits mit einem einzigen gebündelten `git diff-tree`-Strom.
+     * Ordnet jeden Commit allen Modulen zu, in deren Verzeichnis er etwas geändert hat (ein Commit kann
+     * in mehreren Modulen landen); die Zuordnung prüft pro Pfad nur dessen Elternverzeichnisse.
+     * Schreibt die Changelogs der betroffenen Module parallel über je ein eigenes `LogFile`.
+     * Gibt eine Zusammenfassung pro Modul aus.
+     *
+     * @return Die Ergebnisse pro Modul (Module ohne Änderungen werden übersprungen).
+     * @throws IOException Wenn Git fehlschlägt.
+     */
+    public List<RepositoryRun> generate() throws IOException {
+        long start = System.nanoTime();
+        String lastTag = gitService.getLastTag();
+
+        List<GitCommit> commits = new ArrayList<>();
+        gitService.streamCommitsSince(lastTag, null, commits::add);
+        Collections.reverse(commits);
+
+        List<String> ids = new ArrayList<>(commits.size());
+        for (GitCommit commit : commits) {
+            ids.add(commit.getHash());
+        }
+        Map<String, List<String>> changedPaths = gitService.getChangedPaths(ids);
+
+        Map<String, List<LogEntry>> buckets = new LinkedHashMap<>();
+        Map<String, Integer> commitCounts = new HashMap<>();
+        for (GitCommit commit : commits) {
+            Set<String> touched = modulesFor(changedPaths.getOrDefault(commit.getHash(), List.of()));
+            if (touched.isEmpty()) {
+                continue;
+            }
+            LogEntry entry = commitMessageParser.parseCommit(commit);
+            for (String module : touched) {
+                commitCounts.merge(module, 1, Integer::sum);
+                if (entry != null) {
+                    buckets.computeIfAbsent(module, k -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        System.out.println("Routed " + commits.size() + " commits to " + buckets.size() + " of " + modules.size() + " modules.");
+
+        String newVersion = gitService.incrementVerionTaginChangeLog(lastTag);
+        List<RepositoryRun> runs = render(buckets, commitCounts, newVersion);
+        System.out.println(MultiRepositoryRunner.formatSummary(runs, (System.nanoTime() - start) / 1_000_000));
+        return runs;
+    }
+
+    private Set<String> modulesFor(List<String> paths) {
+        Set<String> touched = new LinkedHashSet<>();
+        for (String path : paths) {
+            // "a/b/c.txt" -> "a/b", "a", ""
+            String directory = path;
+            while (true) {
+                int slash = directory.lastIndexOf('/');
+                directory = slash >= 0 ? directory.substring(0, slash) : "";
+                String match = modulesByPath.get(directory);
+                if (match != null) {
+                    touched.add(match);
+                }
+                if (directory.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return touched;
+    }
+
+    private List<RepositoryRun> render(Map<String, List<LogEntry>> buckets, Map<String, Integer> commitCounts,
+                                       String newVersion) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, buckets.size())));
+        List<RepositoryRun> runs = new ArrayList<>(buckets.size());
+        try {
+            List<Future<RepositoryRun>> futures = new ArrayList<>(buckets.size());
+            for (Map.Entry<String, List<LogEntry>> bucket : buckets.entrySet()) {
+                String module = bucket.getKey();
+                Path moduleDirectory = repositoryRoot.resolve(modules.get(module));
+                RepositoryRun run = new RepositoryRun(moduleDirectory, moduleDirectory.resolve(changelogName));
+                run.setCommits(commitCounts.getOrDefault(module, 0));
+                futures.add(executor.submit(() -> renderModule(run, bucket.getValue(), newVersion)));
+            }
+            for (Future<RepositoryRun> future : futures) {
+                try {
+                    runs.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            executor.shutdown();
+        }
+        return runs;
+    }
+
+    private RepositoryRun renderModule(RepositoryRun run, List<LogEntry> entries, String newVersion) {
+        long start = System.nanoTime();
+        try {
+            LogFile logFile = new LogFile(run.getChangelogFile());
+            logFile.updateChangeLog(entries);
+            logFile.addReleaseVersionToChangeLog(newVersion, entries);
+            run.setEntries(entries.size());
+            run.setVersion(newVersion);
+        } catch (IOException | RuntimeException e) {
+            run.setError(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+        run.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return run;
+    }
+
+    /**
+     * Schließt das Git-Repository (Packfiles, Dateikanäle).
+     */
+    @Override
+    public void close() throws IOException {
+        gitService.close();
+    }
+}
@@ -0,0 +1,126 @@
+package log;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MultiRepositoryRunner {
+    public static final String DEFAULT_CHANGELOG_NAME = "CHANGELOG.md";
+
+    private final int parallelism;
+    private final String changelogName;
+
+    public MultiRepositoryRunner() {
+        this(Math.min(8, Runtime.getRuntime().availableProcessors()), DEFAULT_CHANGELOG_NAME);
+    }
+
+    /**
+     * @param parallelism Wie viele Repositorys höchstens gleichzeitig verarbeitet werden.
+     * @param changelogName Der Dateiname des Changelogs, relativ zum jeweiligen Repository.
+     */
+    public MultiRepositoryRunner(int parallelism, String changelogName) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.parallelism = parallelism;
+        this.changelogName = changelogName;
+    }
+
+    /**
+     * Erzeugt die Changelogs für mehrere Repositorys in einer JVM.
+     *
+     * Schritte:
+     * Startet für jedes Repository einen eigenen `LogService` mit eigenem Arbeitsverzeichnis und
+     * eigener Ausgabedatei (`<repository>/<changelogName>`) und schließt ihn nach dem Lauf, auch bei Fehlern,
+     * damit Packfiles und Dateikanäle nicht bis zum Ende der JVM offen bleiben.
+     * Verarbeitet die Repositorys auf einem begrenzten Thread-Pool (`parallelism` gleichzeitig).
+     * Fehler in einem Repository brechen die anderen Läufe nicht ab, sondern landen im Ergebnis.
+     * Gibt am Ende eine Zusammenfassung mit den Laufzeiten pro Repository aus.
+     *
+     * @param repositories Die Wurzelverzeichnisse der Repositorys.
+     * @param fetchCommitsBeforeTag Wenn `true`, werden Commits vor dem letzten Tag betrachtet.
+     * @return Die Ergebnisse in der Reihenfolge der übergebenen Repositorys.
+     */
+    public List<RepositoryRun> run(List<Path> repositories, boolean fetchCommitsBeforeTag) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, repositories.size())));
+        List<RepositoryRun> runs = new ArrayList<>(repositories.size());
+        try {
+            List<Future<RepositoryRun>> futures = new ArrayList<>(repositories.size());
+            for (Path repository : repositories) {
+                futures.add(executor.submit(() -> runRepository(repository, fetchCommitsBeforeTag)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    runs.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    RepositoryRun failed = new RepositoryRun(repositories.get(i), null);
+                    failed.setError(String.valueOf(e.getCause()));
+                    runs.add(failed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.println(formatSummary(runs, (System.nanoTime() - start) / 1_000_000));
+        return runs;
+    }
+
+    private RepositoryRun runRepository(Path repository, boolean fetchCommitsBeforeTag) {
+        Path root = repository.toAbsolutePath().normalize();
+        Path changelogFile = root.resolve(changelogName);
+        long start = System.nanoTime();
+
+        RepositoryRun run;
+        try (LogService service = new LogService(root, changelogFile)) {
+            if (!service.isGitRepository()) {
+                run = new RepositoryRun(root, changelogFile);
+                run.setError("Not a Git repository");
+            } else {
+                run = service.runPipeline(fetchCommitsBeforeTag);
+            }
+        } catch (Exception e) {
+            run = new RepositoryRun(root, changelogFile);
+            run.setError(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+        run.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return run;
+    }
+
+    /**
+     * Formatiert die Zusammenfassung: eine Zeile pro Repository (Dauer, Commits, Einträge, Version
+     * oder Fehler) sowie Gesamtzeit und Summe der Einzelzeiten.
+     *
+     * @param runs Die Ergebnisse der Läufe.
+     * @param wallMillis Die gesamte Laufzeit aller Läufe.
+     * @return Die Zusammenfassung als Text.
+     */
+    public static String formatSummary(List<RepositoryRun> runs, long wallMillis) {
+        StringBuilder summary = new StringBuilder("\n=== Changelog summary ===\n");
+        long totalMillis = 0;
+        int failed = 0;
+        for (RepositoryRun run : runs) {
+            totalMillis += run.getDurationMillis();
+            summary.append(String.format("%-40s %8d ms %6d commits %5d entries  ",
+                    run.getRepository().getFileName(), run.getDurationMillis(), run.getCommits(), run.getEntries()));
+            if (run.isSuccessful()) {
+                summary.append(run.getVersion() != null ? run.getVersion() : "up to date");
+            } else {
+                summary.append("FAILED: ").append(run.getError());
+                failed++;
+            }
+            summary.append("\n");
+        }
+        summary.append(String.format("%d changelogs, %d failed, wall time %d ms, sum of runs %d ms%n",
+                runs.size(), failed, wallMillis, totalMillis));
+        return summary.toString();
+    }
+}
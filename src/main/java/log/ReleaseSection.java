@@ -0,0 +1,28 @@
+package log;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ReleaseSection {
+    private String version;
+    private LocalDate date;
+    private List<LogEntry> entries;
+
+    public ReleaseSection(String version, LocalDate date, List<LogEntry> entries) {
+        this.version = version;
+        this.date = date;
+        this.entries = entries;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<LogEntry> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,76 @@
+package log;
+
+import java.nio.file.Path;
+
+public class RepositoryRun {
+    private final Path repository;
+    private final Path changelogFile;
+    private int commits;
+    private int entries;
+    private String version;
+    private long durationMillis;
+    private String error;
+
+    public RepositoryRun(Path repository, Path changelogFile) {
+        this.repository = repository;
+        this.changelogFile = changelogFile;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    public Path getRepository() {
+        return repository;
+    }
+
+    public Path getChangelogFile() {
+        return changelogFile;
+    }
+
+    public int getCommits() {
+        return commits;
+    }
+
+    public void setCommits(int commits) {
+        this.commits = commits;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return repository + " (" + durationMillis + " ms, " + commits + " commits"
+                + (error != null ? ", failed: " + error : "") + ")";
+    }
+}